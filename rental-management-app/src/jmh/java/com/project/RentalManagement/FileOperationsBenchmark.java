@@ -0,0 +1,144 @@
+/**
+
+@file FileOperationsBenchmark.java
+@brief This file contains the JMH benchmark for the record file functions.
+@details This file measures file_read, file_append, file_edit and file_line_delete on generated record files of different sizes.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class FileOperationsBenchmark
+@brief This class measures one call of every record file function on a property record file.
+@details The fixture file is written once per record count and copied over the working file before every invocation, so every
+call sees the same file. Edits and deletes go to the record in the middle of the file. The messages the functions write to
+console are dropped while the benchmark runs.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileOperationsBenchmark {
+
+  /** Number of records in the generated file. */
+  @Param({"1000", "10000", "100000"})
+  public int recordCount;
+
+  /** Generated record file that is never changed. */
+  private File fixture;
+
+  /** Record file the functions work on. */
+  private File file;
+
+  /** Console stream to restore after the benchmark. */
+  private PrintStream console;
+
+  /**
+   * @brief Writes the fixture file and silences the console.
+   * @throws IOException
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = File.createTempFile("file_operations_fixture", ".bin");
+    file = File.createTempFile("file_operations_benchmark", ".bin");
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(fixture))) {
+      for (int i = 1; i <= recordCount; i++) {
+        writer.write(i + "-)PropertyID:" + i + " / PropertyAge:23 / Bedrooms:3 / Livingrooms:1 / Floors:2 / Size:137 / Address:Street " + i + "\n");
+      }
+    }
+
+    console = System.out;
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+    }));
+  }
+
+  /**
+   * @brief Copies the fixture over the working file.
+   * @throws IOException
+   */
+  @Setup(Level.Invocation)
+  public void restore() throws IOException {
+    Files.copy(fixture.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * @brief Deletes the generated files and restores the console.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.setOut(console);
+    fixture.delete();
+    file.delete();
+  }
+
+  /**
+   * @brief Reads the whole file with file_read.
+   *
+   * @return The file content.
+   */
+  @Benchmark
+  public String fileRead() {
+    return RentalManagementLib.file_read(file.getPath(), 'Y');
+  }
+
+  /**
+   * @brief Appends a record with file_append.
+   *
+   * @return The result code.
+   */
+  @Benchmark
+  public int fileAppend() {
+    return RentalManagementLib.file_append(file.getPath(), "PropertyID:0 / PropertyAge:1 / Bedrooms:2 / Livingrooms:1 / Floors:1 / Size:90 / Address:New Street");
+  }
+
+  /**
+   * @brief Replaces the middle record with file_edit.
+   *
+   * @return The result code.
+   */
+  @Benchmark
+  public int fileEdit() {
+    return RentalManagementLib.file_edit(file.getPath(), recordCount / 2, "PropertyID:0 / PropertyAge:1 / Bedrooms:2 / Livingrooms:1 / Floors:1 / Size:90 / Address:New Street");
+  }
+
+  /**
+   * @brief Deletes the middle record with file_line_delete.
+   *
+   * @return The result code.
+   */
+  @Benchmark
+  public int fileLineDelete() {
+    return RentalManagementLib.file_line_delete(file.getPath(), recordCount / 2);
+  }
+}
@@ -0,0 +1,111 @@
+/**
+
+@file FileReadBenchmark.java
+@brief This file contains the JMH benchmark for the file_read function.
+@details This file compares the channel based file_read with the old byte-at-a-time implementation on a large record file.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class FileReadBenchmark
+@brief This class measures how long it takes to read a whole record file into a string.
+@details The fixture is a property record file with Windows line endings, so both readers also have to remove the "\r" characters.
+The byte-at-a-time reader is the implementation file_read had before it was moved to FileChannel.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FileReadBenchmark {
+
+  /** Size of the generated record file in megabytes. */
+  @Param({"100"})
+  public int fileSizeMb;
+
+  /** Generated record file. */
+  private File file;
+
+  /**
+   * @brief Writes a property record file of the requested size.
+   * @throws IOException
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = File.createTempFile("file_read_benchmark", ".bin");
+    long targetSize = fileSizeMb * 1024L * 1024L;
+    long written = 0;
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int i = 1; written < targetSize; i++) {
+        String line = i + "-)PropertyID:" + i + " / PropertyAge:23 / Bedrooms:3 / Livingrooms:1 / Floors:2 / Size:137 / Address:Street " + i + "\r\n";
+        writer.write(line);
+        written += line.length();
+      }
+    }
+  }
+
+  /**
+   * @brief Deletes the generated record file.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    file.delete();
+  }
+
+  /**
+   * @brief Reads the file with file_read.
+   *
+   * @return The file content.
+   */
+  @Benchmark
+  public String channelRead() {
+    return RentalManagementLib.file_read(file.getPath(), 'Y');
+  }
+
+  /**
+   * @brief Reads the file one byte per read() call, as file_read did before.
+   *
+   * @return The file content.
+   * @throws IOException
+   */
+  @Benchmark
+  public String byteAtATimeRead() throws IOException {
+    StringBuilder content = new StringBuilder();
+    int ch;
+
+    try (FileInputStream fileInputStream = new FileInputStream(file)) {
+      while ((ch = fileInputStream.read()) != -1) {
+        if (ch == '\r') continue;
+
+        content.append((char) ch);
+      }
+    }
+
+    return content.toString();
+  }
+}
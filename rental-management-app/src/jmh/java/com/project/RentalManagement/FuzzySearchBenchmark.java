@@ -0,0 +1,148 @@
+/**
+
+@file FuzzySearchBenchmark.java
+@brief This file contains the JMH benchmark for the typo tolerant tenant name search.
+@details This file compares a FuzzyIndex search with computing the edit distance to the name and surname of every tenant.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class FuzzySearchBenchmark
+@brief This class measures how long a search for a misspelled surname takes on a large tenant file.
+@details Names and surnames are built from random syllables, so the tenants share a large set of distinct words like real data does.
+The records are loaded and indexed once before the measurement.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class FuzzySearchBenchmark {
+
+  /** Syllables names and surnames are built from. */
+  private static final String[] SYLLABLES = {"al", "ex", "smi", "th", "jo", "hn", "sto", "ne", "ma", "ry", "ka", "ya", "ozb", "il", "ge", "mre",
+                                             "han", "kol", "ay", "met", "er", "do", "gan", "su"};
+
+  /** Number of tenants in the generated file. */
+  @Param({"1000000"})
+  public int tenantCount;
+
+  /** Number of typos allowed in the query. */
+  @Param({"1", "2"})
+  public int typos;
+
+  /** Generated tenant file. */
+  private File file;
+
+  /** Store over the generated file. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.TenantInfo> store;
+
+  /** Index under test. */
+  private FuzzyIndex<RentalManagementLib.TenantInfo> index;
+
+  /** Misspelled surname of one of the tenants. */
+  private String query;
+
+  /**
+   * @brief Writes the tenant file and builds the index.
+   * @throws IOException
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = File.createTempFile("fuzzy_search_benchmark", ".bin");
+    Random random = new Random(42);
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int i = 1; i <= tenantCount; i++) {
+        writer.write(i + "-)TenantID:" + i + " / PropertyID:" + (i % 5000) + " / Rent:1500 / BirthDate:01/02/1990 / Name:" + word(random)
+                     + " / Surname:" + word(random) + "\n");
+      }
+    }
+
+    store = new RentalManagementLib.RecordStore<>(file.getPath(), FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo);
+    index = new FuzzyIndex<>(store, tenant -> tenant.name + " " + tenant.surname);
+    char[] surname = store.records().get(tenantCount / 2).surname.toLowerCase(Locale.ROOT).toCharArray();
+    surname[surname.length / 2] = 'q';
+    query = new String(surname);
+  }
+
+  /**
+   * @brief Builds a random word of two to four syllables.
+   *
+   * @param random The random number generator.
+   * @return The word.
+   */
+  private static String word(Random random) {
+    StringBuilder word = new StringBuilder();
+
+    for (int i = 2 + random.nextInt(3); i > 0; i--) {
+      word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+
+    word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+    return word.toString();
+  }
+
+  /**
+   * @brief Deletes the generated tenant file.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    file.delete();
+  }
+
+  /**
+   * @brief Searches with the BK-tree.
+   *
+   * @return The matching tenants.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> bkTreeSearch() {
+    return index.within(query, typos);
+  }
+
+  /**
+   * @brief Computes the edit distance to the name and surname of every tenant.
+   *
+   * @return The matching tenants.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> linearSearch() {
+    ArrayList<RentalManagementLib.TenantInfo> result = new ArrayList<>();
+
+    for (RentalManagementLib.TenantInfo tenant : store.records()) {
+      if (FuzzyIndex.distance(query, tenant.name.toLowerCase(Locale.ROOT)) <= typos
+          || FuzzyIndex.distance(query, tenant.surname.toLowerCase(Locale.ROOT)) <= typos) {
+        result.add(tenant);
+      }
+    }
+
+    return result;
+  }
+}
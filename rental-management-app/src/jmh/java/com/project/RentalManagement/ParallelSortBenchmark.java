@@ -0,0 +1,98 @@
+/**
+
+@file ParallelSortBenchmark.java
+@brief This file contains the JMH benchmark for the parallel QuickSort.
+@details This file measures how the parallel QuickSort scales with the number of threads on a large list of tenants.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class ParallelSortBenchmark
+@brief This class measures the parallel QuickSort with 1 to 8 threads against the sequential QuickSort.
+@details Every invocation sorts a fresh copy of the same shuffled tenant list. The speedup is limited by the number of
+processors of the machine the benchmark runs on.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ParallelSortBenchmark {
+
+  /** Number of tenants to sort. */
+  @Param({"1000000"})
+  public int recordCount;
+
+  /** Number of threads of the parallel sort. */
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  /** Shuffled tenants. */
+  private ArrayList<RentalManagementLib.TenantInfo> tenants;
+
+  /** List sorted by the next invocation. */
+  private ArrayList<RentalManagementLib.TenantInfo> copy;
+
+  /**
+   * @brief Builds the tenant list.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    tenants = new ArrayList<>(recordCount);
+
+    for (int i = 0; i < recordCount; i++) {
+      tenants.add(new RentalManagementLib.TenantInfo(i + 1, random.nextInt(Integer.MAX_VALUE), i % 5000, 1500, "01/02/1990", "Name", "Surname"));
+    }
+  }
+
+  /**
+   * @brief Copies the tenant list before every invocation.
+   */
+  @Setup(Level.Invocation)
+  public void copy() {
+    copy = new ArrayList<>(tenants);
+  }
+
+  /**
+   * @brief Sorts with the parallel QuickSort.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> parallelQuickSort() {
+    new RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo>().parallelQuickSort(copy, parallelism);
+    return copy;
+  }
+
+  /**
+   * @brief Sorts with the sequential QuickSort, the same for every parallelism.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> sequentialQuickSort() {
+    new RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo>().quickSort(copy, 0, copy.size() - 1);
+    return copy;
+  }
+}
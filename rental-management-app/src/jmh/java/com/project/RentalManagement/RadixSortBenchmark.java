@@ -0,0 +1,94 @@
+/**
+
+@file RadixSortBenchmark.java
+@brief This file contains the JMH benchmark for the radix sort.
+@details This file compares the LSD radix sort with the randomized QuickSort on tenant lists of different sizes.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class RadixSortBenchmark
+@brief This class measures the radix sort and the QuickSort on 10 thousand, 1 million and 10 million tenants.
+@details Every invocation sorts a fresh copy of the same shuffled tenant list. The tenant IDs are random non-negative ints, so the
+radix sort needs all four of its passes.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class RadixSortBenchmark {
+
+  /** Number of tenants to sort. */
+  @Param({"10000", "1000000", "10000000"})
+  public int recordCount;
+
+  /** Shuffled tenants. */
+  private ArrayList<RentalManagementLib.TenantInfo> tenants;
+
+  /** List sorted by the next invocation. */
+  private ArrayList<RentalManagementLib.TenantInfo> copy;
+
+  /**
+   * @brief Builds the tenant list.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    tenants = new ArrayList<>(recordCount);
+
+    for (int i = 0; i < recordCount; i++) {
+      tenants.add(new RentalManagementLib.TenantInfo(i + 1, random.nextInt(Integer.MAX_VALUE), i % 5000, 1500, "01/02/1990", "Name", "Surname"));
+    }
+  }
+
+  /**
+   * @brief Copies the tenant list before every invocation.
+   */
+  @Setup(Level.Invocation)
+  public void copy() {
+    copy = new ArrayList<>(tenants);
+  }
+
+  /**
+   * @brief Sorts with the radix sort.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> radixSort() {
+    new RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo>().radixSort(copy);
+    return copy;
+  }
+
+  /**
+   * @brief Sorts with the QuickSort.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> quickSort() {
+    new RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo>().quickSort(copy, 0, copy.size() - 1);
+    return copy;
+  }
+}
@@ -0,0 +1,189 @@
+/**
+
+@file RecordParseBenchmark.java
+@brief This file contains the JMH benchmark for the record parsers.
+@details This file measures every record parser and compares the single-pass record parsers with the split based parsers they replaced.
+*/
+package com.project.RentalManagement;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+
+@class RecordParseBenchmark
+@brief This class measures how long it takes to parse a list of record lines of every kind.
+@details The per-kind benchmarks run parsePropertyInfo, parseTenantInfo, parseRentInfo and parseMaintenanceInfo on their own.
+The split parsers are copies of parsePropertyInfo and parseTenantInfo before they were moved to RecordLineParser.
+They build the records as static classes, so the benchmark does not count the RentalManagementLib instance the old parsers
+allocated for every record and the real gain is a little larger.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordParseBenchmark {
+
+  /** Number of record lines of each kind. */
+  @Param({"1000", "100000"})
+  public int recordCount;
+
+  /** Property record lines. */
+  private String[] propertyLines;
+
+  /** Tenant record lines. */
+  private String[] tenantLines;
+
+  /** Rent record lines. */
+  private String[] rentLines;
+
+  /** Maintenance record lines. */
+  private String[] maintenanceLines;
+
+  /**
+   * @brief Builds the record lines.
+   */
+  @Setup
+  public void setUp() {
+    propertyLines = new String[recordCount];
+    tenantLines = new String[recordCount];
+    rentLines = new String[recordCount];
+    maintenanceLines = new String[recordCount];
+
+    for (int i = 0; i < recordCount; i++) {
+      propertyLines[i] = (i + 1) + "-)PropertyID:" + (i * 7 + 3) + " / PropertyAge:23 / Bedrooms:3 / Livingrooms:1 / Floors:2 / Size:137 / Address:Street " + i;
+      tenantLines[i] = (i + 1) + "-)TenantID:" + i + " / PropertyID:" + (i * 7 + 3) + " / Rent:1500 / Birthdate:01/02/1990 / Name:Name" + i + " / Surname:Surname" + i;
+      rentLines[i] = (i + 1) + "-)TenantID:" + i + " / CurrentRentDebt:" + (i % 3000) + " / DueDate:01/02/2024";
+      maintenanceLines[i] = (i + 1) + "-)PropertyID:" + (i * 7 + 3) + " / Cost:" + (i % 900) + " / Priority:" + (i % 10)
+                            + " / MaintenanceType:Plumbing / ExpectedFinishingDate:01/01/2025";
+    }
+  }
+
+  /**
+   * @brief Parses the lines with the single-pass parsers.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void cursorParse(Blackhole blackhole) {
+    for (int i = 0; i < recordCount; i++) {
+      blackhole.consume(RentalManagementLib.parsePropertyInfo(propertyLines[i]));
+      blackhole.consume(RentalManagementLib.parseTenantInfo(tenantLines[i]));
+    }
+  }
+
+  /**
+   * @brief Parses the property lines with parsePropertyInfo.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void parsePropertyInfo(Blackhole blackhole) {
+    for (String line : propertyLines) {
+      blackhole.consume(RentalManagementLib.parsePropertyInfo(line));
+    }
+  }
+
+  /**
+   * @brief Parses the tenant lines with parseTenantInfo.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void parseTenantInfo(Blackhole blackhole) {
+    for (String line : tenantLines) {
+      blackhole.consume(RentalManagementLib.parseTenantInfo(line));
+    }
+  }
+
+  /**
+   * @brief Parses the rent lines with parseRentInfo.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void parseRentInfo(Blackhole blackhole) {
+    for (String line : rentLines) {
+      blackhole.consume(RentalManagementLib.parseRentInfo(line));
+    }
+  }
+
+  /**
+   * @brief Parses the maintenance lines with parseMaintenanceInfo.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void parseMaintenanceInfo(Blackhole blackhole) {
+    for (String line : maintenanceLines) {
+      blackhole.consume(RentalManagementLib.parseMaintenanceInfo(line));
+    }
+  }
+
+  /**
+   * @brief Parses the lines with the split parsers.
+   *
+   * @param blackhole Consumes the records.
+   */
+  @Benchmark
+  public void splitParse(Blackhole blackhole) {
+    for (int i = 0; i < recordCount; i++) {
+      blackhole.consume(splitParseProperty(propertyLines[i]));
+      blackhole.consume(splitParseTenant(tenantLines[i]));
+    }
+  }
+
+  /**
+   * @brief parsePropertyInfo before RecordLineParser.
+   *
+   * @param record record string to parse.
+   * @return PropertyInfo.
+   */
+  private static RentalManagementLib.PropertyInfo splitParseProperty(String record) {
+    String[] parts = record.split("-", 2);
+    int recordNumber = Integer.parseInt(parts[0].trim());
+    String[] details = parts[1].split(" / ");
+    int propertyID = Integer.parseInt(details[0].split(":")[1].trim());
+    int propertyAge = Integer.parseInt(details[1].split(":")[1].trim());
+    int bedrooms = Integer.parseInt(details[2].split(":")[1].trim());
+    int livingrooms = Integer.parseInt(details[3].split(":")[1].trim());
+    int floors = Integer.parseInt(details[4].split(":")[1].trim());
+    int size = Integer.parseInt(details[5].split(":")[1].trim());
+    String address = details[6].split(":")[1].trim();
+    return new RentalManagementLib.PropertyInfo(recordNumber, propertyID, propertyAge, bedrooms, livingrooms, floors, size, address);
+  }
+
+  /**
+   * @brief parseTenantInfo before RecordLineParser.
+   *
+   * @param record record string to parse.
+   * @return TenantInfo.
+   */
+  private static RentalManagementLib.TenantInfo splitParseTenant(String record) {
+    String[] parts = record.split("-", 2);
+    int recordNumber = Integer.parseInt(parts[0].trim());
+    String[] details = parts[1].split(" / ");
+    int tenantID = Integer.parseInt(details[0].split(":")[1].trim());
+    int propertyID = Integer.parseInt(details[1].split(":")[1].trim());
+    int rent = Integer.parseInt(details[2].split(":")[1].trim());
+    String birthDate = details[3].split(":")[1].trim();
+    String name = details[4].split(":")[1].trim();
+    String surname = details[5].split(":")[1].trim();
+    return new RentalManagementLib.TenantInfo(recordNumber, tenantID, propertyID, rent, birthDate, name, surname);
+  }
+}
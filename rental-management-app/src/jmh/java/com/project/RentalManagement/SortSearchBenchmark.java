@@ -0,0 +1,146 @@
+/**
+
+@file SortSearchBenchmark.java
+@brief This file contains the JMH benchmark for the sort and search functions.
+@details This file measures QuickSorter.quickSort, QuickSorter.recursiveBinarySearch and maintenanceHeapSort on generated records.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+@class SortSearchBenchmark
+@brief This class measures sorting tenants and maintenances and searching the sorted tenants.
+@details Every sort invocation sorts a fresh copy of the same shuffled list, made outside the measured time. The search looks up
+a different tenant ID of the sorted list on every invocation, half of them IDs that are not in the list.
+@author hikmethankolay
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SortSearchBenchmark {
+
+  /**
+   * @brief Lists sorted by the next sort invocation, copied before every invocation so the searches do not pay for the copy.
+   */
+  @State(Scope.Thread)
+  public static class Copies {
+    /** Tenant list sorted by the next invocation. */
+    ArrayList<RentalManagementLib.TenantInfo> tenants;
+
+    /** Maintenance list sorted by the next invocation. */
+    ArrayList<RentalManagementLib.MaintenanceInfo> maintenances;
+
+    /**
+     * @brief Copies the shuffled lists.
+     *
+     * @param benchmark The benchmark state holding the lists.
+     */
+    @Setup(Level.Invocation)
+    public void copy(SortSearchBenchmark benchmark) {
+      tenants = new ArrayList<>(benchmark.tenants);
+      maintenances = new ArrayList<>(benchmark.maintenances);
+    }
+  }
+
+  /** Number of records to sort. */
+  @Param({"1000", "100000", "1000000"})
+  public int recordCount;
+
+  /** Shuffled tenants. */
+  private ArrayList<RentalManagementLib.TenantInfo> tenants;
+
+  /** Tenants sorted by TenantID. */
+  private ArrayList<RentalManagementLib.TenantInfo> sortedTenants;
+
+  /** Shuffled maintenances. */
+  private ArrayList<RentalManagementLib.MaintenanceInfo> maintenances;
+
+  /** Tenant IDs searched for. */
+  private int[] queries;
+
+  /** Number of searches done. */
+  private int searchCount = 0;
+
+  /** Sorter under test. */
+  private final RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo> sorter = new RentalManagementLib.QuickSorter<>();
+
+  /**
+   * @brief Builds the record lists and the searched IDs.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    tenants = new ArrayList<>(recordCount);
+    maintenances = new ArrayList<>(recordCount);
+
+    for (int i = 0; i < recordCount; i++) {
+      // Even IDs only, so odd queries miss
+      tenants.add(new RentalManagementLib.TenantInfo(i + 1, 2 * random.nextInt(Integer.MAX_VALUE / 2), i % 5000, 1500, "01/02/1990", "Name", "Surname"));
+      maintenances.add(new RentalManagementLib.MaintenanceInfo(i + 1, i % 5000, 100, random.nextInt(1000), "Plumbing", "01/01/2025"));
+    }
+
+    sortedTenants = new ArrayList<>(tenants);
+    sorter.quickSort(sortedTenants, 0, sortedTenants.size() - 1);
+    queries = new int[1024];
+
+    for (int i = 0; i < queries.length; i++) {
+      int id = sortedTenants.get(random.nextInt(recordCount)).tenantID;
+      queries[i] = i % 2 == 0 ? id : id + 1;
+    }
+  }
+
+  /**
+   * @brief Sorts the tenants with QuickSorter.quickSort.
+   *
+   * @param copies The list to sort.
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.TenantInfo> quickSort(Copies copies) {
+    sorter.quickSort(copies.tenants, 0, copies.tenants.size() - 1);
+    return copies.tenants;
+  }
+
+  /**
+   * @brief Sorts the maintenances by priority with maintenanceHeapSort.
+   *
+   * @param copies The list to sort.
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ArrayList<RentalManagementLib.MaintenanceInfo> maintenanceHeapSort(Copies copies) {
+    RentalManagementLib.maintenanceHeapSort(copies.maintenances);
+    return copies.maintenances;
+  }
+
+  /**
+   * @brief Searches the sorted tenants with QuickSorter.recursiveBinarySearch.
+   *
+   * @return The index of the tenant, or -1.
+   */
+  @Benchmark
+  public int recursiveBinarySearch() {
+    int id = queries[searchCount++ & (queries.length - 1)];
+    return sorter.recursiveBinarySearch(sortedTenants, 0, sortedTenants.size() - 1, id);
+  }
+}
@@ -0,0 +1,310 @@
+/**
+
+@file ExternalSorter.java
+@brief This file contains the ExternalSorter class.
+@details This file sorts a text record file by the ID of its records without loading the whole file into memory.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+
+@class ExternalSorter
+@brief This class represents an external merge sort of the records of a text record file.
+@details The file is read line by line in runs of at most runSize records. Every run is sorted with the stable QuickSorter.radixSort and written
+to a temporary file, then the runs are merged with a heap that holds the next record of every run. Only one run and one line
+per run are in memory at a time, so the memory used depends on the run size and not on the size of the file.
+Deleted lines are skipped and the records are numbered by their position, like file_read does. Records with the same ID keep
+their file order. A file that fits in one run is sorted in memory without temporary files. The sort menus list the sorted records,
+and main writes the sorted records of a record file to another file.
+@author hikmethankolay
+*/
+class ExternalSorter<T extends RentalManagementLib.Identifiable> {
+
+  /** Run size main uses when SortVariables.externalRunSize is not set. */
+  static final int DEFAULT_RUN_SIZE = 100000;
+
+  /**
+   * @brief Receives the sorted lines.
+   */
+  private interface LineSink {
+    void accept(String line) throws IOException;
+  }
+
+  /**
+   * @brief A record line with the ID it is sorted by.
+   */
+  private static final class Line implements RentalManagementLib.Identifiable {
+    /** ID of the record. */
+    final int id;
+
+    /** Record line in the "N-)text" layout. */
+    final String text;
+
+    /** Constructor */
+    Line(int id, String text) {
+      this.id = id;
+      this.text = text;
+    }
+
+    @Override
+    public int getId() {
+      return id;
+    }
+  }
+
+  /**
+   * @brief The next line of a sorted run being merged.
+   */
+  private static final class Run {
+    /** Reader of the run file. */
+    final BufferedReader reader;
+
+    /** Position of the run in the file, used to keep the file order of equal IDs. */
+    final int index;
+
+    /** Next line of the run. */
+    Line head;
+
+    /** Constructor */
+    Run(BufferedReader reader, int index) {
+      this.reader = reader;
+      this.index = index;
+    }
+  }
+
+  /** Name of the text record file. */
+  private final String fileName;
+
+  /** Parser that turns a record line into a record. */
+  private final Function<String, T> parser;
+
+  /** Maximum number of records sorted in memory at a time. */
+  private final int runSize;
+
+  /** Constructor */
+  ExternalSorter(String fileName, Function<String, T> parser, int runSize) {
+    this.fileName = fileName;
+    this.parser = parser;
+    this.runSize = Math.max(1, runSize);
+  }
+  /**
+   * @brief Sorts the records and passes them to a consumer one at a time in ID order.
+   *
+   * @param sink The consumer of the records.
+   * @return 0 on success, -1 on failure.
+   */
+  int sort(Consumer<T> sink) {
+    return sortLines(line -> sink.accept(parser.apply(line)));
+  }
+  /**
+   * @brief Sorts the records into another text record file, numbered by their sorted position.
+   *
+   * @param outputName The name of the sorted file, replaced if it exists.
+   * @return 0 on success, -1 on failure.
+   */
+  int sortTo(String outputName) {
+    try (BufferedWriter writer = Files.newBufferedWriter(new File(outputName).toPath(), StandardCharsets.UTF_8)) {
+      int[] recordNumber = {0};
+      return sortLines(line -> {
+        writer.write(RentalManagementLib.renumberLine(line, ++recordNumber[0]));
+        writer.write('\n');
+      });
+    } catch (IOException e) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+  }
+  /**
+   * @brief Writes the sorted runs and merges them into a sink.
+   *
+   * @param sink The consumer of the sorted lines.
+   * @return 0 on success, -1 on failure.
+   */
+  private int sortLines(LineSink sink) {
+    long start = Metrics.start();
+
+    try {
+      ArrayList<File> runs = new ArrayList<>();
+
+      try {
+        ArrayList<Line> lastRun = writeRuns(runs);
+
+        if (runs.isEmpty()) {
+          for (Line line : lastRun) {
+            sink.accept(line.text);
+          }
+        } else {
+          merge(runs, sink);
+        }
+
+        return 0;
+      } catch (IOException e) {
+        System.out.print("\nFile operation failed");
+        return -1;
+      } finally {
+        for (File run : runs) {
+          run.delete();
+        }
+      }
+    } finally {
+      Metrics.stop("external_sort", start);
+    }
+  }
+  /**
+   * @brief Reads the record file in runs, sorts every run and writes it to a temporary file.
+   * The last run is kept in memory if it is the only one.
+   *
+   * @param runs The list the temporary files are added to.
+   * @return The sorted records if the file fits in one run, an empty list otherwise.
+   * @throws IOException
+   */
+  private ArrayList<Line> writeRuns(ArrayList<File> runs) throws IOException {
+    RentalManagementLib.QuickSorter<Line> sorter = new RentalManagementLib.QuickSorter<>();
+    ArrayList<Line> run = new ArrayList<>();
+
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      try (BufferedReader reader = Files.newBufferedReader(new File(fileName).toPath(), StandardCharsets.UTF_8)) {
+        int recordNumber = 0;
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+          if (text.isEmpty() || RentalManagementLib.isTombstone(text)) {
+            continue;
+          }
+
+          text = RentalManagementLib.renumberLine(text, ++recordNumber);
+          run.add(new Line(parser.apply(text).getId(), text));
+
+          if (run.size() == runSize) {
+            writeRun(run, sorter, runs);
+          }
+        }
+      }
+    }
+
+    if (runs.isEmpty()) {
+      sorter.radixSort(run);
+    } else if (!run.isEmpty()) {
+      writeRun(run, sorter, runs);
+    }
+
+    return run;
+  }
+  /**
+   * @brief Sorts a run, writes it to a temporary file and clears it.
+   *
+   * @param run The records of the run.
+   * @param sorter The sorter.
+   * @param runs The list the temporary file is added to.
+   * @throws IOException
+   */
+  private void writeRun(ArrayList<Line> run, RentalManagementLib.QuickSorter<Line> sorter, ArrayList<File> runs) throws IOException {
+    sorter.radixSort(run);
+    File file = File.createTempFile("rental_sort", ".run");
+    runs.add(file);
+
+    try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+      for (Line line : run) {
+        writer.write(line.text);
+        writer.write('\n');
+      }
+    }
+
+    run.clear();
+  }
+  /**
+   * @brief Merges sorted runs, taking the smallest next line of all runs every time.
+   *
+   * @param runs The run files in file order.
+   * @param sink The consumer of the sorted lines.
+   * @throws IOException
+   */
+  private void merge(ArrayList<File> runs, LineSink sink) throws IOException {
+    PriorityQueue<Run> heap = new PriorityQueue<>(runs.size(),
+        (a, b) -> a.head.id != b.head.id ? Integer.compare(a.head.id, b.head.id) : Integer.compare(a.index, b.index));
+    ArrayList<Run> open = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < runs.size(); i++) {
+        Run run = new Run(Files.newBufferedReader(runs.get(i).toPath(), StandardCharsets.UTF_8), i);
+        open.add(run);
+
+        if (advance(run)) {
+          heap.add(run);
+        }
+      }
+
+      while (!heap.isEmpty()) {
+        Run run = heap.poll();
+        sink.accept(run.head.text);
+
+        if (advance(run)) {
+          heap.add(run);
+        }
+      }
+    } finally {
+      for (Run run : open) {
+        run.reader.close();
+      }
+    }
+  }
+  /**
+   * @brief Reads the next line of a run.
+   *
+   * @param run The run.
+   * @return true if the run has a next line.
+   * @throws IOException
+   */
+  private boolean advance(Run run) throws IOException {
+    String text = run.reader.readLine();
+
+    if (text == null) {
+      run.head = null;
+      return false;
+    }
+
+    run.head = new Line(parser.apply(text).getId(), text);
+    return true;
+  }
+  /**
+   * @brief Sorts a record file of the working directory into another file, by the ID the sort menus use, without loading it
+   * into memory. Changes still in the write-ahead log are written to the record file first.
+   *
+   * @param args "property", "tenant", "rent" or "maintenance", and the name of the sorted file.
+   */
+  public static void main(String[] args) {
+    String[] entities = {"property", "tenant", "rent", "maintenance"};
+    RentalManagementLib.RecordStore<?>[] stores = {RentalManagementLib.propertyStore, RentalManagementLib.tenantStore,
+        RentalManagementLib.rentStore, RentalManagementLib.maintenanceStore};
+    int entity = args.length == 2 ? Arrays.asList(entities).indexOf(args[0]) : -1;
+
+    if (entity < 0) {
+      System.out.print("Usage: ExternalSorter property|tenant|rent|maintenance <sorted file>\n");
+      return;
+    }
+
+    if (RentalManagementLib.SortVariables.externalRunSize <= 0) {
+      RentalManagementLib.SortVariables.externalRunSize = DEFAULT_RUN_SIZE;
+    }
+
+    ExternalSorter<?> sorter = stores[entity].externalSorter();
+
+    if (sorter == null) {
+      System.out.print("\nFile operation failed\n");
+    } else if (sorter.sortTo(args[1]) == 0) {
+      System.out.print("Sorted records written to " + args[1] + "\n");
+    }
+  }
+}
@@ -0,0 +1,651 @@
+/**
+
+@file FixedWidthRecordFile.java
+@brief This file contains the FixedWidthRecordFile class.
+@details This file implements the optional binary record format, where every record takes the same number of bytes,
+and the converters between it and the text record files.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+
+@class FixedWidthRecordFile
+@brief This class represents a record file in the fixed-width binary format.
+@details The file starts with a 16 byte header (signature, format version, record size and a reserved int) followed by one slot per record.
+A slot starts with a state byte, then every field of the layout in order: int fields take 4 bytes, text fields take a 2 byte length
+and a fixed number of bytes for the UTF-8 text. Since every slot has the same size, record n is at offset HEADER_SIZE + (n - 1) * recordSize
+and an edit overwrites only that slot. A delete only marks the slot of the record free, the file is compacted once the share of
+free slots passes StorageVariables.compactionThreshold, and the record numbers are mapped to their slots in memory meanwhile.
+A binary file opened for a text record file is rebuilt when the text file is newer, and the text file is rewritten from it on flush.
+@author hikmethankolay
+*/
+class FixedWidthRecordFile implements RecordStorage {
+
+  /** File signature, "RMFW" in ASCII. */
+  static final int SIGNATURE = 0x524D4657;
+
+  /** Format version written to the header. */
+  static final int VERSION = 1;
+
+  /** Size of the file header in bytes. */
+  static final int HEADER_SIZE = 16;
+
+  /** State byte of a slot that holds a record. */
+  static final byte SLOT_IN_USE = 1;
+
+  /** State byte of a slot whose record was deleted, until the file is compacted. */
+  static final byte SLOT_FREE = 0;
+
+  /**
+   * @brief Represents one field of a record layout.
+   */
+  static class Field {
+    /** Field name as written in the text records. */
+    final String name;
+
+    /** Maximum text length in bytes, 0 for an int field. */
+    final int maxLength;
+
+    /** Constructor */
+    Field(String name, int maxLength) {
+      this.name = name;
+      this.maxLength = maxLength;
+    }
+    /**
+     * @brief Returns the number of bytes the field takes in a slot.
+     *
+     * @return The field size.
+     */
+    int size() {
+      return maxLength == 0 ? 4 : 2 + maxLength;
+    }
+  }
+  /**
+   * @brief Represents the fields of one record type and converts records between their text and slot forms.
+   */
+  static class Layout {
+    /** Fields in the order they appear in the text records. */
+    final Field[] fields;
+
+    /** Size of one slot in bytes. */
+    final int recordSize;
+
+    /** Constructor */
+    Layout(Field... fields) {
+      this.fields = fields;
+      int size = 1;
+
+      for (Field field : fields) {
+        size += field.size();
+      }
+
+      this.recordSize = size;
+    }
+    /**
+     * @brief Converts a record text such as "TenantID:1 / CurrentRentDebt:100 / DueDate:01/01/2024" to a slot.
+     *
+     * @param text The record text without the line number.
+     * @return The slot bytes.
+     * @throws IllegalArgumentException if the text does not match the layout or a text field is too long.
+     */
+    byte[] encode(String text) {
+      String[] parts = text.split(" / ", fields.length);
+
+      if (parts.length != fields.length) {
+        throw new IllegalArgumentException("Record has " + parts.length + " fields instead of " + fields.length);
+      }
+
+      ByteBuffer slot = ByteBuffer.allocate(recordSize);
+      slot.put(SLOT_IN_USE);
+
+      for (int i = 0; i < fields.length; i++) {
+        Field field = fields[i];
+        int colon = parts[i].indexOf(':');
+
+        if (colon < 0 || !parts[i].substring(0, colon).equals(field.name)) {
+          throw new IllegalArgumentException("Expected field " + field.name);
+        }
+
+        String value = parts[i].substring(colon + 1);
+
+        if (field.maxLength == 0) {
+          slot.putInt(Integer.parseInt(value.trim()));
+        } else {
+          byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+          if (bytes.length > field.maxLength) {
+            throw new IllegalArgumentException(field.name + " is longer than " + field.maxLength + " bytes");
+          }
+
+          slot.putShort((short) bytes.length);
+          slot.put(bytes);
+          slot.position(slot.position() + field.maxLength - bytes.length);
+        }
+      }
+
+      return slot.array();
+    }
+    /**
+     * @brief Converts a slot back to its record text.
+     *
+     * @param bytes The bytes holding the slot.
+     * @param offset The offset of the slot in bytes.
+     * @param text The builder the record text is appended to.
+     */
+    void decode(byte[] bytes, int offset, StringBuilder text) {
+      ByteBuffer slot = ByteBuffer.wrap(bytes, offset + 1, recordSize - 1);
+
+      for (int i = 0; i < fields.length; i++) {
+        Field field = fields[i];
+
+        if (i > 0) {
+          text.append(" / ");
+        }
+
+        text.append(field.name).append(':');
+
+        if (field.maxLength == 0) {
+          text.append(slot.getInt());
+        } else {
+          int length = slot.getShort();
+          text.append(new String(bytes, slot.position(), length, StandardCharsets.UTF_8));
+          slot.position(slot.position() + field.maxLength);
+        }
+      }
+    }
+  }
+
+  /** Layout of property records. */
+  static final Layout PROPERTY = new Layout(new Field("PropertyID", 0), new Field("PropertyAge", 0), new Field("Bedrooms", 0),
+      new Field("Livingrooms", 0), new Field("Floors", 0), new Field("Size", 0), new Field("Address", 128));
+
+  /** Layout of tenant records. */
+  static final Layout TENANT = new Layout(new Field("TenantID", 0), new Field("PropertyID", 0), new Field("Rent", 0),
+                                          new Field("Birthdate", 16), new Field("Name", 48), new Field("Surname", 48));
+
+  /** Layout of rent records. */
+  static final Layout RENT = new Layout(new Field("TenantID", 0), new Field("CurrentRentDebt", 0), new Field("DueDate", 16));
+
+  /** Layout of maintenance records. */
+  static final Layout MAINTENANCE = new Layout(new Field("PropertyID", 0), new Field("Cost", 0), new Field("Priority", 0),
+      new Field("MaintenanceType", 64), new Field("ExpectedFinishingDate", 16));
+
+  /** Name of the binary file. */
+  private final String fileName;
+
+  /** Layout of the records in the file. */
+  private final Layout layout;
+
+  /** Name of the text record file the binary file was converted from, or null if there is none. */
+  private final String textFileName;
+
+  /** Slot indexes of the records in record order, null until the file is mapped. */
+  private int[] slots = null;
+
+  /** Number of records in slots. */
+  private int recordCount = 0;
+
+  /** Number of complete slots in the file, in use or free. */
+  private long slotCount = 0;
+
+  /** File size seen when the slots were mapped or last written. */
+  private long mappedLength = -1;
+
+  /** File modification time seen when the slots were mapped or last written. */
+  private long mappedModified = -1;
+
+  /** Whether records were changed since the text record file was last written. */
+  private boolean changed = false;
+
+  /** Constructor */
+  FixedWidthRecordFile(String fileName, Layout layout) {
+    this(fileName, layout, null);
+  }
+
+  /** Constructor */
+  FixedWidthRecordFile(String fileName, Layout layout, String textFileName) {
+    this.fileName = fileName;
+    this.layout = layout;
+    this.textFileName = textFileName;
+  }
+  /**
+   * @brief Returns the binary file name used for a text record file, "property_records.bin" becomes "property_records.dat".
+   *
+   * @param textFileName The name of the text record file.
+   * @return The name of the binary record file.
+   */
+  static String binaryFileName(String textFileName) {
+    int dot = textFileName.lastIndexOf('.');
+    return (dot < 0 ? textFileName : textFileName.substring(0, dot)) + ".dat";
+  }
+  /**
+   * @brief Opens the binary file of a text record file, converting the text file first if there is no binary file yet or the
+   * text file was changed after it.
+   *
+   * @param textFileName The name of the text record file.
+   * @param layout The layout of the records.
+   * @return The binary record file.
+   */
+  static FixedWidthRecordFile open(String textFileName, Layout layout) {
+    String binaryFileName = binaryFileName(textFileName);
+    File binaryFile = new File(binaryFileName);
+    File textFile = new File(textFileName);
+
+    if (textFile.exists() && (!binaryFile.exists() || textFile.lastModified() > binaryFile.lastModified())) {
+      convertToBinary(textFileName, binaryFileName, layout);
+    }
+
+    return new FixedWidthRecordFile(binaryFileName, layout, textFileName);
+  }
+
+  @Override
+  public String read(char isSorting) {
+    StringBuilder content = new StringBuilder();
+
+    try {
+      byte[] bytes = Files.readAllBytes(new File(fileName).toPath());
+      checkHeader(bytes);
+      int recordNumber = 0;
+
+      for (int offset = HEADER_SIZE; offset + layout.recordSize <= bytes.length; offset += layout.recordSize) {
+        if (bytes[offset] == SLOT_IN_USE) {
+          content.append(++recordNumber).append("-)");
+          layout.decode(bytes, offset, content);
+          content.append('\n');
+        }
+      }
+    } catch (IOException e) {
+      System.out.print("\nFile operation failed");
+      return "-1";
+    }
+
+    if (isSorting != 'Y') {
+      System.out.print(content);
+    }
+
+    return content.toString();
+  }
+
+  @Override
+  public int append(String text) {
+    byte[] slot;
+
+    try {
+      slot = layout.encode(text);
+    } catch (IllegalArgumentException e) {
+      System.out.print("\n" + e.getMessage());
+      return -1;
+    }
+
+    try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+      if (file.length() < HEADER_SIZE) {
+        file.setLength(0);
+        file.write(header());
+        slots = null;
+      } else {
+        checkHeader(file);
+      }
+
+      mapSlots(file);
+      // A partly written slot at the end of the file is overwritten
+      file.seek(slotOffset(slotCount));
+      file.write(slot);
+      file.setLength(file.getFilePointer());
+
+      if (recordCount == slots.length) {
+        slots = Arrays.copyOf(slots, Math.max(16, slots.length * 2));
+      }
+
+      slots[recordCount++] = (int) slotCount++;
+    } catch (IOException e) {
+      slots = null;
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    rememberFileState();
+    changed = true;
+    return 0;
+  }
+
+  @Override
+  public int edit(int recordNumber, String text) {
+    byte[] slot;
+
+    try {
+      slot = layout.encode(text);
+    } catch (IllegalArgumentException e) {
+      System.out.print("\n" + e.getMessage());
+      return -1;
+    }
+
+    try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+      checkHeader(file);
+      mapSlots(file);
+
+      if (recordNumber < 1 || recordNumber > recordCount) {
+        System.out.print("\nInvalid line number.");
+        return -1;
+      }
+
+      file.seek(slotOffset(slots[recordNumber - 1]));
+      file.write(slot);
+    } catch (IOException e) {
+      slots = null;
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    rememberFileState();
+    changed = true;
+    System.out.print("\nData successfully edited.");
+    return 0;
+  }
+
+  @Override
+  public int delete(int recordNumber) {
+    try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+      checkHeader(file);
+      mapSlots(file);
+
+      if (recordNumber < 1 || recordNumber > recordCount) {
+        System.out.print("\nInvalid line number.");
+        return -1;
+      }
+
+      file.seek(slotOffset(slots[recordNumber - 1]));
+      file.write(SLOT_FREE);
+      System.arraycopy(slots, recordNumber, slots, recordNumber - 1, recordCount - recordNumber);
+      recordCount--;
+      long freeSlots = slotCount - recordCount;
+
+      if (freeSlots > slotCount * RentalManagementLib.StorageVariables.compactionThreshold) {
+        compact(file);
+      }
+    } catch (IOException e) {
+      slots = null;
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    rememberFileState();
+    changed = true;
+    System.out.print("\nData successfully deleted");
+    return 0;
+  }
+
+  /**
+   * @brief Compacts the file if it has free slots and rewrites the text record file if the records changed since it was written.
+   * The binary file gets the modification time of the text file, so the next open does not convert the text file back.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  @Override
+  public int flush() {
+    File binaryFile = new File(fileName);
+
+    if (binaryFile.exists()) {
+      try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+        checkHeader(file);
+        mapSlots(file);
+
+        if (slotCount > recordCount) {
+          compact(file);
+        }
+      } catch (IOException e) {
+        slots = null;
+        System.out.print("\nFile operation failed");
+        return -1;
+      }
+
+      rememberFileState();
+    }
+
+    if (textFileName == null || !binaryFile.exists()) {
+      return 0;
+    }
+
+    File textFile = new File(textFileName);
+
+    if (!changed && textFile.exists() && textFile.lastModified() >= binaryFile.lastModified()) {
+      return 0;
+    }
+
+    if (convertToText(fileName, textFileName, layout) != 0) {
+      return -1;
+    }
+
+    binaryFile.setLastModified(textFile.lastModified());
+    rememberFileState();
+    changed = false;
+    return 0;
+  }
+
+  @Override
+  public File getDataFile() {
+    return new File(fileName);
+  }
+  /**
+   * @brief Returns the offset of a slot.
+   *
+   * @param slot The slot index, starting at 0.
+   * @return The slot offset in bytes.
+   */
+  long slotOffset(long slot) {
+    return HEADER_SIZE + slot * layout.recordSize;
+  }
+  /**
+   * @brief Maps the record numbers to their slots by reading the state byte of every slot, unless the file is unchanged
+   * since it was last mapped or written.
+   *
+   * @param file The opened binary file.
+   * @throws IOException
+   */
+  private void mapSlots(RandomAccessFile file) throws IOException {
+    if (slots != null && file.length() == mappedLength && new File(fileName).lastModified() == mappedModified) {
+      return;
+    }
+
+    slotCount = Math.max(0, file.length() - HEADER_SIZE) / layout.recordSize;
+    slots = new int[(int) Math.max(16, slotCount)];
+    recordCount = 0;
+    byte[] block = new byte[layout.recordSize * 512];
+    long end = slotOffset(slotCount);
+    long slot = 0;
+
+    for (long from = HEADER_SIZE; from < end; from += block.length) {
+      int length = (int) Math.min(block.length, end - from);
+      file.seek(from);
+      file.readFully(block, 0, length);
+
+      for (int offset = 0; offset < length; offset += layout.recordSize, slot++) {
+        if (block[offset] == SLOT_IN_USE) {
+          slots[recordCount++] = (int) slot;
+        }
+      }
+    }
+  }
+  /**
+   * @brief Moves the records to the front of the file in record order, a block of slots at a time, and cuts off the free slots.
+   *
+   * @param file The opened binary file with mapped slots.
+   * @throws IOException
+   */
+  private void compact(RandomAccessFile file) throws IOException {
+    byte[] block = new byte[layout.recordSize * 512];
+    long end = slotOffset(slotCount);
+    long to = HEADER_SIZE;
+
+    for (long from = HEADER_SIZE; from < end; from += block.length) {
+      int length = (int) Math.min(block.length, end - from);
+      int kept = 0;
+      file.seek(from);
+      file.readFully(block, 0, length);
+
+      for (int offset = 0; offset < length; offset += layout.recordSize) {
+        if (block[offset] == SLOT_IN_USE) {
+          System.arraycopy(block, offset, block, kept, layout.recordSize);
+          kept += layout.recordSize;
+        }
+      }
+
+      file.seek(to);
+      file.write(block, 0, kept);
+      to += kept;
+    }
+
+    file.setLength(to);
+
+    for (int i = 0; i < recordCount; i++) {
+      slots[i] = i;
+    }
+
+    slotCount = recordCount;
+  }
+  /**
+   * @brief Remembers the size and modification time of the file after a write, so the slots are not mapped again.
+   */
+  private void rememberFileState() {
+    File file = new File(fileName);
+    mappedLength = file.length();
+    mappedModified = file.lastModified();
+  }
+  /**
+   * @brief Builds the file header for this layout.
+   *
+   * @return The header bytes.
+   */
+  private byte[] header() {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(SIGNATURE);
+    header.putInt(VERSION);
+    header.putInt(layout.recordSize);
+    return header.array();
+  }
+  /**
+   * @brief Checks that the header in the bytes belongs to a file of this layout.
+   *
+   * @param bytes The file content.
+   * @throws IOException if the header is missing or different.
+   */
+  private void checkHeader(byte[] bytes) throws IOException {
+    if (bytes.length < HEADER_SIZE) {
+      throw new IOException(fileName + " has no header");
+    }
+
+    ByteBuffer header = ByteBuffer.wrap(bytes, 0, HEADER_SIZE);
+
+    if (header.getInt() != SIGNATURE || header.getInt() != VERSION || header.getInt() != layout.recordSize) {
+      throw new IOException(fileName + " is not a binary record file of this type");
+    }
+  }
+  /**
+   * @brief Checks that the header of the opened file belongs to a file of this layout.
+   *
+   * @param file The opened binary file.
+   * @throws IOException if the header is missing or different.
+   */
+  private void checkHeader(RandomAccessFile file) throws IOException {
+    byte[] bytes = new byte[HEADER_SIZE];
+    file.seek(0);
+
+    if (file.length() >= HEADER_SIZE) {
+      file.readFully(bytes);
+    }
+
+    checkHeader(file.length() >= HEADER_SIZE ? bytes : new byte[0]);
+  }
+  /**
+   * @brief Converts a text record file to the binary format.
+   *
+   * @param textFileName The name of the text record file to read.
+   * @param binaryFileName The name of the binary file to write.
+   * @param layout The layout of the records.
+   * @return 0 on success, -1 on failure.
+   */
+  static int convertToBinary(String textFileName, String binaryFileName, Layout layout) {
+    String content = RentalManagementLib.file_read(textFileName, 'Y');
+
+    if (content.equals("-1")) {
+      return -1;
+    }
+
+    FixedWidthRecordFile binaryFile = new FixedWidthRecordFile(binaryFileName, layout);
+
+    try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(binaryFileName))) {
+      outputStream.write(binaryFile.header());
+
+      for (String line : content.split("\n")) {
+        if (!line.isEmpty()) {
+          outputStream.write(layout.encode(line.substring(line.indexOf("-)") + 2)));
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.print("\nFile operation failed: " + e.getMessage());
+      new File(binaryFileName).delete();
+      return -1;
+    }
+
+    return 0;
+  }
+  /**
+   * @brief Converts a binary record file back to the text format.
+   *
+   * @param binaryFileName The name of the binary file to read.
+   * @param textFileName The name of the text record file to write.
+   * @param layout The layout of the records.
+   * @return 0 on success, -1 on failure.
+   */
+  static int convertToText(String binaryFileName, String textFileName, Layout layout) {
+    String content = new FixedWidthRecordFile(binaryFileName, layout).read('Y');
+
+    if (content.equals("-1")) {
+      return -1;
+    }
+
+    try (OutputStream outputStream = new FileOutputStream(textFileName)) {
+      outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    return 0;
+  }
+  /**
+   * @brief Converts the four record files of the working directory between the text and binary formats.
+   *
+   * @param args "toBinary" or "toText".
+   */
+  public static void main(String[] args) {
+    String[] textFileNames = {"property_records.bin", "tenant_records.bin", "rent_records.bin", "maintenance_records.bin"};
+    Layout[] layouts = {PROPERTY, TENANT, RENT, MAINTENANCE};
+    boolean toBinary = args.length > 0 && args[0].equals("toBinary");
+
+    if (args.length == 0 || (!toBinary && !args[0].equals("toText"))) {
+      System.out.print("Usage: FixedWidthRecordFile toBinary|toText\n");
+      return;
+    }
+
+    for (int i = 0; i < textFileNames.length; i++) {
+      String binaryFileName = binaryFileName(textFileNames[i]);
+
+      if (toBinary) {
+        convertToBinary(textFileNames[i], binaryFileName, layouts[i]);
+      } else {
+        convertToText(binaryFileName, textFileNames[i], layouts[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/**
+
+@file FuzzyIndex.java
+@brief This file contains the FuzzyIndex class.
+@details This file answers typo tolerant searches over the words of a text field of the records of a record store.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+
+@class FuzzyIndex
+@brief This class represents a BK-tree of the words of a text field of the records of a record store.
+@details Every distinct lower case word is a node of the tree, and the children of a node are keyed by their edit distance to it.
+Edit distance is a metric, so a search for the words within distance k of a query only has to visit the children whose key is
+within k of the distance between the query and their parent, instead of computing the distance to every word. Each node keeps the
+records that hold its word. Words whose records were all deleted stay in the tree until they outnumber the words in use, then the
+tree is built again. The index listens to its store, so it stays current on every add, edit and delete.
+@author hikmethankolay
+*/
+class FuzzyIndex<T extends RentalManagementLib.Identifiable & RentalManagementLib.Numbered> implements RentalManagementLib.RecordStore.Listener<T> {
+
+  /**
+   * @brief A word of the tree with the records that hold it.
+   */
+  private final class Node {
+    /** The lower case word. */
+    final String word;
+
+    /** Records that hold the word. */
+    final Set<T> records = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Children by their edit distance to the word. */
+    HashMap<Integer, Node> children = null;
+
+    /** Constructor */
+    Node(String word) {
+      this.word = word;
+    }
+  }
+
+  /** Store whose records are indexed. */
+  private final RentalManagementLib.RecordStore<T> store;
+
+  /** Field the records are indexed by. */
+  private final Function<T, String> text;
+
+  /** Root of the tree, null if there are no words. */
+  private Node root;
+
+  /** Nodes by word. Null while the store has no records loaded. */
+  private HashMap<String, Node> nodes = null;
+
+  /** Number of nodes without records. */
+  private int emptyNodes;
+
+  /** Constructor */
+  FuzzyIndex(RentalManagementLib.RecordStore<T> store, Function<T, String> text) {
+    this.store = store;
+    this.text = text;
+    store.addListener(this);
+  }
+  /**
+   * @brief Returns the records that have, for every word of a query, a word within an edit distance of it, loading the store first if needed.
+   *
+   * @param query The words to search for, ignoring case.
+   * @param maxDistance The number of inserted, deleted or replaced characters allowed in each word.
+   * @return The records in record order, empty if there are none or the record file does not exist.
+   */
+  ArrayList<T> within(String query, int maxDistance) {
+    long start = Metrics.start();
+
+    try {
+      synchronized (store) {
+        ArrayList<T> result = new ArrayList<>();
+        String[] queryWords = words(query);
+
+        if (queryWords.length == 0 || maxDistance < 0 || !store.exists()) {
+          return result;
+        }
+
+        store.records();
+
+        if (nodes == null || root == null) {
+          return result;
+        }
+
+        Set<T> matching = null;
+
+        for (String queryWord : queryWords) {
+          Set<T> wordMatches = Collections.newSetFromMap(new IdentityHashMap<>());
+          ArrayList<Node> pending = new ArrayList<>();
+          pending.add(root);
+
+          while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = distance(queryWord, node.word);
+
+            if (distance <= maxDistance) {
+              wordMatches.addAll(node.records);
+            }
+
+            if (node.children != null) {
+              for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+                Node child = node.children.get(d);
+
+                if (child != null) {
+                  pending.add(child);
+                }
+              }
+            }
+          }
+
+          if (matching != null) {
+            wordMatches.retainAll(matching);
+          }
+
+          matching = wordMatches;
+
+          if (matching.isEmpty()) {
+            break;
+          }
+        }
+
+        result.addAll(matching);
+        result.sort((a, b) -> Integer.compare(a.getRecordNumber(), b.getRecordNumber()));
+        return result;
+      }
+    } finally {
+      Metrics.stop("fuzzy_search", start);
+    }
+  }
+  /**
+   * @brief Computes the Levenshtein distance between two words.
+   *
+   * @param a The first word.
+   * @param b The second word.
+   * @return The smallest number of inserted, deleted or replaced characters that turns a into b.
+   */
+  static int distance(String a, String b) {
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+
+      for (int j = 1; j <= b.length(); j++) {
+        int replace = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(replace, Math.min(previous[j], current[j - 1]) + 1);
+      }
+
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    return previous[b.length()];
+  }
+  /**
+   * @brief Splits a text into lower case words.
+   *
+   * @param value The text.
+   * @return The words, without empty ones.
+   */
+  private static String[] words(String value) {
+    ArrayList<String> words = new ArrayList<>();
+
+    if (value != null) {
+      for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+        if (!word.isEmpty()) {
+          words.add(word);
+        }
+      }
+    }
+
+    return words.toArray(new String[0]);
+  }
+
+  @Override
+  public void reset(ArrayList<T> loaded) {
+    root = null;
+    nodes = loaded == null ? null : new HashMap<>();
+    emptyNodes = 0;
+
+    if (loaded != null) {
+      for (T record : loaded) {
+        insert(record);
+      }
+    }
+  }
+
+  @Override
+  public void added(T record) {
+    if (nodes != null) {
+      insert(record);
+    }
+  }
+
+  @Override
+  public void edited(T oldRecord, T newRecord) {
+    if (nodes != null) {
+      remove(oldRecord);
+      insert(newRecord);
+    }
+  }
+
+  @Override
+  public void deleted(T record) {
+    if (nodes != null) {
+      remove(record);
+    }
+  }
+  /**
+   * @brief Adds a record to the nodes of its words, adding the words that are not in the tree yet.
+   *
+   * @param record The record.
+   */
+  private void insert(T record) {
+    for (String word : words(text.apply(record))) {
+      Node node = nodes.get(word);
+
+      if (node == null) {
+        node = new Node(word);
+        nodes.put(word, node);
+        link(node);
+      } else if (node.records.isEmpty()) {
+        emptyNodes--;
+      }
+
+      node.records.add(record);
+    }
+  }
+  /**
+   * @brief Puts a new node under the node at its edit distance.
+   *
+   * @param node The new node.
+   */
+  private void link(Node node) {
+    if (root == null) {
+      root = node;
+      return;
+    }
+
+    Node parent = root;
+
+    while (true) {
+      int distance = distance(node.word, parent.word);
+
+      if (parent.children == null) {
+        parent.children = new HashMap<>();
+      }
+
+      Node child = parent.children.get(distance);
+
+      if (child == null) {
+        parent.children.put(distance, node);
+        return;
+      }
+
+      parent = child;
+    }
+  }
+  /**
+   * @brief Removes a record from the nodes of its words, and builds the tree again if most words have no records.
+   *
+   * @param record The record.
+   */
+  private void remove(T record) {
+    for (String word : words(text.apply(record))) {
+      Node node = nodes.get(word);
+
+      if (node != null && node.records.remove(record) && node.records.isEmpty()) {
+        emptyNodes++;
+      }
+    }
+
+    if (emptyNodes > nodes.size() / 2) {
+      Set<T> live = Collections.newSetFromMap(new IdentityHashMap<>());
+
+      for (Node node : nodes.values()) {
+        live.addAll(node.records);
+      }
+
+      reset(new ArrayList<>(live));
+    }
+  }
+}
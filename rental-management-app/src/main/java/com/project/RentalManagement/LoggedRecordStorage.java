@@ -0,0 +1,466 @@
+/**
+
+@file LoggedRecordStorage.java
+@brief This file contains the LoggedRecordStorage class.
+@details This file keeps the records of one entity in memory, logs every change to an append-only file and writes snapshots of the record file.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+
+@class LoggedRecordStorage
+@brief This class represents a record file whose changes are written to a write-ahead log.
+@details The record file, for example property_records.bin, is the snapshot. Every add, edit and delete is appended to
+"<file>.wal" and applied to the records in memory, so a change is one sequential write. The snapshot is rewritten from memory
+every StorageVariables.snapshotOperations changes or StorageVariables.snapshotSeconds seconds, and the log starts over.
+The first line of the log holds the CRC32 of the snapshot it belongs to. On startup the snapshot is loaded and the log is
+replayed over it, a log that belongs to an older snapshot is already part of the snapshot and is dropped, and an entry cut off by
+a crash is dropped as well. A complete entry that can not be applied is reported and skipped, never cut off, so the changes
+after it are kept.
+Log entries are one line each: "A\ttext", "E\tN\ttext" or "D\tN". In the text a backslash is written as two backslashes and
+a tab or line break as a backslash followed by t, n or r, so any record text fits in one entry.
+@author hikmethankolay
+*/
+class LoggedRecordStorage implements RecordStorage {
+
+  /** Suffix of the log file. */
+  static final String LOG_SUFFIX = ".wal";
+
+  /** Start of the first line of the log, followed by the snapshot's CRC32 or "-" if there is no snapshot. */
+  private static final String HEADER = "#snapshot ";
+
+  /** Name of the record file, which is the snapshot. */
+  private final String fileName;
+
+  /** Log file. */
+  private final File logFile;
+
+  /** Record texts without line numbers in record order, null until recovered. */
+  private ArrayList<String> texts = null;
+
+  /** Open log file, appended to after every change. */
+  private FileOutputStream log = null;
+
+  /** Number of changes in the log since the last snapshot. */
+  private int operationsSinceSnapshot = 0;
+
+  /** Time of the last snapshot in milliseconds. */
+  private long lastSnapshotTime = 0;
+
+  /** Constructor */
+  LoggedRecordStorage(String fileName) {
+    this.fileName = fileName;
+    this.logFile = new File(fileName + LOG_SUFFIX);
+  }
+
+  @Override
+  public synchronized String read(char isSorting) {
+    if (!recover()) {
+      System.out.print("\nFile operation failed");
+      return "-1";
+    }
+
+    if (texts.isEmpty() && !new File(fileName).exists()) {
+      System.out.print("\nFile operation failed");
+      return "-1";
+    }
+
+    StringBuilder content = new StringBuilder();
+
+    for (int i = 0; i < texts.size(); i++) {
+      content.append(i + 1).append("-)").append(texts.get(i)).append('\n');
+    }
+
+    if (isSorting != 'Y') {
+      System.out.print(content);
+    }
+
+    return content.toString();
+  }
+
+  @Override
+  public synchronized int append(String text) {
+    if (!recover() || !writeLog("A\t" + escape(text))) {
+      System.err.print("\nFile operation failed.");
+      return -1;
+    }
+
+    texts.add(text);
+    snapshotIfDue();
+    return 0;
+  }
+
+  @Override
+  public synchronized int edit(int recordNumber, String text) {
+    if (!recover()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    if (recordNumber < 1 || recordNumber > texts.size()) {
+      System.out.print("\nInvalid line number.");
+      return -1;
+    }
+
+    if (!writeLog("E\t" + recordNumber + "\t" + escape(text))) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    texts.set(recordNumber - 1, text);
+    System.out.print("\nData successfully edited.");
+    snapshotIfDue();
+    return 0;
+  }
+
+  @Override
+  public synchronized int delete(int recordNumber) {
+    if (!recover()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    if (recordNumber < 1 || recordNumber > texts.size()) {
+      System.out.print("\nInvalid line number.");
+      return -1;
+    }
+
+    if (!writeLog("D\t" + recordNumber)) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    texts.remove(recordNumber - 1);
+    System.out.print("\nData successfully deleted");
+    snapshotIfDue();
+    return 0;
+  }
+
+  @Override
+  public synchronized int flush() {
+    if (texts == null || operationsSinceSnapshot == 0) {
+      return 0;
+    }
+
+    return snapshot();
+  }
+
+  @Override
+  public File getDataFile() {
+    return new File(fileName);
+  }
+
+  @Override
+  public synchronized boolean exists() {
+    return new File(fileName).exists() || (recover() && !texts.isEmpty());
+  }
+  /**
+   * @brief Loads the snapshot and replays the log over it, once.
+   *
+   * @return true if the records are in memory.
+   */
+  private boolean recover() {
+    if (texts != null) {
+      return true;
+    }
+
+    File file = new File(fileName);
+    ArrayList<String> loaded = new ArrayList<>();
+    String snapshotId;
+
+    try {
+      if (file.exists()) {
+        String content = RentalManagementLib.file_read(fileName, 'Y');
+
+        if (content.equals("-1")) {
+          return false;
+        }
+
+        for (String line : content.split("\n")) {
+          if (!line.isEmpty()) {
+            int prefixEnd = line.indexOf("-)");
+            loaded.add(prefixEnd < 0 ? line : line.substring(prefixEnd + 2));
+          }
+        }
+      }
+
+      snapshotId = snapshotId(file);
+      int replayed = logFile.exists() ? replay(loaded, snapshotId) : -1;
+
+      if (replayed < 0) {
+        // No log for this snapshot, start a new one
+        try (FileOutputStream newLog = new FileOutputStream(logFile)) {
+          newLog.write((HEADER + snapshotId + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        replayed = 0;
+      }
+
+      log = new FileOutputStream(logFile, true);
+      operationsSinceSnapshot = replayed;
+    } catch (IOException e) {
+      return false;
+    }
+
+    texts = loaded;
+    lastSnapshotTime = System.currentTimeMillis();
+    return true;
+  }
+  /**
+   * @brief Applies the entries of the log to the loaded records and cuts off a last entry left without its line break by a crash.
+   * An entry that has its line break but can not be applied is reported and skipped.
+   *
+   * @param loaded The records of the snapshot.
+   * @param snapshotId The id of the snapshot.
+   * @return The number of replayed entries, or -1 if the log does not belong to the snapshot.
+   * @throws IOException
+   */
+  private int replay(ArrayList<String> loaded, String snapshotId) throws IOException {
+    byte[] bytes = Files.readAllBytes(logFile.toPath());
+    int start = 0;
+    int replayed = -1;
+    int lineNumber = 0;
+
+    for (int end = 0; end < bytes.length; end++) {
+      if (bytes[end] != '\n') {
+        continue;
+      }
+
+      String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+      start = end + 1;
+      lineNumber++;
+
+      if (replayed < 0) {
+        if (!line.equals(HEADER + snapshotId)) {
+          return -1;
+        }
+      } else if (!apply(loaded, line)) {
+        System.err.print("\nSkipped invalid log entry on line " + lineNumber + " of " + logFile.getName() + ".");
+        continue;
+      }
+
+      replayed++;
+    }
+
+    if (replayed < 0) {
+      return -1;
+    }
+
+    if (start < bytes.length) {
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(logFile, "rw")) {
+        randomAccessFile.setLength(start);
+      }
+    }
+
+    return replayed;
+  }
+  /**
+   * @brief Applies one log entry to the records.
+   *
+   * @param loaded The records.
+   * @param entry The log entry.
+   * @return false if the entry is not valid.
+   */
+  private static boolean apply(ArrayList<String> loaded, String entry) {
+    String[] parts = entry.split("\t", entry.startsWith("E\t") ? 3 : 2);
+
+    try {
+      if (parts[0].equals("A") && parts.length == 2) {
+        loaded.add(unescape(parts[1]));
+      } else if (parts[0].equals("E") && parts.length == 3) {
+        loaded.set(Integer.parseInt(parts[1]) - 1, unescape(parts[2]));
+      } else if (parts[0].equals("D") && parts.length == 2) {
+        loaded.remove(Integer.parseInt(parts[1]) - 1);
+      } else {
+        return false;
+      }
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      return false;
+    }
+
+    return true;
+  }
+  /**
+   * @brief Escapes the backslashes, tabs and line breaks of a record text for the log.
+   *
+   * @param text The record text.
+   * @return The escaped text.
+   */
+  static String escape(String text) {
+    StringBuilder escaped = null;
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      String replacement = c == '\\' ? "\\\\" : c == '\t' ? "\\t" : c == '\n' ? "\\n" : c == '\r' ? "\\r" : null;
+
+      if (replacement != null && escaped == null) {
+        escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+      }
+
+      if (escaped != null) {
+        if (replacement != null) {
+          escaped.append(replacement);
+        } else {
+          escaped.append(c);
+        }
+      }
+    }
+
+    return escaped == null ? text : escaped.toString();
+  }
+  /**
+   * @brief Restores a record text escaped by escape. A backslash before any other character is kept as it is.
+   *
+   * @param text The escaped text.
+   * @return The record text.
+   */
+  static String unescape(String text) {
+    if (text.indexOf('\\') < 0) {
+      return text;
+    }
+
+    StringBuilder unescaped = new StringBuilder(text.length());
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      char next = i + 1 < text.length() ? text.charAt(i + 1) : 0;
+      char replacement = next == '\\' ? '\\' : next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : 0;
+
+      if (c == '\\' && replacement != 0) {
+        unescaped.append(replacement);
+        i++;
+      } else {
+        unescaped.append(c);
+      }
+    }
+
+    return unescaped.toString();
+  }
+  /**
+   * @brief Appends an entry to the log.
+   *
+   * @param entry The log entry without its line break.
+   * @return true on success.
+   */
+  private boolean writeLog(String entry) {
+    try {
+      log.write((entry + "\n").getBytes(StandardCharsets.UTF_8));
+
+      if (RentalManagementLib.StorageVariables.syncLog) {
+        log.getFD().sync();
+      }
+    } catch (IOException e) {
+      return false;
+    }
+
+    operationsSinceSnapshot++;
+    return true;
+  }
+  /**
+   * @brief Writes a snapshot if enough changes were logged or enough time passed since the last one.
+   */
+  private void snapshotIfDue() {
+    long elapsed = System.currentTimeMillis() - lastSnapshotTime;
+
+    if (operationsSinceSnapshot >= RentalManagementLib.StorageVariables.snapshotOperations
+        || elapsed >= RentalManagementLib.StorageVariables.snapshotSeconds * 1000L) {
+      snapshot();
+    }
+  }
+  /**
+   * @brief Rewrites the record file from memory and starts a new log for it.
+   * The snapshot and the new log are written to temporary files first. If the program stops after the snapshot replaced the record
+   * file but before the new log replaced the old one, the old log no longer matches the snapshot and is dropped at startup.
+   * If the snapshot fails, the records are recovered from disk again on the next operation.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  private int snapshot() {
+    File file = new File(fileName);
+    File snapshot = new File(fileName + ".snapshot");
+    File newLog = new File(logFile.getPath() + ".new");
+    CRC32 crc = new CRC32();
+
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      try {
+        try (FileOutputStream snapshotStream = new FileOutputStream(snapshot)) {
+          OutputStream output = new BufferedOutputStream(snapshotStream, 1 << 16);
+
+          for (int i = 0; i < texts.size(); i++) {
+            byte[] line = ((i + 1) + "-)" + texts.get(i) + "\n").getBytes(StandardCharsets.UTF_8);
+            crc.update(line, 0, line.length);
+            output.write(line);
+          }
+
+          output.flush();
+          snapshotStream.getFD().sync();
+        }
+
+        try (FileOutputStream newLogStream = new FileOutputStream(newLog)) {
+          newLogStream.write((HEADER + Long.toHexString(crc.getValue()) + "\n").getBytes(StandardCharsets.UTF_8));
+          newLogStream.getFD().sync();
+        }
+
+        log.close();
+        Files.move(snapshot.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(newLog.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        log = new FileOutputStream(logFile, true);
+      } catch (IOException e) {
+        snapshot.delete();
+        newLog.delete();
+
+        try {
+          log.close();
+        } catch (IOException closeFailure) {
+          // The log is reopened by the next recovery anyway
+        }
+
+        // Every change is in the snapshot or in the log that belongs to it, so the next operation recovers from disk
+        texts = null;
+        return -1;
+      }
+    }
+
+    operationsSinceSnapshot = 0;
+    lastSnapshotTime = System.currentTimeMillis();
+    return 0;
+  }
+  /**
+   * @brief Returns the id a log uses to name its snapshot.
+   *
+   * @param file The record file.
+   * @return The CRC32 of the file in hex, or "-" if it does not exist.
+   * @throws IOException
+   */
+  private static String snapshotId(File file) throws IOException {
+    if (!file.exists()) {
+      return "-";
+    }
+
+    CRC32 crc = new CRC32();
+    byte[] block = new byte[1 << 16];
+
+    try (FileInputStream input = new FileInputStream(file)) {
+      int read;
+
+      while ((read = input.read(block)) != -1) {
+        crc.update(block, 0, read);
+      }
+    }
+
+    return Long.toHexString(crc.getValue());
+  }
+}
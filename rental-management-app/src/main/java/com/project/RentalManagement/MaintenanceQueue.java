@@ -0,0 +1,243 @@
+/**
+
+@file MaintenanceQueue.java
+@brief This file contains the MaintenanceQueue class.
+@details This file keeps the open maintenance jobs of a record store in priority order.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+
+/**
+
+@class MaintenanceQueue
+@brief This class represents a maintained max heap of maintenance records by priority.
+@details The heap is an array where the children of slot i are at 2i+1 and 2i+2, like maintenanceHeapify uses, and every record
+knows its slot, so a record that is edited or deleted is moved or taken out in O(log n) without building the heap again.
+The most urgent job is the one with the highest priority, and of jobs with the same priority the one added first.
+The queue listens to its store, so it is built in O(n) when the store loads its records and kept current on every add, edit and delete.
+@author hikmethankolay
+*/
+class MaintenanceQueue implements RentalManagementLib.RecordStore.Listener<RentalManagementLib.MaintenanceInfo> {
+
+  /** Store whose records are queued. */
+  private final RentalManagementLib.RecordStore<RentalManagementLib.MaintenanceInfo> store;
+
+  /** The heap. Null while the store has no records loaded. */
+  private ArrayList<RentalManagementLib.MaintenanceInfo> heap = null;
+
+  /** Heap slots by record. */
+  private IdentityHashMap<RentalManagementLib.MaintenanceInfo, Integer> slotOf;
+
+  /** Constructor */
+  MaintenanceQueue(RentalManagementLib.RecordStore<RentalManagementLib.MaintenanceInfo> store) {
+    this.store = store;
+    store.addListener(this);
+  }
+  /**
+   * @brief Returns the most urgent job, loading the store first if needed.
+   *
+   * @return The record, or null if there are no jobs or the record file does not exist.
+   */
+  RentalManagementLib.MaintenanceInfo peek() {
+    synchronized (store) {
+      return load() && !heap.isEmpty() ? heap.get(0) : null;
+    }
+  }
+  /**
+   * @brief Returns the k most urgent jobs in order, by walking the top of the heap in O(k log k) instead of sorting every job.
+   *
+   * @param k The number of jobs.
+   * @return The records, most urgent first, fewer than k if there are not enough jobs.
+   */
+  ArrayList<RentalManagementLib.MaintenanceInfo> top(int k) {
+    synchronized (store) {
+      ArrayList<RentalManagementLib.MaintenanceInfo> result = new ArrayList<>();
+
+      if (k <= 0 || !load() || heap.isEmpty()) {
+        return result;
+      }
+
+      PriorityQueue<Integer> frontier = new PriorityQueue<>(Math.min(k, heap.size()) + 1, (a, b) -> compare(heap.get(b), heap.get(a)));
+      frontier.add(0);
+
+      while (result.size() < k && !frontier.isEmpty()) {
+        int slot = frontier.poll();
+        result.add(heap.get(slot));
+
+        for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < heap.size(); child++) {
+          frontier.add(child);
+        }
+      }
+
+      return result;
+    }
+  }
+  /**
+   * @brief Returns the number of jobs.
+   *
+   * @return The job count, 0 if the record file does not exist.
+   */
+  int size() {
+    synchronized (store) {
+      return load() ? heap.size() : 0;
+    }
+  }
+  /**
+   * @brief Makes sure the store has loaded its records.
+   *
+   * @return true if the heap is built.
+   */
+  private boolean load() {
+    if (!store.exists()) {
+      return false;
+    }
+
+    store.records();
+    return heap != null;
+  }
+  /**
+   * @brief Compares the urgency of two jobs.
+   *
+   * @param a The first job.
+   * @param b The second job.
+   * @return A positive number if a is more urgent than b, a negative number if it is less urgent, 0 for the same record.
+   */
+  private static int compare(RentalManagementLib.MaintenanceInfo a, RentalManagementLib.MaintenanceInfo b) {
+    if (a.priority != b.priority) {
+      return Integer.compare(a.priority, b.priority);
+    }
+
+    return Integer.compare(b.recordNumber, a.recordNumber);
+  }
+
+  @Override
+  public void reset(ArrayList<RentalManagementLib.MaintenanceInfo> records) {
+    if (records == null) {
+      heap = null;
+      return;
+    }
+
+    heap = new ArrayList<>(records);
+    slotOf = new IdentityHashMap<>(records.size());
+
+    for (int i = 0; i < heap.size(); i++) {
+      slotOf.put(heap.get(i), i);
+    }
+
+    for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+      siftDown(i);
+    }
+  }
+
+  @Override
+  public void added(RentalManagementLib.MaintenanceInfo record) {
+    if (heap != null) {
+      heap.add(record);
+      slotOf.put(record, heap.size() - 1);
+      siftUp(heap.size() - 1);
+    }
+  }
+
+  @Override
+  public void edited(RentalManagementLib.MaintenanceInfo oldRecord, RentalManagementLib.MaintenanceInfo newRecord) {
+    if (heap == null) {
+      return;
+    }
+
+    Integer slot = slotOf.remove(oldRecord);
+
+    if (slot == null) {
+      added(newRecord);
+      return;
+    }
+
+    heap.set(slot, newRecord);
+    slotOf.put(newRecord, slot);
+    siftDown(siftUp(slot));
+  }
+
+  @Override
+  public void deleted(RentalManagementLib.MaintenanceInfo record) {
+    if (heap == null) {
+      return;
+    }
+
+    Integer slot = slotOf.remove(record);
+
+    if (slot == null) {
+      return;
+    }
+
+    RentalManagementLib.MaintenanceInfo last = heap.remove(heap.size() - 1);
+
+    if (slot < heap.size()) {
+      heap.set(slot, last);
+      slotOf.put(last, slot);
+      siftDown(siftUp(slot));
+    }
+  }
+  /**
+   * @brief Moves a job up while it is more urgent than its parent.
+   *
+   * @param slot The slot of the job.
+   * @return The new slot of the job.
+   */
+  private int siftUp(int slot) {
+    while (slot > 0) {
+      int parent = (slot - 1) / 2;
+
+      if (compare(heap.get(slot), heap.get(parent)) <= 0) {
+        break;
+      }
+
+      swap(slot, parent);
+      slot = parent;
+    }
+
+    return slot;
+  }
+  /**
+   * @brief Moves a job down while one of its children is more urgent.
+   *
+   * @param slot The slot of the job.
+   */
+  private void siftDown(int slot) {
+    while (true) {
+      int largest = slot;
+      int left = 2 * slot + 1;
+      int right = 2 * slot + 2;
+
+      if (left < heap.size() && compare(heap.get(left), heap.get(largest)) > 0) {
+        largest = left;
+      }
+
+      if (right < heap.size() && compare(heap.get(right), heap.get(largest)) > 0) {
+        largest = right;
+      }
+
+      if (largest == slot) {
+        return;
+      }
+
+      swap(slot, largest);
+      slot = largest;
+    }
+  }
+  /**
+   * @brief Swaps two jobs and updates their slots.
+   *
+   * @param i The first slot.
+   * @param j The second slot.
+   */
+  private void swap(int i, int j) {
+    RentalManagementLib.MaintenanceInfo a = heap.get(i);
+    RentalManagementLib.MaintenanceInfo b = heap.get(j);
+    heap.set(i, b);
+    heap.set(j, a);
+    slotOf.put(b, i);
+    slotOf.put(a, j);
+  }
+}
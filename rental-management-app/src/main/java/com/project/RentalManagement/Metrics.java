@@ -0,0 +1,361 @@
+/**
+
+@file Metrics.java
+@brief This file contains the Metrics class.
+@details This file counts operations and measures their latency, and publishes the numbers through JMX and the log.
+*/
+package com.project.RentalManagement;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+
+@class Metrics
+@brief This class represents the registry of the counters and timers of the application.
+@details Nothing is measured unless MetricsVariables.enabled is set, then start returns 0 and stop and count return right away,
+so a disabled measurement costs one field read. Timers keep a latency histogram with 8 buckets per power of two, like an
+HDR histogram with one significant digit, so percentiles are read without keeping every sample and are at most 12.5% too high.
+Every counter and timer is registered as an MBean named com.project.RentalManagement:type=Timer,name=... when it is first used,
+and a summary line of all timers is logged every MetricsVariables.summarySeconds seconds.
+@author hikmethankolay
+*/
+public final class Metrics {
+
+  /**
+   * @brief The attributes of a timer shown through JMX.
+   */
+  public interface TimerMBean {
+    /** @return The number of measured operations. */
+    long getCount();
+
+    /** @return The mean latency in milliseconds. */
+    double getMeanMillis();
+
+    /** @return The median latency in milliseconds. */
+    double getMedianMillis();
+
+    /** @return The 95th percentile latency in milliseconds. */
+    double get95thPercentileMillis();
+
+    /** @return The 99th percentile latency in milliseconds. */
+    double get99thPercentileMillis();
+
+    /** @return The highest latency in milliseconds. */
+    double getMaxMillis();
+
+    /** @return The number of operations per second since the timer was created. */
+    double getRatePerSecond();
+  }
+
+  /**
+   * @brief The attributes of a counter shown through JMX.
+   */
+  public interface CounterMBean {
+    /** @return The counted total. */
+    long getCount();
+  }
+
+  /**
+   * @brief Counts and measures one kind of operation.
+   */
+  static final class Timer implements TimerMBean {
+    /** Latencies below this many nanoseconds have a bucket of their own. */
+    private static final int LINEAR_BUCKETS = 16;
+
+    /** Buckets per power of two above the linear buckets. */
+    private static final int SUB_BUCKETS = 8;
+
+    /** Operation counts by latency bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(LINEAR_BUCKETS + 60 * SUB_BUCKETS);
+
+    /** Number of operations. */
+    private final LongAdder count = new LongAdder();
+
+    /** Sum of the latencies in nanoseconds. */
+    private final LongAdder total = new LongAdder();
+
+    /** Highest latency in nanoseconds. */
+    private final AtomicLong max = new AtomicLong();
+
+    /** Time the timer was created. */
+    private final long created = System.nanoTime();
+
+    /**
+     * @brief Adds one operation.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void record(long nanos) {
+      nanos = Math.max(0, nanos);
+      buckets.incrementAndGet(bucket(nanos));
+      count.increment();
+      total.add(nanos);
+
+      if (nanos > max.get()) {
+        max.accumulateAndGet(nanos, Math::max);
+      }
+    }
+    /**
+     * @brief Returns the bucket of a latency.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @return The bucket index.
+     */
+    static int bucket(long nanos) {
+      if (nanos < LINEAR_BUCKETS) {
+        return (int) nanos;
+      }
+
+      int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+      int sub = (int) (nanos >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+      return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+    /**
+     * @brief Returns the highest latency that falls in a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The latency in nanoseconds.
+     */
+    static long bucketLimit(int bucket) {
+      if (bucket < LINEAR_BUCKETS) {
+        return bucket;
+      }
+
+      int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+      long sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+      return ((SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+    /**
+     * @brief Returns a latency percentile from the histogram.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency in nanoseconds, 0 if nothing was measured.
+     */
+    long percentile(double percentile) {
+      long wanted = (long) Math.ceil(count.sum() * percentile / 100);
+      long seen = 0;
+
+      for (int i = 0; i < buckets.length(); i++) {
+        seen += buckets.get(i);
+
+        if (seen >= wanted && seen > 0) {
+          return Math.min(bucketLimit(i), max.get());
+        }
+      }
+
+      return max.get();
+    }
+
+    @Override
+    public long getCount() {
+      return count.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+      long operations = count.sum();
+      return operations == 0 ? 0 : total.sum() / 1e6 / operations;
+    }
+
+    @Override
+    public double getMedianMillis() {
+      return percentile(50) / 1e6;
+    }
+
+    @Override
+    public double get95thPercentileMillis() {
+      return percentile(95) / 1e6;
+    }
+
+    @Override
+    public double get99thPercentileMillis() {
+      return percentile(99) / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis() {
+      return max.get() / 1e6;
+    }
+
+    @Override
+    public double getRatePerSecond() {
+      return count.sum() * 1e9 / Math.max(1, System.nanoTime() - created);
+    }
+  }
+
+  /**
+   * @brief Counts one kind of event.
+   */
+  static final class Counter implements CounterMBean {
+    /** Counted total. */
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public long getCount() {
+      return count.sum();
+    }
+  }
+
+  /** Log the summary lines are written to. */
+  private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+
+  /** Timers by name. */
+  private static final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /** Counters by name. */
+  private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+  /** Thread that logs the summary lines, started with the first timer. */
+  private static ScheduledExecutorService reporter = null;
+
+  /** Constructor */
+  private Metrics() {
+  }
+  /**
+   * @brief Starts measuring an operation.
+   *
+   * @return The start time to pass to stop, or 0 if metrics are disabled.
+   */
+  static long start() {
+    return RentalManagementLib.MetricsVariables.enabled ? System.nanoTime() : 0;
+  }
+  /**
+   * @brief Finishes measuring an operation.
+   *
+   * @param name The name of the timer.
+   * @param start The value start returned.
+   */
+  static void stop(String name, long start) {
+    if (start != 0) {
+      timer(name).record(System.nanoTime() - start);
+    }
+  }
+  /**
+   * @brief Finishes measuring a numbered action, for example a menu choice, without building the name when metrics are disabled.
+   *
+   * @param name The name of the timers, the action number is added after a '.'.
+   * @param action The action number.
+   * @param start The value start returned.
+   */
+  static void stop(String name, int action, long start) {
+    if (start != 0) {
+      timer(name + "." + action).record(System.nanoTime() - start);
+    }
+  }
+  /**
+   * @brief Adds to a counter.
+   *
+   * @param name The name of the counter.
+   * @param amount The amount to add.
+   */
+  static void count(String name, long amount) {
+    if (RentalManagementLib.MetricsVariables.enabled) {
+      counters.computeIfAbsent(name, key -> register("Counter", key, new Counter(), CounterMBean.class)).count.add(amount);
+    }
+  }
+  /**
+   * @brief Returns a timer, creating and registering it the first time.
+   *
+   * @param name The name of the timer.
+   * @return The timer.
+   */
+  static Timer timer(String name) {
+    Timer timer = timers.get(name);
+
+    if (timer == null) {
+      timer = timers.computeIfAbsent(name, key -> register("Timer", key, new Timer(), TimerMBean.class));
+      startReporter();
+    }
+
+    return timer;
+  }
+  /**
+   * @brief Returns the count of a counter.
+   *
+   * @param name The name of the counter.
+   * @return The count, 0 if the counter was never used.
+   */
+  static long counted(String name) {
+    Counter counter = counters.get(name);
+    return counter == null ? 0 : counter.getCount();
+  }
+  /**
+   * @brief Builds one line with the count and latencies of every timer and the total of every counter, in name order.
+   *
+   * @return The summary line, empty if nothing was measured.
+   */
+  static String summary() {
+    StringBuilder line = new StringBuilder();
+
+    for (Map.Entry<String, Timer> entry : new TreeMap<>(timers).entrySet()) {
+      Timer timer = entry.getValue();
+      line.append(line.length() == 0 ? "" : "; ")
+      .append(String.format("%s n=%d mean=%.3fms p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms", entry.getKey(), timer.getCount(),
+                            timer.getMeanMillis(), timer.getMedianMillis(), timer.get95thPercentileMillis(),
+                            timer.get99thPercentileMillis(), timer.getMaxMillis()));
+    }
+
+    for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+      line.append(line.length() == 0 ? "" : "; ").append(entry.getKey()).append('=').append(entry.getValue().getCount());
+    }
+
+    return line.toString();
+  }
+  /**
+   * @brief Registers a counter or timer in the platform MBean server. A metric that can not be registered is still counted.
+   *
+   * @param type The type part of the MBean name.
+   * @param name The name of the metric.
+   * @param metric The metric.
+   * @param attributes The interface with the attributes of the metric.
+   * @return The metric.
+   */
+  private static <M, I> M register(String type, String name, M metric, Class<I> attributes) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName("com.project.RentalManagement:type=" + type + ",name=" + ObjectName.quote(name));
+
+      if (!server.isRegistered(objectName)) {
+        server.registerMBean(new StandardMBean(attributes.cast(metric), attributes), objectName);
+      }
+    } catch (JMException e) {
+      logger.warn("Could not register metric {}: {}", name, e.getMessage());
+    }
+
+    return metric;
+  }
+  /**
+   * @brief Starts the thread that logs the summary line, once, if MetricsVariables.summarySeconds is set.
+   */
+  private static synchronized void startReporter() {
+    int seconds = RentalManagementLib.MetricsVariables.summarySeconds;
+
+    if (reporter != null || seconds <= 0) {
+      return;
+    }
+
+    reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reporter.scheduleAtFixedRate(() -> logger.info("{}", summary()), seconds, seconds, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,397 @@
+/**
+
+@file PortfolioGenerator.java
+@brief This file contains the PortfolioGenerator class.
+@details This file writes large synthetic record files for scale and load tests.
+*/
+package com.project.RentalManagement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+
+@class PortfolioGenerator
+@brief This class represents a generator of property, tenant, rent and maintenance record files in the "N-)Field:value / ..." layout.
+@details The files are written in chunks of GeneratorVariables.chunkSize records. The chunks are built on
+GeneratorVariables.threads threads and written to the file in order. Every value of a record is taken from a hash of the seed,
+the file, the record number and the field, so the same settings always write the same files, whatever the number of threads.
+The IDs of properties and tenants are 1 to the record count, in order or shuffled, and a share of them can repeat an ID of an
+earlier record. Tenants and maintenances refer to properties and rents refer to tenants. The referred records can be chosen
+evenly or with a skew towards a few popular records, and a share of the references can point to records that do not exist.
+Run it with java -Drental.generator.properties=1000000 ... -cp rental-management-app.jar com.project.RentalManagement.PortfolioGenerator
+@author hikmethankolay
+*/
+public class PortfolioGenerator {
+  /**
+   * @brief Represents the variables that shape the generated portfolio.
+   */
+  static class GeneratorVariables {
+    /** Directory the record files are written to, set with -Drental.generator.directory=. */
+    static String directory = System.getProperty("rental.generator.directory", ".");
+
+    /** Number of property records, set with -Drental.generator.properties=1000. */
+    static int properties = Integer.getInteger("rental.generator.properties", 1000);
+
+    /** Number of tenant records, set with -Drental.generator.tenants=2000. */
+    static int tenants = Integer.getInteger("rental.generator.tenants", 2000);
+
+    /** Number of rent records, set with -Drental.generator.rents=4000. */
+    static int rents = Integer.getInteger("rental.generator.rents", 4000);
+
+    /** Number of maintenance records, set with -Drental.generator.maintenances=1000. */
+    static int maintenances = Integer.getInteger("rental.generator.maintenances", 1000);
+
+    /** Seed of every generated value, set with -Drental.generator.seed=42. */
+    static long seed = Long.getLong("rental.generator.seed", 42);
+
+    /** Writes the property and tenant IDs in a shuffled order instead of 1, 2, 3..., set with -Drental.generator.shuffledKeys=true. */
+    static boolean shuffledKeys = Boolean.getBoolean("rental.generator.shuffledKeys");
+
+    /** Share of properties and tenants that repeat the ID of an earlier record, set with -Drental.generator.duplicateRate=0.0. */
+    static double duplicateRate = Double.parseDouble(System.getProperty("rental.generator.duplicateRate", "0.0"));
+
+    /** Skew of the referred records towards the first ones, 0 chooses them evenly, set with -Drental.generator.hotKeySkew=0.0. */
+    static double hotKeySkew = Double.parseDouble(System.getProperty("rental.generator.hotKeySkew", "0.0"));
+
+    /** Share of references to records that do not exist, set with -Drental.generator.orphanRate=0.0. */
+    static double orphanRate = Double.parseDouble(System.getProperty("rental.generator.orphanRate", "0.0"));
+
+    /** Number of threads building chunks, set with -Drental.generator.threads=8, defaults to the number of processors. */
+    static int threads = Integer.getInteger("rental.generator.threads", Runtime.getRuntime().availableProcessors());
+
+    /** Number of records in a chunk, set with -Drental.generator.chunkSize=100000. */
+    static int chunkSize = Integer.getInteger("rental.generator.chunkSize", 100000);
+  }
+
+  /** Record files of the portfolio, by the kind numbers used in the hashes. */
+  private static final String[] FILE_NAMES = {"property_records.bin", "tenant_records.bin", "rent_records.bin", "maintenance_records.bin"};
+
+  /** Kind number of properties. */
+  private static final int PROPERTY = 0;
+
+  /** Kind number of tenants. */
+  private static final int TENANT = 1;
+
+  /** Kind number of rents. */
+  private static final int RENT = 2;
+
+  /** Kind number of maintenances. */
+  private static final int MAINTENANCE = 3;
+
+  /** Syllables names, surnames and streets are built from. */
+  private static final String[] SYLLABLES = {"al", "ex", "smi", "th", "jo", "hn", "sto", "ne", "ma", "ry", "ka", "ya", "ozb", "il", "ge", "mre",
+                                             "han", "kol", "ay", "met", "er", "do", "gan", "su"};
+
+  /** Kinds of maintenance. */
+  private static final String[] MAINTENANCE_TYPES = {"Plumbing", "Electrical", "Painting", "Roofing", "Heating", "Cleaning", "Gardening", "Windows"};
+
+  /** Number of records of every kind. */
+  private final long[] counts = new long[4];
+
+  /** Multiplier of the key shuffle of every kind. */
+  private final long[] shuffleMultipliers = new long[4];
+
+  /** Offset of the key shuffle of every kind. */
+  private final long[] shuffleOffsets = new long[4];
+
+  /** Constructor */
+  private PortfolioGenerator() {
+    counts[PROPERTY] = Math.max(0, GeneratorVariables.properties);
+    counts[TENANT] = Math.max(0, GeneratorVariables.tenants);
+    counts[RENT] = Math.max(0, GeneratorVariables.rents);
+    counts[MAINTENANCE] = Math.max(0, GeneratorVariables.maintenances);
+
+    for (int kind = 0; kind < counts.length; kind++) {
+      long count = Math.max(1, counts[kind]);
+      long multiplier = Long.remainderUnsigned(hash(kind, -1, 0), count) | 1;
+
+      while (gcd(multiplier % count, count) != 1) {
+        multiplier += 2;
+      }
+
+      shuffleMultipliers[kind] = multiplier % count;
+      shuffleOffsets[kind] = Long.remainderUnsigned(hash(kind, -1, 1), count);
+    }
+  }
+  /**
+   * @brief Writes the four record files of a portfolio shaped by GeneratorVariables, replacing them if they exist.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  static int generate() {
+    PortfolioGenerator generator = new PortfolioGenerator();
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, GeneratorVariables.threads));
+
+    try {
+      for (int kind = 0; kind < FILE_NAMES.length; kind++) {
+        generator.writeFile(kind, pool);
+      }
+
+      return 0;
+    } catch (IOException | ExecutionException e) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.out.print("\nFile operation failed");
+      return -1;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+  /**
+   * @brief Writes a portfolio shaped by the -Drental.generator.* properties and tells how long it took.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    long start = System.nanoTime();
+
+    if (generate() != 0) {
+      System.exit(1);
+    }
+
+    long records = (long) GeneratorVariables.properties + GeneratorVariables.tenants + GeneratorVariables.rents + GeneratorVariables.maintenances;
+    System.out.printf("\nGenerated %d records in %s in %d ms%n", records, new File(GeneratorVariables.directory).getAbsolutePath(),
+                      (System.nanoTime() - start) / 1000000);
+  }
+  /**
+   * @brief Writes one record file, building its chunks on the pool and writing them in order.
+   * At most two chunks per thread are kept in memory.
+   *
+   * @param kind The kind of the records.
+   * @param pool The threads that build the chunks.
+   * @throws IOException
+   * @throws ExecutionException if building a chunk failed.
+   * @throws InterruptedException
+   */
+  private void writeFile(int kind, ExecutorService pool) throws IOException, ExecutionException, InterruptedException {
+    File file = new File(GeneratorVariables.directory, FILE_NAMES[kind]);
+    long chunkSize = Math.max(1, GeneratorVariables.chunkSize);
+    int window = 2 * Math.max(1, GeneratorVariables.threads);
+    ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+         StandardOpenOption.WRITE)) {
+      for (long start = 0; start < counts[kind]; start += chunkSize) {
+        long first = start;
+        long end = Math.min(counts[kind], start + chunkSize);
+        pending.add(pool.submit(() -> chunk(kind, first, end)));
+
+        if (pending.size() >= window) {
+          write(channel, pending.poll().get());
+        }
+      }
+
+      while (!pending.isEmpty()) {
+        write(channel, pending.poll().get());
+      }
+    } finally {
+      for (Future<byte[]> future : pending) {
+        future.cancel(true);
+      }
+    }
+  }
+  /**
+   * @brief Writes all bytes of a chunk to the end of a file.
+   *
+   * @param channel The file.
+   * @param bytes The chunk.
+   * @throws IOException
+   */
+  private static void write(FileChannel channel, byte[] bytes) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+  /**
+   * @brief Builds the lines of a range of records.
+   *
+   * @param kind The kind of the records.
+   * @param start The index of the first record, from 0.
+   * @param end The index after the last record.
+   * @return The lines as UTF-8 bytes.
+   */
+  private byte[] chunk(int kind, long start, long end) {
+    StringBuilder lines = new StringBuilder((int) (end - start) * 96);
+
+    for (long i = start; i < end; i++) {
+      lines.append(i + 1).append("-)");
+
+      if (kind == PROPERTY) {
+        lines.append("PropertyID:").append(key(PROPERTY, i))
+        .append(" / PropertyAge:").append(between(kind, i, 1, 0, 100))
+        .append(" / Bedrooms:").append(between(kind, i, 2, 1, 6))
+        .append(" / Livingrooms:").append(between(kind, i, 3, 1, 3))
+        .append(" / Floors:").append(between(kind, i, 4, 1, 30))
+        .append(" / Size:").append(between(kind, i, 5, 40, 400))
+        .append(" / Address:").append(between(kind, i, 6, 1, 250)).append(' ');
+        appendWord(lines, kind, i, 7);
+        lines.append(" Street");
+      } else if (kind == TENANT) {
+        lines.append("TenantID:").append(key(TENANT, i))
+        .append(" / PropertyID:").append(reference(kind, i, 1, PROPERTY))
+        .append(" / Rent:").append(between(kind, i, 2, 500, 5000))
+        .append(" / Birthdate:");
+        appendDate(lines, kind, i, 3, 1940, 2005);
+        lines.append(" / Name:");
+        appendWord(lines, kind, i, 4);
+        lines.append(" / Surname:");
+        appendWord(lines, kind, i, 5);
+      } else if (kind == RENT) {
+        lines.append("TenantID:").append(reference(kind, i, 1, TENANT))
+        .append(" / CurrentRentDebt:").append(between(kind, i, 2, 0, 10000))
+        .append(" / DueDate:");
+        appendDate(lines, kind, i, 3, 2024, 2026);
+      } else {
+        lines.append("PropertyID:").append(reference(kind, i, 1, PROPERTY))
+        .append(" / Cost:").append(between(kind, i, 2, 50, 20000))
+        .append(" / Priority:").append(between(kind, i, 3, 1, 10))
+        .append(" / MaintenanceType:").append(MAINTENANCE_TYPES[between(kind, i, 4, 0, MAINTENANCE_TYPES.length - 1)])
+        .append(" / ExpectedFinishingDate:");
+        appendDate(lines, kind, i, 5, 2024, 2026);
+      }
+
+      lines.append('\n');
+    }
+
+    return lines.toString().getBytes(StandardCharsets.UTF_8);
+  }
+  /**
+   * @brief Returns the ID of a property or tenant, which is the ID of an earlier record for the duplicates.
+   *
+   * @param kind PROPERTY or TENANT.
+   * @param index The index of the record, from 0.
+   * @return The ID, from 1 to the record count.
+   */
+  private long key(int kind, long index) {
+    while (index > 0 && unit(hash(kind, index, 100)) < GeneratorVariables.duplicateRate) {
+      index = Long.remainderUnsigned(hash(kind, index, 101), index);
+    }
+
+    if (!GeneratorVariables.shuffledKeys) {
+      return index + 1;
+    }
+
+    // index * multiplier + offset is a permutation of 0..count-1 because the multiplier has no common factor with count
+    return (index * shuffleMultipliers[kind] + shuffleOffsets[kind]) % counts[kind] + 1;
+  }
+  /**
+   * @brief Returns the ID of the record a field refers to.
+   *
+   * @param kind The kind of the referring record.
+   * @param index The index of the referring record.
+   * @param field The number of the field.
+   * @param target PROPERTY or TENANT, the kind of the referred record.
+   * @return The ID of a referred record, or an ID above every ID of its file for orphans.
+   */
+  private long reference(int kind, long index, int field, int target) {
+    long count = counts[target];
+
+    if (count == 0 || unit(hash(kind, index, field)) < GeneratorVariables.orphanRate) {
+      return count + 1 + Long.remainderUnsigned(hash(kind, index, field + 100), Math.max(1, count));
+    }
+
+    double position = Math.pow(unit(hash(kind, index, field + 200)), 1 + Math.max(0, GeneratorVariables.hotKeySkew));
+    return key(target, Math.min(count - 1, (long) (position * count)));
+  }
+  /**
+   * @brief Returns a number between two limits.
+   *
+   * @param kind The kind of the record.
+   * @param index The index of the record.
+   * @param field The number of the field.
+   * @param low The lowest value.
+   * @param high The highest value.
+   * @return The value.
+   */
+  private static int between(int kind, long index, int field, int low, int high) {
+    return low + (int) Long.remainderUnsigned(hash(kind, index, field), high - low + 1);
+  }
+  /**
+   * @brief Appends a capitalized word of two to four syllables.
+   *
+   * @param lines The lines being built.
+   * @param kind The kind of the record.
+   * @param index The index of the record.
+   * @param field The number of the field.
+   */
+  private static void appendWord(StringBuilder lines, int kind, long index, int field) {
+    long bits = hash(kind, index, field);
+    int start = lines.length();
+
+    for (int i = 2 + (int) ((bits & 0xFF) % 3); i > 0; i--) {
+      bits >>>= 8;
+      lines.append(SYLLABLES[(int) ((bits & 0xFF) % SYLLABLES.length)]);
+    }
+
+    lines.setCharAt(start, Character.toUpperCase(lines.charAt(start)));
+  }
+  /**
+   * @brief Appends a DD/MM/YYYY date.
+   *
+   * @param lines The lines being built.
+   * @param kind The kind of the record.
+   * @param index The index of the record.
+   * @param field The number of the field.
+   * @param firstYear The first possible year.
+   * @param lastYear The last possible year.
+   */
+  private static void appendDate(StringBuilder lines, int kind, long index, int field, int firstYear, int lastYear) {
+    int day = between(kind, index, field, 1, 28);
+    int month = between(kind, index, field + 100, 1, 12);
+    lines.append(day < 10 ? "0" : "").append(day).append('/').append(month < 10 ? "0" : "").append(month).append('/')
+    .append(between(kind, index, field + 200, firstYear, lastYear));
+  }
+  /**
+   * @brief Mixes the seed, the kind, the record index and the field into 64 random-looking bits with the SplitMix64 finalizer.
+   *
+   * @param kind The kind of the record.
+   * @param index The index of the record.
+   * @param field The number of the field.
+   * @return The hash.
+   */
+  private static long hash(int kind, long index, int field) {
+    long z = GeneratorVariables.seed + 0x9E3779B97F4A7C15L * (index + 1) + 0xC2B2AE3D27D4EB4FL * (kind * 1024L + field);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+  /**
+   * @brief Turns a hash into a number between 0 and 1.
+   *
+   * @param hash The hash.
+   * @return The number, at least 0 and less than 1.
+   */
+  private static double unit(long hash) {
+    return (hash >>> 11) * 0x1.0p-53;
+  }
+  /**
+   * @brief Finds the greatest common divisor of two numbers.
+   *
+   * @param a The first number.
+   * @param b The second number.
+   * @return The greatest common divisor.
+   */
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+
+    return a;
+  }
+}
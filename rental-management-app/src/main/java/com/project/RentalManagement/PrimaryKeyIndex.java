@@ -0,0 +1,613 @@
+/**
+
+@file PrimaryKeyIndex.java
+@brief This file contains the PrimaryKeyIndex class.
+@details This file keeps a sorted index file that maps the first field of every record in a text record file to the record's line.
+*/
+package com.project.RentalManagement;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+
+@class PrimaryKeyIndex
+@brief This class represents the primary key index of a text record file, for example property_records.bin.idx.
+@details The first field of a record, PropertyID or TenantID, is its key. The index file starts with a header that holds the size
+and modification time of the record file it matches, followed by the entries sorted by key and line number, the line numbers of the
+deleted "N-#" lines, and a journal of the changes made since the file was last written in full.
+Each entry holds the key, the line number written in the record file and the byte offset of the line. A lookup is a binary search
+over the entries that reads 4 KB pages through a small page cache, so it reads a logarithmic number of pages and parses only the
+line it finds. Adds and deletes append to the journal, which is kept in memory and merged into the entries when it grows.
+If the record file was changed by anything else, for example by an edit or a compaction, the index is rebuilt from it.
+Entry: key (4 bytes), line number (4 bytes), offset (8 bytes). Journal entry: type, key, line number, unused (4 bytes each), offset (8 bytes).
+@author hikmethankolay
+*/
+class PrimaryKeyIndex {
+
+  /** Suffix of the index file. */
+  static final String SUFFIX = ".idx";
+
+  /** First int of every index file, "RMIX". */
+  private static final int SIGNATURE = 0x524D4958;
+
+  /** Version of the index file layout. */
+  private static final int VERSION = 1;
+
+  /** Size of the file header in bytes. */
+  static final int HEADER_SIZE = 32;
+
+  /** Size of an entry in bytes. */
+  static final int ENTRY_SIZE = 16;
+
+  /** Size of a journal entry in bytes. */
+  private static final int JOURNAL_ENTRY_SIZE = 24;
+
+  /** Size of a page read from the index file. */
+  static final int PAGE_SIZE = 4096;
+
+  /** Number of pages kept in memory. */
+  private static final int CACHED_PAGES = 64;
+
+  /** Journal entry type: a line was added. */
+  private static final int JOURNAL_ADD = 1;
+
+  /** Journal entry type: an entry was removed. */
+  private static final int JOURNAL_REMOVE = 2;
+
+  /** Journal entry type: a line was marked as deleted. */
+  private static final int JOURNAL_DELETED_LINE = 3;
+
+  /** Minimum number of journal entries before the journal is merged into the entries. */
+  private static final int MIN_JOURNAL_MERGE = 1024;
+
+  /** Name of the record file. */
+  private final String recordFileName;
+
+  /** Index file. */
+  private final File indexFile;
+
+  /** Open index file, null until loaded. */
+  private RandomAccessFile file = null;
+
+  /** Number of sorted entries in the file. */
+  private int entryCount = 0;
+
+  /** Line numbers of the deleted lines, sorted. */
+  private int[] deletedLines = new int[16];
+
+  /** Number of deleted lines. */
+  private int deletedCount = 0;
+
+  /** Entries added since the last merge, by key and line number. */
+  private final TreeMap<Long, Long> added = new TreeMap<>();
+
+  /** Sorted entries removed since the last merge, by key and line number. */
+  private final HashSet<Long> removed = new HashSet<>();
+
+  /** Number of journal entries in the file. */
+  private int journalCount = 0;
+
+  /** Record file size the index matches. */
+  private long sourceLength = -1;
+
+  /** Record file modification time the index matches. */
+  private long sourceModified = -1;
+
+  /** Recently read pages of the sorted entries. */
+  private final LinkedHashMap<Long, byte[]> pages = new LinkedHashMap<Long, byte[]>(CACHED_PAGES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+      return size() > CACHED_PAGES;
+    }
+  };
+
+  /** Constructor */
+  PrimaryKeyIndex(String recordFileName) {
+    this.recordFileName = recordFileName;
+    this.indexFile = new File(recordFileName + SUFFIX);
+  }
+  /**
+   * @brief Checks whether the index matches the record file, loading the index file if it is not loaded.
+   *
+   * @return true if the index can be used and updated.
+   */
+  boolean isCurrent() {
+    if (file == null) {
+      try {
+        load();
+      } catch (IOException e) {
+        close();
+      }
+    }
+
+    File recordFile = new File(recordFileName);
+    return file != null && recordFile.length() == sourceLength && recordFile.lastModified() == sourceModified;
+  }
+  /**
+   * @brief Makes sure the index matches the record file, rebuilding it if needed.
+   *
+   * @throws IOException
+   */
+  void open() throws IOException {
+    if (!isCurrent()) {
+      rebuild();
+    }
+  }
+  /**
+   * @brief Finds the first line, in line number order, whose key is the given key.
+   *
+   * @param key The key to find.
+   * @return The line number and the byte offset of the line, or null if no line has the key.
+   * @throws IOException
+   */
+  long[] first(int key) throws IOException {
+    long from = composite(key, 0);
+    long to = from + (1L << 32);
+    SortedMap<Long, Long> addedWithKey = added.subMap(from, to);
+    long best = addedWithKey.isEmpty() ? Long.MAX_VALUE : addedWithKey.firstKey();
+    long bestOffset = best == Long.MAX_VALUE ? -1 : addedWithKey.get(best);
+
+    // Lower bound of the key in the sorted entries
+    int low = 0;
+    int high = entryCount;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (entryComposite(mid) < from) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    for (int i = low; i < entryCount; i++) {
+      long entry = entryComposite(i);
+
+      if (entry >= to || entry >= best) {
+        break;
+      }
+
+      if (!removed.contains(entry)) {
+        best = entry;
+        bestOffset = entryOffset(i);
+        break;
+      }
+    }
+
+    return bestOffset < 0 ? null : new long[] {(int) best, bestOffset};
+  }
+  /**
+   * @brief Counts the deleted lines before a line, the record number of the line is its line number minus this count.
+   *
+   * @param lineNumber The line number written in the record file.
+   * @return The number of deleted lines with a smaller line number.
+   */
+  int deletedBefore(int lineNumber) {
+    int low = 0;
+    int high = deletedCount;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (deletedLines[mid] < lineNumber) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+  /**
+   * @brief Adds the entry of a line appended to the record file.
+   *
+   * @param key The key of the record.
+   * @param lineNumber The line number written in the record file.
+   * @param offset The byte offset of the line.
+   * @throws IOException
+   */
+  void add(int key, int lineNumber, long offset) throws IOException {
+    writeJournal(JOURNAL_ADD, key, lineNumber, offset);
+    applyAdd(composite(key, lineNumber), offset);
+  }
+  /**
+   * @brief Removes the entry of a line marked as deleted in the record file.
+   *
+   * @param key The key of the record.
+   * @param lineNumber The line number written in the record file.
+   * @throws IOException
+   */
+  void remove(int key, int lineNumber) throws IOException {
+    writeJournal(JOURNAL_REMOVE, key, lineNumber, 0);
+    applyRemove(composite(key, lineNumber));
+    writeJournal(JOURNAL_DELETED_LINE, 0, lineNumber, 0);
+    applyDeletedLine(lineNumber);
+  }
+  /**
+   * @brief Records the current size and modification time of the record file after it was changed together with the index,
+   * and merges the journal into the entries if it grew too large.
+   *
+   * @throws IOException
+   */
+  void remember() throws IOException {
+    File recordFile = new File(recordFileName);
+    sourceLength = recordFile.length();
+    sourceModified = recordFile.lastModified();
+
+    if (journalCount > Math.max(MIN_JOURNAL_MERGE, entryCount / 4)) {
+      merge();
+      return;
+    }
+
+    file.seek(16);
+    file.writeLong(sourceLength);
+    file.writeLong(sourceModified);
+  }
+  /**
+   * @brief Closes the index file, the next use loads it again.
+   */
+  void close() {
+    if (file != null) {
+      try {
+        file.close();
+      } catch (IOException e) {
+        // Nothing to save, the file is only read and appended to
+      }
+    }
+
+    file = null;
+    entryCount = 0;
+    deletedCount = 0;
+    journalCount = 0;
+    added.clear();
+    removed.clear();
+    pages.clear();
+  }
+  /**
+   * @brief Drops the index after the record file was rewritten, the next open rebuilds it. The index file is deleted as well,
+   * since a rewrite can keep the size and modification time its header holds.
+   */
+  void invalidate() {
+    close();
+    indexFile.delete();
+  }
+  /**
+   * @brief Loads the index file, its header, deleted lines and journal.
+   *
+   * @throws IOException
+   */
+  private void load() throws IOException {
+    close();
+
+    if (!indexFile.exists()) {
+      return;
+    }
+
+    RandomAccessFile opened = new RandomAccessFile(indexFile, "rw");
+    file = opened;
+
+    if (opened.length() < HEADER_SIZE || opened.readInt() != SIGNATURE || opened.readInt() != VERSION) {
+      close();
+      return;
+    }
+
+    entryCount = opened.readInt();
+    int deleted = opened.readInt();
+    sourceLength = opened.readLong();
+    sourceModified = opened.readLong();
+    long journalStart = HEADER_SIZE + (long) entryCount * ENTRY_SIZE + (long) deleted * 4;
+
+    if (entryCount < 0 || deleted < 0 || journalStart > opened.length()) {
+      close();
+      return;
+    }
+
+    byte[] tail = new byte[(int) (opened.length() - (long) entryCount * ENTRY_SIZE - HEADER_SIZE)];
+    opened.seek(HEADER_SIZE + (long) entryCount * ENTRY_SIZE);
+    opened.readFully(tail);
+    ByteBuffer buffer = ByteBuffer.wrap(tail);
+
+    for (int i = 0; i < deleted; i++) {
+      applyDeletedLine(buffer.getInt());
+    }
+
+    while (buffer.remaining() >= JOURNAL_ENTRY_SIZE) {
+      int type = buffer.getInt();
+      int key = buffer.getInt();
+      int lineNumber = buffer.getInt();
+      buffer.getInt();
+      long offset = buffer.getLong();
+
+      if (type == JOURNAL_ADD) {
+        applyAdd(composite(key, lineNumber), offset);
+      } else if (type == JOURNAL_REMOVE) {
+        applyRemove(composite(key, lineNumber));
+      } else if (type == JOURNAL_DELETED_LINE) {
+        applyDeletedLine(lineNumber);
+      }
+
+      journalCount++;
+    }
+
+    // An entry cut off by a crash is overwritten by the next one
+    opened.setLength(journalStart + (long) journalCount * JOURNAL_ENTRY_SIZE);
+  }
+  /**
+   * @brief Rebuilds the index by reading the key of every line in the record file.
+   *
+   * @throws IOException
+   */
+  private void rebuild() throws IOException {
+    close();
+    ArrayList<long[]> lines = new ArrayList<>();
+    File recordFile = new File(recordFileName);
+    long length = recordFile.length();
+    long modified = recordFile.lastModified();
+
+    try (FileInputStream input = new FileInputStream(recordFile)) {
+      byte[] block = new byte[1 << 16];
+      byte[] line = new byte[256];
+      int lineLength = 0;
+      long lineStart = 0;
+      long position = 0;
+      int read;
+
+      while ((read = input.read(block)) != -1) {
+        for (int i = 0; i < read; i++, position++) {
+          if (block[i] != '\n') {
+            if (lineLength == line.length) {
+              line = Arrays.copyOf(line, lineLength * 2);
+            }
+
+            line[lineLength++] = block[i];
+          } else {
+            addLine(lines, line, lineLength, lineStart);
+            lineLength = 0;
+            lineStart = position + 1;
+          }
+        }
+      }
+
+      addLine(lines, line, lineLength, lineStart);
+    }
+
+    ArrayList<long[]> entries = new ArrayList<>(lines.size());
+    int[] deleted = new int[lines.size()];
+    int deletedTotal = 0;
+
+    for (long[] entry : lines) {
+      if (entry[1] < 0) {
+        deleted[deletedTotal++] = (int) entry[0];
+      } else {
+        entries.add(entry);
+      }
+    }
+
+    entries.sort(Comparator.comparingLong(entry -> entry[0]));
+    Arrays.sort(deleted, 0, deletedTotal);
+    write(entries, deleted, deletedTotal, length, modified);
+  }
+  /**
+   * @brief Reads the line number and key of a record file line and adds them to the scanned lines.
+   * A deleted line is added as its line number with offset -1. A line without a record number or key can not be found by key
+   * and is skipped.
+   *
+   * @param lines The scanned lines.
+   * @param line The bytes of the line.
+   * @param length The number of bytes of the line.
+   * @param lineStart The byte offset of the line.
+   */
+  private static void addLine(ArrayList<long[]> lines, byte[] line, int length, long lineStart) {
+    if (length > 0 && line[length - 1] == '\r') {
+      length--;
+    }
+
+    if (length == 0) {
+      return;
+    }
+
+    String text = new String(line, 0, length, StandardCharsets.UTF_8);
+
+    try {
+      RecordLineParser parser = new RecordLineParser(text);
+      int lineNumber = parser.recordNumber();
+
+      if (RentalManagementLib.isTombstone(text)) {
+        lines.add(new long[] {lineNumber, -1});
+      } else {
+        lines.add(new long[] {composite(parser.nextInt(), lineNumber), lineStart});
+      }
+    } catch (IllegalArgumentException e) {
+      // Not a record line
+    }
+  }
+  /**
+   * @brief Writes the journal into the sorted entries.
+   *
+   * @throws IOException
+   */
+  private void merge() throws IOException {
+    ArrayList<long[]> entries = new ArrayList<>(entryCount + added.size());
+    byte[] bytes = new byte[entryCount * ENTRY_SIZE];
+    file.seek(HEADER_SIZE);
+    file.readFully(bytes);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+    for (int i = 0; i < entryCount; i++) {
+      long entry = buffer.getLong();
+      long offset = buffer.getLong();
+
+      if (!removed.contains(entry)) {
+        entries.add(new long[] {entry, offset});
+      }
+    }
+
+    for (Map.Entry<Long, Long> entry : added.entrySet()) {
+      entries.add(new long[] {entry.getKey(), entry.getValue()});
+    }
+
+    entries.sort(Comparator.comparingLong(entry -> entry[0]));
+    write(entries, Arrays.copyOf(deletedLines, deletedCount), deletedCount, sourceLength, sourceModified);
+  }
+  /**
+   * @brief Writes a new index file through a temporary file and loads it.
+   *
+   * @param entries The entries sorted by key and line number.
+   * @param deleted The deleted line numbers, sorted.
+   * @param deletedTotal The number of deleted line numbers.
+   * @param length The record file size the index matches.
+   * @param modified The record file modification time the index matches.
+   * @throws IOException
+   */
+  private void write(ArrayList<long[]> entries, int[] deleted, int deletedTotal, long length, long modified) throws IOException {
+    close();
+    File temporary = new File(indexFile.getPath() + ".tmp");
+
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), 1 << 16))) {
+      output.writeInt(SIGNATURE);
+      output.writeInt(VERSION);
+      output.writeInt(entries.size());
+      output.writeInt(deletedTotal);
+      output.writeLong(length);
+      output.writeLong(modified);
+
+      for (long[] entry : entries) {
+        output.writeLong(entry[0]);
+        output.writeLong(entry[1]);
+      }
+
+      for (int i = 0; i < deletedTotal; i++) {
+        output.writeInt(deleted[i]);
+      }
+    }
+
+    Files.move(temporary.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    load();
+  }
+  /**
+   * @brief Appends an entry to the journal.
+   *
+   * @param type The journal entry type.
+   * @param key The key.
+   * @param lineNumber The line number.
+   * @param offset The byte offset.
+   * @throws IOException
+   */
+  private void writeJournal(int type, int key, int lineNumber, long offset) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(JOURNAL_ENTRY_SIZE);
+    buffer.putInt(type).putInt(key).putInt(lineNumber).putInt(0).putLong(offset);
+    file.seek(file.length());
+    file.write(buffer.array());
+    journalCount++;
+  }
+  /**
+   * @brief Applies an added entry to the journal in memory.
+   *
+   * @param entry The key and line number.
+   * @param offset The byte offset.
+   */
+  private void applyAdd(long entry, long offset) {
+    added.put(entry, offset);
+  }
+  /**
+   * @brief Applies a removed entry to the journal in memory.
+   *
+   * @param entry The key and line number.
+   */
+  private void applyRemove(long entry) {
+    if (added.remove(entry) == null) {
+      removed.add(entry);
+    }
+  }
+  /**
+   * @brief Adds a deleted line number, keeping them sorted.
+   *
+   * @param lineNumber The line number.
+   */
+  private void applyDeletedLine(int lineNumber) {
+    int position = deletedBefore(lineNumber);
+
+    if (position < deletedCount && deletedLines[position] == lineNumber) {
+      return;
+    }
+
+    if (deletedCount == deletedLines.length) {
+      deletedLines = Arrays.copyOf(deletedLines, deletedCount * 2);
+    }
+
+    System.arraycopy(deletedLines, position, deletedLines, position + 1, deletedCount - position);
+    deletedLines[position] = lineNumber;
+    deletedCount++;
+  }
+  /**
+   * @brief Reads the key and line number of a sorted entry.
+   *
+   * @param i The entry index.
+   * @return The key and line number.
+   * @throws IOException
+   */
+  private long entryComposite(int i) throws IOException {
+    long position = HEADER_SIZE + (long) i * ENTRY_SIZE;
+    return ByteBuffer.wrap(page(position / PAGE_SIZE)).getLong((int) (position % PAGE_SIZE));
+  }
+  /**
+   * @brief Reads the byte offset of a sorted entry.
+   *
+   * @param i The entry index.
+   * @return The byte offset of the line.
+   * @throws IOException
+   */
+  private long entryOffset(int i) throws IOException {
+    long position = HEADER_SIZE + (long) i * ENTRY_SIZE + 8;
+    return ByteBuffer.wrap(page(position / PAGE_SIZE)).getLong((int) (position % PAGE_SIZE));
+  }
+  /**
+   * @brief Returns a page of the index file, reading it if it is not cached.
+   *
+   * @param pageNumber The page number.
+   * @return The page, shorter than PAGE_SIZE at the end of the file.
+   * @throws IOException
+   */
+  private byte[] page(long pageNumber) throws IOException {
+    byte[] page = pages.get(pageNumber);
+
+    if (page == null) {
+      long start = pageNumber * PAGE_SIZE;
+      page = new byte[(int) Math.min(PAGE_SIZE, file.length() - start)];
+      file.seek(start);
+      file.readFully(page);
+      pages.put(pageNumber, page);
+    }
+
+    return page;
+  }
+  /**
+   * @brief Combines a key and a line number into one value that sorts by key first.
+   *
+   * @param key The key.
+   * @param lineNumber The line number.
+   * @return The combined value.
+   */
+  private static long composite(int key, int lineNumber) {
+    return ((long) key << 32) | (lineNumber & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,346 @@
+/**
+
+@file PropertyQuery.java
+@brief This file contains the PropertyQuery class.
+@details This file answers range and multi-criteria searches over the numeric fields of property records.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+
+@class PropertyQuery
+@brief This class represents the field indexes of the property records of a record store.
+@details Every cached property gets a slot number. Fields with few distinct values (bedrooms, living rooms, floors) keep one bitmap of
+slots per value, and fields with many distinct values (age, size) keep a sorted index of values to slot lists. A range on a field is
+turned into a bitmap of slots, so criteria are combined with bitwise AND and OR before a single record is looked at. The indexes listen
+to the store, so they are built when the store loads its records and updated on every add, edit and delete.
+@author hikmethankolay
+*/
+class PropertyQuery implements RentalManagementLib.RecordStore.Listener<RentalManagementLib.PropertyInfo> {
+
+  /**
+   * @brief The fields a property search can put a range on.
+   */
+  enum Field {
+    /** Property's age, sorted index. */
+    PROPERTY_AGE("PropertyAge", property -> property.propertyAge, false),
+    /** Bedroom count, bitmap index. */
+    BEDROOMS("Bedrooms", property -> property.bedrooms, true),
+    /** Living room count, bitmap index. */
+    LIVINGROOMS("Livingrooms", property -> property.livingrooms, true),
+    /** Floor count, bitmap index. */
+    FLOORS("Floors", property -> property.floors, true),
+    /** Size of the property, sorted index. */
+    SIZE("Size", property -> property.size, false);
+
+    /** Name of the field in record lines. */
+    final String label;
+
+    /** Reads the field from a record. */
+    final ToIntFunction<RentalManagementLib.PropertyInfo> value;
+
+    /** Whether the field has few distinct values and is kept as one bitmap per value. */
+    final boolean bitmap;
+
+    /** Constructor */
+    Field(String label, ToIntFunction<RentalManagementLib.PropertyInfo> value, boolean bitmap) {
+      this.label = label;
+      this.value = value;
+      this.bitmap = bitmap;
+    }
+  }
+
+  /**
+   * @brief A growable list of slot numbers, an entry of a sorted index.
+   */
+  private static final class Slots {
+    /** Slot numbers. */
+    int[] slots = new int[2];
+
+    /** Number of slot numbers in use. */
+    int count = 0;
+
+    /**
+     * @brief Adds a slot number.
+     *
+     * @param slot The slot number.
+     */
+    void add(int slot) {
+      if (count == slots.length) {
+        slots = Arrays.copyOf(slots, count * 2);
+      }
+
+      slots[count++] = slot;
+    }
+    /**
+     * @brief Removes a slot number.
+     *
+     * @param slot The slot number.
+     */
+    void remove(int slot) {
+      for (int i = 0; i < count; i++) {
+        if (slots[i] == slot) {
+          slots[i] = slots[--count];
+          return;
+        }
+      }
+    }
+  }
+
+  /** Store whose records are indexed. */
+  private final RentalManagementLib.RecordStore<RentalManagementLib.PropertyInfo> store;
+
+  /** Records by slot, null for free slots. */
+  private ArrayList<RentalManagementLib.PropertyInfo> records = null;
+
+  /** Slots by record. */
+  private IdentityHashMap<RentalManagementLib.PropertyInfo, Integer> slotOf;
+
+  /** Free slots, reused before new ones are taken. */
+  private BitSet freeSlots;
+
+  /** Bitmap indexes by field ordinal, null for sorted fields. */
+  private ArrayList<TreeMap<Integer, BitSet>> bitmaps;
+
+  /** Sorted indexes by field ordinal, null for bitmap fields. */
+  private ArrayList<TreeMap<Integer, Slots>> sorted;
+
+  /** Constructor */
+  PropertyQuery(RentalManagementLib.RecordStore<RentalManagementLib.PropertyInfo> store) {
+    this.store = store;
+    store.addListener(this);
+  }
+  /**
+   * @brief Returns the slots of the records whose field is in a range, loading the store first if needed.
+   *
+   * @param field The field.
+   * @param min The smallest value, inclusive.
+   * @param max The largest value, inclusive.
+   * @return The bitmap of matching slots, empty if the record file does not exist.
+   */
+  BitSet range(Field field, int min, int max) {
+    synchronized (store) {
+      BitSet result = new BitSet();
+
+      if (min > max || !load()) {
+        return result;
+      }
+
+      if (field.bitmap) {
+        for (BitSet values : bitmaps.get(field.ordinal()).subMap(min, true, max, true).values()) {
+          result.or(values);
+        }
+      } else {
+        for (Slots values : sorted.get(field.ordinal()).subMap(min, true, max, true).values()) {
+          for (int i = 0; i < values.count; i++) {
+            result.set(values.slots[i]);
+          }
+        }
+      }
+
+      return result;
+    }
+  }
+  /**
+   * @brief Returns the slots of every record, the starting point of a search with no criteria.
+   *
+   * @return The bitmap of used slots.
+   */
+  BitSet all() {
+    synchronized (store) {
+      BitSet result = new BitSet();
+
+      if (load()) {
+        result.set(0, records.size());
+        result.andNot(freeSlots);
+      }
+
+      return result;
+    }
+  }
+  /**
+   * @brief Returns the records of a bitmap of slots.
+   *
+   * @param slots The slots, from range and all combined with and, or and andNot.
+   * @return The records in record order.
+   */
+  ArrayList<RentalManagementLib.PropertyInfo> records(BitSet slots) {
+    synchronized (store) {
+      ArrayList<RentalManagementLib.PropertyInfo> result = new ArrayList<>(slots.cardinality());
+
+      if (!load()) {
+        return result;
+      }
+
+      for (int slot = slots.nextSetBit(0); slot >= 0 && slot < records.size(); slot = slots.nextSetBit(slot + 1)) {
+        if (records.get(slot) != null) {
+          result.add(records.get(slot));
+        }
+      }
+
+      result.sort((a, b) -> Integer.compare(a.recordNumber, b.recordNumber));
+      return result;
+    }
+  }
+  /**
+   * @brief Returns the records whose fields are all in their ranges.
+   *
+   * @param min The smallest value of every field by field ordinal, inclusive.
+   * @param max The largest value of every field by field ordinal, inclusive.
+   * @return The records in record order.
+   */
+  ArrayList<RentalManagementLib.PropertyInfo> search(int[] min, int[] max) {
+    long start = Metrics.start();
+
+    try {
+      synchronized (store) {
+        BitSet result = all();
+
+        for (Field field : Field.values()) {
+          if (result.isEmpty()) {
+            break;
+          }
+
+          if (min[field.ordinal()] != Integer.MIN_VALUE || max[field.ordinal()] != Integer.MAX_VALUE) {
+            result.and(range(field, min[field.ordinal()], max[field.ordinal()]));
+          }
+        }
+
+        return records(result);
+      }
+    } finally {
+      Metrics.stop("range_search", start);
+    }
+  }
+  /**
+   * @brief Makes sure the store has loaded its records.
+   *
+   * @return true if the indexes are built.
+   */
+  private boolean load() {
+    if (!store.exists()) {
+      return false;
+    }
+
+    store.records();
+    return records != null;
+  }
+
+  @Override
+  public void reset(ArrayList<RentalManagementLib.PropertyInfo> loaded) {
+    if (loaded == null) {
+      records = null;
+      return;
+    }
+
+    records = new ArrayList<>(loaded.size());
+    slotOf = new IdentityHashMap<>(loaded.size());
+    freeSlots = new BitSet();
+    bitmaps = new ArrayList<>();
+    sorted = new ArrayList<>();
+
+    for (Field field : Field.values()) {
+      bitmaps.add(field.bitmap ? new TreeMap<>() : null);
+      sorted.add(field.bitmap ? null : new TreeMap<>());
+    }
+
+    for (RentalManagementLib.PropertyInfo property : loaded) {
+      insert(property);
+    }
+  }
+
+  @Override
+  public void added(RentalManagementLib.PropertyInfo property) {
+    if (records != null) {
+      insert(property);
+    }
+  }
+
+  @Override
+  public void edited(RentalManagementLib.PropertyInfo oldProperty, RentalManagementLib.PropertyInfo newProperty) {
+    if (records != null) {
+      remove(oldProperty);
+      insert(newProperty);
+    }
+  }
+
+  @Override
+  public void deleted(RentalManagementLib.PropertyInfo property) {
+    if (records != null) {
+      remove(property);
+    }
+  }
+  /**
+   * @brief Gives a record a slot and adds it to every field index.
+   *
+   * @param property The record.
+   */
+  private void insert(RentalManagementLib.PropertyInfo property) {
+    int slot = freeSlots.nextSetBit(0);
+
+    if (slot < 0) {
+      slot = records.size();
+      records.add(property);
+    } else {
+      freeSlots.clear(slot);
+      records.set(slot, property);
+    }
+
+    slotOf.put(property, slot);
+
+    for (Field field : Field.values()) {
+      int value = field.value.applyAsInt(property);
+
+      if (field.bitmap) {
+        bitmaps.get(field.ordinal()).computeIfAbsent(value, k -> new BitSet()).set(slot);
+      } else {
+        sorted.get(field.ordinal()).computeIfAbsent(value, k -> new Slots()).add(slot);
+      }
+    }
+  }
+  /**
+   * @brief Frees the slot of a record and removes it from every field index.
+   *
+   * @param property The record.
+   */
+  private void remove(RentalManagementLib.PropertyInfo property) {
+    Integer slot = slotOf.remove(property);
+
+    if (slot == null) {
+      return;
+    }
+
+    records.set(slot, null);
+    freeSlots.set(slot);
+
+    for (Field field : Field.values()) {
+      int value = field.value.applyAsInt(property);
+
+      if (field.bitmap) {
+        Map<Integer, BitSet> index = bitmaps.get(field.ordinal());
+        BitSet values = index.get(value);
+        values.clear(slot);
+
+        if (values.isEmpty()) {
+          index.remove(value);
+        }
+      } else {
+        Map<Integer, Slots> index = sorted.get(field.ordinal());
+        Slots values = index.get(value);
+        values.remove(slot);
+
+        if (values.count == 0) {
+          index.remove(value);
+        }
+      }
+    }
+  }
+}
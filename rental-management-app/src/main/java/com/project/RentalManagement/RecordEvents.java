@@ -0,0 +1,128 @@
+/**
+
+@file RecordEvents.java
+@brief This file contains the RecordEvents class.
+@details This file defines the JDK Flight Recorder events written while record files are read, parsed, sorted and listed.
+*/
+package com.project.RentalManagement;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+
+@class RecordEvents
+@brief This class represents the Flight Recorder events of the record phases.
+@details A slow operation can be split into reading the record file, parsing it, sorting the records and writing them to
+console by recording with jcmd <pid> JFR.start and looking at the Rental Management category. Every event carries the entity,
+the number of records and the number of bytes handled. The entity of reads and parses is the record file name without its
+extension, the entity of sorts and console output is the record class. The events cost nothing
+more than an allocation the JIT usually removes while no recording is running.
+@author hikmethankolay
+*/
+final class RecordEvents {
+
+  /**
+   * @brief The fields every record phase event has.
+   */
+  @Category("Rental Management")
+  @StackTrace(false)
+  abstract static class RecordEvent extends Event {
+    /** Kind of records, for example property_records or PropertyInfo. */
+    @Label("Entity")
+    String entity;
+
+    /** Number of records handled. */
+    @Label("Records")
+    int records;
+
+    /** Number of bytes handled, 0 when the phase does not handle bytes. */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * @brief Sets the fields and starts timing the event.
+     *
+     * @param entity The kind of records.
+     * @param records The number of records, 0 if it is not known yet.
+     * @param bytes The number of bytes, 0 if it is not known yet.
+     */
+    void start(String entity, int records, long bytes) {
+      this.entity = entity;
+      this.records = records;
+      this.bytes = bytes;
+      begin();
+    }
+  }
+
+  /**
+   * @brief A record file read by file_read.
+   */
+  @Name("com.project.RentalManagement.FileRead")
+  @Label("Record File Read")
+  @Description("Reading a record file into memory")
+  static final class FileRead extends RecordEvent {
+  }
+
+  /**
+   * @brief Records parsed from the content of a record file.
+   */
+  @Name("com.project.RentalManagement.Parse")
+  @Label("Record Parse")
+  @Description("Parsing the lines of a record file into records")
+  static final class Parse extends RecordEvent {
+  }
+
+  /**
+   * @brief Records sorted by QuickSorter.sort or maintenanceHeapSort.
+   */
+  @Name("com.project.RentalManagement.Sort")
+  @Label("Record Sort")
+  @Description("Sorting records in memory")
+  static final class Sort extends RecordEvent {
+    /** Algorithm used. */
+    @Label("Algorithm")
+    String algorithm;
+  }
+
+  /**
+   * @brief Records written to console.
+   */
+  @Name("com.project.RentalManagement.ConsoleOutput")
+  @Label("Record Console Output")
+  @Description("Writing a list of records to console")
+  static final class ConsoleOutput extends RecordEvent {
+  }
+
+  /** Constructor */
+  private RecordEvents() {
+  }
+  /**
+   * @brief Returns the entity of a record file, its name without directories and extension.
+   *
+   * @param fileName The name of the record file.
+   * @return The entity.
+   */
+  static String entity(String fileName) {
+    int start = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1;
+    int end = fileName.lastIndexOf('.');
+    return fileName.substring(start, end > start ? end : fileName.length());
+  }
+  /**
+   * @brief Returns the entity of a list of records, the class name of its records.
+   *
+   * @param records The records.
+   * @return The entity, empty if there are no records.
+   */
+  static String entity(List<?> records) {
+    return records.isEmpty() ? "" : records.get(0).getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,246 @@
+/**
+
+@file RecordLineMap.java
+@brief This file contains the RecordLineMap class.
+@details This file maps record numbers of a text record file to the byte offsets of their lines.
+*/
+package com.project.RentalManagement;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+
+@class RecordLineMap
+@brief This class represents the positions of the records in a text record file.
+@details A record file can hold deleted lines, which keep their place in the file with a tombstone mark ("N-#" instead of "N-)")
+until the file is compacted. Record numbers shown to users only count the lines that are not deleted, so this map keeps the
+byte offset of every such line in order, and the number of deleted lines.
+The file functions of RentalManagementLib keep the last map of every file in a cache, which is used while the size and
+modification time of the file are the ones seen after the last change the cache was told about.
+@author hikmethankolay
+*/
+class RecordLineMap {
+
+  /** Byte offsets of the lines that are not deleted, in file order. */
+  private long[] offsets = new long[16];
+
+  /** Number of lines that are not deleted. */
+  private int liveCount = 0;
+
+  /** Number of deleted lines. */
+  private int deadCount = 0;
+
+  /** Whether the file has '\r' characters. */
+  private boolean carriageReturns = false;
+
+  /** Whether the file has only ASCII characters. */
+  private boolean ascii = true;
+
+  /** File size seen after the map was last updated. */
+  private long mappedLength = -1;
+
+  /** File modification time seen after the map was last updated. */
+  private long mappedModified = -1;
+
+  /** Maps of the record files by file name. */
+  private static final ConcurrentHashMap<String, RecordLineMap> cache = new ConcurrentHashMap<>();
+
+  /**
+   * @brief Reads a record file once and maps its lines.
+   *
+   * @param fileName The name of the record file.
+   * @return The map of the file.
+   * @throws IOException
+   */
+  static RecordLineMap scan(String fileName) throws IOException {
+    RecordLineMap map = new RecordLineMap();
+
+    try (FileInputStream fileInputStream = new FileInputStream(fileName)) {
+      FileChannel channel = fileInputStream.getChannel();
+      ByteBuffer buffer = ByteBuffer.allocate(RentalManagementLib.READ_BLOCK_SIZE);
+      byte[] bytes = buffer.array();
+      long position = 0;
+      long lineStart = 0;
+      // 0: at line start, 1: reading the line number, 2: read "N-", 3: rest of the line
+      int state = 0;
+      boolean deleted = false;
+      int read;
+
+      while ((read = channel.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++, position++) {
+          byte b = bytes[i];
+
+          if (b == '\r') {
+            map.carriageReturns = true;
+          } else if (b < 0) {
+            map.ascii = false;
+          }
+
+          if (b == '\n') {
+            map.addLine(lineStart, deleted);
+            lineStart = position + 1;
+            state = 0;
+            deleted = false;
+          } else if (state == 0 || state == 1) {
+            state = b >= '0' && b <= '9' ? 1 : (state == 1 && b == '-' ? 2 : 3);
+          } else if (state == 2) {
+            deleted = b == RentalManagementLib.TOMBSTONE_MARK;
+            state = 3;
+          }
+        }
+
+        buffer.clear();
+      }
+
+      if (position > lineStart) {
+        map.addLine(lineStart, deleted);
+      }
+    }
+
+    return map;
+  }
+  /**
+   * @brief Returns the cached map of a record file, reading the file only if there is no map or the file was changed.
+   * Called under the file lock.
+   *
+   * @param fileName The name of the record file.
+   * @return The map of the file.
+   * @throws IOException
+   */
+  static RecordLineMap cached(String fileName) throws IOException {
+    RecordLineMap map = current(fileName);
+
+    if (map == null) {
+      map = scan(fileName);
+      map.remember(fileName);
+      cache.put(fileName, map);
+    }
+
+    return map;
+  }
+  /**
+   * @brief Returns the cached map of a record file if it still matches the file.
+   *
+   * @param fileName The name of the record file.
+   * @return The map of the file, or null if it has to be read again.
+   */
+  static RecordLineMap current(String fileName) {
+    RecordLineMap map = cache.get(fileName);
+    File file = new File(fileName);
+    return map != null && file.length() == map.mappedLength && file.lastModified() == map.mappedModified ? map : null;
+  }
+  /**
+   * @brief Tells the cache that a record file was written. Called under the file lock.
+   *
+   * @param fileName The name of the record file.
+   * @param map The map updated for the change, which stays cached if it is the cached map, or null to drop the cached map.
+   */
+  static void changed(String fileName, RecordLineMap map) {
+    if (map != null && cache.get(fileName) == map) {
+      map.remember(fileName);
+    } else {
+      cache.remove(fileName);
+    }
+  }
+  /**
+   * @brief Remembers the size and modification time of the file after the map was updated.
+   *
+   * @param fileName The name of the record file.
+   */
+  private void remember(String fileName) {
+    File file = new File(fileName);
+    mappedLength = file.length();
+    mappedModified = file.lastModified();
+  }
+  /**
+   * @brief Counts a scanned line.
+   *
+   * @param offset The byte offset of the line.
+   * @param deleted Whether the line has a tombstone mark.
+   */
+  private void addLine(long offset, boolean deleted) {
+    if (deleted) {
+      deadCount++;
+    } else {
+      addOffset(offset);
+    }
+  }
+  /**
+   * @brief Adds a line after the last record, used after an append.
+   *
+   * @param offset The byte offset of the new line.
+   * @param text The record text of the new line.
+   */
+  void add(long offset, String text) {
+    addOffset(offset);
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      carriageReturns |= c == '\r';
+      ascii &= c < 0x80;
+    }
+  }
+  /**
+   * @brief Adds the byte offset of a line that is not deleted.
+   *
+   * @param offset The byte offset of the line.
+   */
+  private void addOffset(long offset) {
+    if (liveCount == offsets.length) {
+      offsets = Arrays.copyOf(offsets, offsets.length * 2);
+    }
+
+    offsets[liveCount++] = offset;
+  }
+  /**
+   * @brief Marks a record as deleted, the records after it move up by one record number.
+   *
+   * @param recordNumber The record number of the deleted line.
+   */
+  void remove(int recordNumber) {
+    System.arraycopy(offsets, recordNumber, offsets, recordNumber - 1, liveCount - recordNumber);
+    liveCount--;
+    deadCount++;
+  }
+  /**
+   * @brief Returns the byte offset of a record's line.
+   *
+   * @param recordNumber The record number.
+   * @return The byte offset.
+   */
+  long offset(int recordNumber) {
+    return offsets[recordNumber - 1];
+  }
+  /**
+   * @brief Returns the number of records that are not deleted.
+   *
+   * @return The record count.
+   */
+  int liveCount() {
+    return liveCount;
+  }
+  /**
+   * @brief Returns the number of deleted lines still in the file.
+   *
+   * @return The deleted line count.
+   */
+  int deadCount() {
+    return deadCount;
+  }
+  /**
+   * @brief Checks whether the file is what file_read prints: it has no deleted lines and no '\r' characters, and it is ASCII
+   * unless the console writes UTF-8.
+   *
+   * @param utf8Console Whether the console writes UTF-8.
+   * @return true if the file can be copied to console as it is.
+   */
+  boolean isPlain(boolean utf8Console) {
+    return deadCount == 0 && !carriageReturns && (ascii || utf8Console);
+  }
+}
@@ -0,0 +1,165 @@
+/**
+
+@file RecordLineParser.java
+@brief This file contains the RecordLineParser class.
+@details This file reads the fields of a "N-)Name:value / Name:value" record line in one pass.
+*/
+package com.project.RentalManagement;
+
+/**
+
+@class RecordLineParser
+@brief This class represents a cursor over one record line.
+@details The line number is read first, then every call reads the value of the next field, which is the text after the field's ':'
+up to the next " / " or the end of the line, without surrounding whitespace. Numbers are parsed from the characters of the line,
+so only text fields create a substring. Callers read the fields in record order, for example as constructor arguments, which
+Java evaluates from left to right.
+@author hikmethankolay
+*/
+final class RecordLineParser {
+
+  /** Separator between the fields of a record. */
+  private static final String FIELD_SEPARATOR = " / ";
+
+  /** Line being parsed. */
+  private final String line;
+
+  /** Index of the next character to read. */
+  private int position = 0;
+
+  /** Constructor */
+  RecordLineParser(String line) {
+    this.line = line;
+  }
+  /**
+   * @brief Reads the line number before the "-)" of the line.
+   *
+   * @return The line number.
+   * @throws NumberFormatException if the line does not start with a number and '-'.
+   */
+  int recordNumber() {
+    int end = line.indexOf('-', position);
+
+    if (end < 0) {
+      throw new NumberFormatException("Record line has no line number: " + line);
+    }
+
+    int recordNumber = parseInt(position, end);
+    position = end + 1;
+    return recordNumber;
+  }
+  /**
+   * @brief Reads the next field as a number.
+   *
+   * @return The field value.
+   * @throws NumberFormatException if the value is not a number.
+   */
+  int nextInt() {
+    int start = valueStart();
+    int end = valueEnd(start);
+    return parseInt(start, end);
+  }
+  /**
+   * @brief Reads the next field as text.
+   *
+   * @return The field value without surrounding whitespace.
+   */
+  String nextText() {
+    int start = valueStart();
+    int end = valueEnd(start);
+
+    while (start < end && line.charAt(start) <= ' ') {
+      start++;
+    }
+
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+
+    return line.substring(start, end);
+  }
+  /**
+   * @brief Moves past the name of the next field.
+   *
+   * @return The index after the field's ':'.
+   * @throws IllegalArgumentException if there is no next field.
+   */
+  private int valueStart() {
+    int colon = line.indexOf(':', position);
+
+    if (colon < 0) {
+      throw new IllegalArgumentException("Record line has fewer fields than expected: " + line);
+    }
+
+    return colon + 1;
+  }
+  /**
+   * @brief Finds the end of the field value that starts at the given index and moves to the next field.
+   *
+   * @param start The index of the first character of the value.
+   * @return The index after the last character of the value.
+   */
+  private int valueEnd(int start) {
+    int end = line.indexOf(FIELD_SEPARATOR, start);
+
+    if (end < 0) {
+      end = line.length();
+      position = end;
+    } else {
+      position = end + FIELD_SEPARATOR.length();
+    }
+
+    return end;
+  }
+  /**
+   * @brief Parses a decimal number between two indexes of the line, surrounding whitespace is skipped.
+   *
+   * @param start The index of the first character.
+   * @param end The index after the last character.
+   * @return The number.
+   * @throws NumberFormatException if the characters are not a number that fits in an int.
+   */
+  private int parseInt(int start, int end) {
+    while (start < end && line.charAt(start) <= ' ') {
+      start++;
+    }
+
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+
+    boolean negative = start < end && line.charAt(start) == '-';
+
+    if (negative || (start < end && line.charAt(start) == '+')) {
+      start++;
+    }
+
+    if (start == end) {
+      throw new NumberFormatException("Expected a number in record line: " + line);
+    }
+
+    long value = 0;
+
+    for (int i = start; i < end; i++) {
+      char c = line.charAt(i);
+
+      if (c < '0' || c > '9') {
+        throw new NumberFormatException("Expected a number in record line: " + line);
+      }
+
+      value = value * 10 + (c - '0');
+
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw new NumberFormatException("Number is too large in record line: " + line);
+      }
+    }
+
+    value = negative ? -value : value;
+
+    if (value > Integer.MAX_VALUE) {
+      throw new NumberFormatException("Number is too large in record line: " + line);
+    }
+
+    return (int) value;
+  }
+}
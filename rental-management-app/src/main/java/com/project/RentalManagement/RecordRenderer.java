@@ -0,0 +1,229 @@
+/**
+
+@file RecordRenderer.java
+@brief This file contains the RecordRenderer class.
+@details This file writes lists of records to console in bulk, whole or one page at a time.
+*/
+package com.project.RentalManagement;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Consumer;
+
+/**
+
+@class RecordRenderer
+@brief This class represents the writer of record listings to console.
+@details Records are formatted into one large buffer that every renderer of a thread reuses, and the buffer is written to
+console with one print call whenever it holds RenderVariables.bufferSize characters, instead of one printf call per record.
+Because the buffer is shared, a thread has only one renderer writing at a time, and anything else written to console in the
+middle of a listing has to wait for finish. A listing is written whole, or, when RenderVariables.pageSize is set and the user
+can be asked, one page at a time with next and previous page commands, formatting only the page shown. Records that arrive one
+at a time, like the merged output of an external sort, are paged forward only: the user is asked before every further page
+and the records after a q are dropped.
+@author hikmethankolay
+*/
+final class RecordRenderer<T> implements Consumer<T> {
+
+  /**
+   * @brief Formats one record, in the "\nN-)text" layout of the listings.
+   */
+  interface Formatter<T> {
+    /**
+     * @brief Appends a record to a buffer.
+     *
+     * @param out The buffer.
+     * @param record The record.
+     */
+    void format(StringBuilder out, T record);
+  }
+
+  /** Buffer of every thread, reused by its renderers. */
+  private static final ThreadLocal<StringBuilder> buffers =
+    ThreadLocal.withInitial(() -> new StringBuilder(RentalManagementLib.RenderVariables.bufferSize + 256));
+
+  /** Formats the records. */
+  private final Formatter<T> formatter;
+
+  /** Buffer of the thread. */
+  private final StringBuilder buffer = buffers.get();
+
+  /** Flight Recorder event of the listing. */
+  private final RecordEvents.ConsoleOutput event = new RecordEvents.ConsoleOutput();
+
+  /** Characters written to console so far. */
+  private long written = 0;
+
+  /** Scanner to ask for the next page, null to write every record. */
+  private final Scanner scanner;
+
+  /** Number of records on a page, 0 to write every record. */
+  private final int pageSize;
+
+  /** Number of the page being written. */
+  private int page = 1;
+
+  /** Number of records written on the page. */
+  private int onPage = 0;
+
+  /** Whether the user returned before the last record. */
+  private boolean stopped = false;
+
+  /** Constructor */
+  RecordRenderer(Formatter<T> formatter) {
+    this(formatter, null);
+  }
+
+  /** Constructor */
+  RecordRenderer(Formatter<T> formatter, Scanner scanner) {
+    this.formatter = formatter;
+    this.scanner = scanner;
+    this.pageSize = scanner == null ? 0 : Math.max(0, RentalManagementLib.RenderVariables.pageSize);
+    buffer.setLength(0);
+    event.start("", 0, 0);
+  }
+  /**
+   * @brief Formats a record into the buffer and writes the buffer once it is full.
+   *
+   * @param record The record.
+   */
+  @Override
+  public void accept(T record) {
+    if (stopped || (onPage == pageSize && pageSize > 0 && !nextPage())) {
+      stopped = true;
+      return;
+    }
+
+    if (event.records++ == 0) {
+      event.entity = record.getClass().getSimpleName();
+    }
+
+    formatter.format(buffer, record);
+    onPage++;
+
+    if (buffer.length() >= RentalManagementLib.RenderVariables.bufferSize) {
+      flush();
+    }
+  }
+  /**
+   * @brief Writes what is left in the buffer and ends the listing.
+   */
+  void finish() {
+    flush();
+
+    if (pageSize > 0 && !stopped && onPage > 0) {
+      System.out.printf("\nPage %d", page);
+    }
+
+    event.bytes = written;
+    event.commit();
+  }
+  /**
+   * @brief Ends a full page and asks the user for the next one, there are no previous pages to go back to.
+   *
+   * @return true if the next page is wanted, false if the user entered q.
+   */
+  private boolean nextPage() {
+    flush();
+    System.out.printf("\nPage %d", page);
+
+    while (true) {
+      System.out.print("\nPlease enter n for the next page or q to return:");
+      String choice = scanner.next();
+
+      if (choice.equalsIgnoreCase("q")) {
+        return false;
+      } else if (choice.equalsIgnoreCase("n")) {
+        page++;
+        onPage = 0;
+        return true;
+      } else {
+        System.out.print("\nPlease input a correct choice.");
+      }
+    }
+  }
+  /**
+   * @brief Writes the buffer to console and empties it.
+   */
+  private void flush() {
+    if (buffer.length() > 0) {
+      System.out.print(buffer);
+      written += buffer.length();
+      buffer.setLength(0);
+    }
+  }
+  /**
+   * @brief Writes records to console.
+   *
+   * @param records The records.
+   * @param formatter Formats one record.
+   */
+  static <T> void render(List<T> records, Formatter<T> formatter) {
+    RecordRenderer<T> renderer = new RecordRenderer<>(formatter);
+
+    for (T record : records) {
+      renderer.accept(record);
+    }
+
+    renderer.finish();
+  }
+  /**
+   * @brief Writes records to console, one page at a time if RenderVariables.pageSize is set and a scanner is given.
+   *
+   * @param scanner The scanner to ask for the next page, or null to write every record.
+   * @param records The records.
+   * @param formatter Formats one record.
+   */
+  static <T> void list(Scanner scanner, List<T> records, Formatter<T> formatter) {
+    int pageSize = RentalManagementLib.RenderVariables.pageSize;
+
+    if (scanner == null || pageSize <= 0) {
+      render(records, formatter);
+    } else {
+      paginate(scanner, records, formatter, pageSize);
+    }
+  }
+  /**
+   * @brief Writes records to console one page at a time. After every page the user enters n for the next page, p for the
+   * previous page or q to return.
+   *
+   * @param scanner The scanner.
+   * @param records The records.
+   * @param formatter Formats one record.
+   * @param pageSize The number of records on a page.
+   */
+  static <T> void paginate(Scanner scanner, List<T> records, Formatter<T> formatter, int pageSize) {
+    int pages = (records.size() + pageSize - 1) / pageSize;
+    int page = 0;
+    boolean show = true;
+
+    while (pages > 0) {
+      if (show) {
+        render(records.subList(page * pageSize, Math.min(records.size(), (page + 1) * pageSize)), formatter);
+        System.out.printf("\nPage %d of %d", page + 1, pages);
+      }
+
+      if (pages == 1) {
+        return;
+      }
+
+      System.out.print("\nPlease enter n for the next page, p for the previous page or q to return:");
+      String choice = scanner.next();
+      show = false;
+
+      if (choice.equalsIgnoreCase("q")) {
+        return;
+      } else if (choice.equalsIgnoreCase("n") && page + 1 < pages) {
+        page++;
+        show = true;
+      } else if (choice.equalsIgnoreCase("p") && page > 0) {
+        page--;
+        show = true;
+      } else if (choice.equalsIgnoreCase("n") || choice.equalsIgnoreCase("p")) {
+        System.out.print("\nThere is no such page.");
+      } else {
+        System.out.print("\nPlease input a correct choice.");
+      }
+    }
+  }
+}
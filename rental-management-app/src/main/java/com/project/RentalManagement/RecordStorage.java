@@ -0,0 +1,87 @@
+/**
+
+@file RecordStorage.java
+@brief This file contains the RecordStorage interface.
+@details This file defines the operations a record store needs from the file format that keeps its records on disk.
+*/
+package com.project.RentalManagement;
+
+import java.io.File;
+
+/**
+
+@interface RecordStorage
+@brief This interface represents a file format that keeps the records of one entity on disk.
+@details Records are passed around as the text the menus build, for example "PropertyID:1 / PropertyAge:3 / ...", and read back
+in the "N-)text" line layout of the record files. Record numbers start at 1. Every write method returns 0 on success and -1 on failure.
+@author hikmethankolay
+*/
+interface RecordStorage {
+
+  /**
+   * @brief Reads every record in the "N-)text" line layout and writes them to console unless sorting.
+   *
+   * @param isSorting A variable to disable writing content to console during sorting.
+   * @return The records one per line, or "-1" on failure.
+   */
+  String read(char isSorting);
+
+  /**
+   * @brief Writes every record to console in the "N-)text" line layout.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  default int show() {
+    return read('N').equals("-1") ? -1 : 0;
+  }
+
+  /**
+   * @brief Adds a record after the last record.
+   *
+   * @param text The record text without the line number.
+   * @return 0 on success, -1 on failure.
+   */
+  int append(String text);
+
+  /**
+   * @brief Replaces a record.
+   *
+   * @param recordNumber The record number to edit.
+   * @param text The new record text without the line number.
+   * @return 0 on success, -1 on failure.
+   */
+  int edit(int recordNumber, String text);
+
+  /**
+   * @brief Deletes a record, the records after it move up by one record number.
+   *
+   * @param recordNumber The record number to delete.
+   * @return 0 on success, -1 on failure.
+   */
+  int delete(int recordNumber);
+
+  /**
+   * @brief Writes changes that are only kept in memory or in a log to the data file.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  default int flush() {
+    return 0;
+  }
+
+  /**
+   * @brief Returns the file whose size and modification time tell whether the records were changed on disk.
+   *
+   * @return The data file.
+   */
+  File getDataFile();
+
+  /**
+   * @brief Checks whether there are records to read.
+   *
+   * @return true if the data file exists.
+   */
+  default boolean exists() {
+    return getDataFile().exists();
+  }
+}
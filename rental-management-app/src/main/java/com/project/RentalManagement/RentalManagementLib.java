@@ -13,9 +13,28 @@
 package com.project.RentalManagement;
 import java.util.Random;
 import java.util.Collections;
+import java.util.Comparator;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 
 
@@ -26,6 +45,24 @@ import java.util.Scanner;
 @author hikmethankolay
 */
 public class RentalManagementLib {
+  /** Number of bytes file_read asks the file channel for at a time. */
+  static final int READ_BLOCK_SIZE = 1 << 20;
+
+  /** Replaces the ')' of a line's "N-)" prefix when the line is deleted, so "N-#" lines are skipped by the readers. */
+  static final byte TOMBSTONE_MARK = '#';
+
+  /** Channel to the standard output used by file_stream, opened on first use. */
+  private static FileChannel standardOutput = null;
+
+  /** Lock objects of the record files, so a background compaction never runs in the middle of another file operation. */
+  private static final ConcurrentHashMap<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
+  /** Record files that already wait for a background compaction. */
+  private static final Set<String> PENDING_COMPACTIONS = ConcurrentHashMap.newKeySet();
+
+  /** Thread that compacts record files when StorageVariables.backgroundCompaction is set, created on first use. */
+  private static ExecutorService compactionExecutor = null;
+
 
   /**
   * @brief Represents the variables for the main menu, including the app's logged-in state and navigation options.
@@ -73,6 +110,153 @@ public class RentalManagementLib {
 
     /** Variable for submenu navigation: return. */
     static int subMenuReturn = 7;
+
+    /** Variable for submenu navigation: overview of a property or tenant with its related records. */
+    static int subMenuOverview = 8;
+
+    /** Variable for submenu navigation: search with ranges on several fields. */
+    static int subMenuMultiSearch = 9;
+
+    /** Variable for submenu navigation: search properties by a piece of their address. */
+    static int subMenuAddressSearch = 10;
+
+    /** Variable for submenu navigation: search tenants by a piece of their name or surname. */
+    static int subMenuNameSearch = 9;
+
+    /** Variable for submenu navigation: search maintenances by a piece of their maintenance type. */
+    static int subMenuTypeSearch = 8;
+
+    /** Variable for submenu navigation: search properties by address allowing typos. */
+    static int subMenuFuzzyAddressSearch = 11;
+
+    /** Variable for submenu navigation: search tenants by name or surname allowing typos. */
+    static int subMenuFuzzyNameSearch = 10;
+
+    /** Variable for submenu navigation: complete the most urgent maintenance. */
+    static int subMenuCompleteNext = 9;
+
+    /** Variable for submenu navigation: show the most urgent maintenances. */
+    static int subMenuTopMaintenances = 10;
+
+    /** Variable for submenu navigation: sort properties by any fields. */
+    static int subMenuPropertyFieldSort = 12;
+
+    /** Variable for submenu navigation: sort tenants by any fields. */
+    static int subMenuTenantFieldSort = 11;
+
+    /** Variable for submenu navigation: sort rents by any fields. */
+    static int subMenuRentFieldSort = 8;
+
+    /** Variable for submenu navigation: sort maintenances by any fields. */
+    static int subMenuMaintenanceFieldSort = 11;
+  }
+  /**
+   * @brief Represents the variables that choose how the record files are kept on disk.
+   */
+  static class StorageVariables {
+    /** Keeps records in fixed-width binary .dat files instead of the text .bin files, set with -Drental.binaryFormat=true. */
+    static boolean binaryFormat = Boolean.getBoolean("rental.binaryFormat");
+
+    /** Share of deleted lines in a text record file above which the file is compacted, set with -Drental.compactionThreshold=0.25. */
+    static double compactionThreshold = Double.parseDouble(System.getProperty("rental.compactionThreshold", "0.25"));
+
+    /** Compacts text record files on a background thread instead of during the delete, set with -Drental.backgroundCompaction=true. */
+    static boolean backgroundCompaction = Boolean.getBoolean("rental.backgroundCompaction");
+
+    /** Logs record changes to "<file>.wal" and writes the text record files as snapshots, set with -Drental.writeAheadLog=true. */
+    static boolean writeAheadLog = Boolean.getBoolean("rental.writeAheadLog");
+
+    /** Number of logged changes after which a snapshot is written, set with -Drental.snapshotOperations=1000. */
+    static int snapshotOperations = Integer.getInteger("rental.snapshotOperations", 1000);
+
+    /** Seconds after which the next logged change also writes a snapshot, set with -Drental.snapshotSeconds=60. */
+    static int snapshotSeconds = Integer.getInteger("rental.snapshotSeconds", 60);
+
+    /** Forces every log entry to the disk before the change is applied, set with -Drental.syncLog=true. */
+    static boolean syncLog = Boolean.getBoolean("rental.syncLog");
+  }
+  /**
+   * @brief Represents the variables that choose how records are sorted.
+   */
+  static class SortVariables {
+    /**
+     * @brief The algorithms QuickSorter.sort can use.
+     */
+    enum Algorithm {
+      /** Parallel QuickSort from parallelSortSize records on more than one thread, radix sort from radixSortSize records, QuickSort below it. */
+      AUTO,
+      /** Introsort: median-of-three Hoare QuickSort with insertion sort and heap sort fallbacks. */
+      QUICK,
+      /** QuickSort on a ForkJoinPool with parallelism threads. */
+      PARALLEL,
+      /** LSD radix sort on the identifiers. */
+      RADIX;
+
+      /**
+       * @brief Returns the algorithm with a name in any case, or AUTO if no algorithm has the name.
+       *
+       * @param name The name of the algorithm.
+       * @return The algorithm.
+       */
+      static Algorithm parse(String name) {
+        for (Algorithm algorithm : values()) {
+          if (algorithm.name().equalsIgnoreCase(name.trim())) {
+            return algorithm;
+          }
+        }
+
+        System.err.print("\nUnknown sort algorithm " + name + ", using auto.");
+        return AUTO;
+      }
+    }
+
+    /** Algorithm the sort menus use, set with -Drental.sortAlgorithm=auto, quick, parallel or radix. */
+    static Algorithm algorithm = Algorithm.parse(System.getProperty("rental.sortAlgorithm", "auto"));
+
+    /** Number of records from which the automatic choice is the radix sort, set with -Drental.radixSortSize=2048. */
+    static int radixSortSize = Integer.getInteger("rental.radixSortSize", 2048);
+
+    /** Number of records from which the automatic choice is the parallel sort, set with -Drental.parallelSortSize=100000. */
+    static int parallelSortSize = Integer.getInteger("rental.parallelSortSize", 100000);
+
+    /** Number of threads a parallel sort uses, set with -Drental.sortParallelism=8, defaults to the number of processors. */
+    static int parallelism = Integer.getInteger("rental.sortParallelism", Runtime.getRuntime().availableProcessors());
+
+    /** Size of a partition below which a parallel sort sorts it on one thread, set with -Drental.parallelThreshold=8192. */
+    static int parallelThreshold = Integer.getInteger("rental.parallelThreshold", 8192);
+
+    /** Number of records an external sort keeps in memory, set with -Drental.externalRunSize=100000, 0 sorts the whole file in memory. */
+    static int externalRunSize = Integer.getInteger("rental.externalRunSize", 0);
+  }
+  /**
+   * @brief Represents the variables that choose how record listings are written to console.
+   */
+  static class RenderVariables {
+    /** Number of characters formatted before they are written to console, set with -Drental.renderBufferSize=65536. */
+    static int bufferSize = Integer.getInteger("rental.renderBufferSize", 65536);
+
+    /** Number of records the Show and Sort listings show per page, set with -Drental.pageSize=50, 0 shows all records at once. */
+    static int pageSize = Integer.getInteger("rental.pageSize", 0);
+
+    /**
+     * Whether Show hands record files that their cached RecordLineMap shows are plain to the kernel with FileChannel.transferTo
+     * straight to the standard output, set with -Drental.zeroCopyShow=true. Only for runs whose System.out is the standard output,
+     * the transfer does not go through it.
+     */
+    static boolean zeroCopyShow = Boolean.getBoolean("rental.zeroCopyShow");
+  }
+  /**
+   * @brief Represents the variables that turn on the operation metrics.
+   * @details With metrics enabled, Metrics counts and times the record file functions, parsing, sorting, searching and every
+   * submenu action. Submenu action times include the time the user takes to type the record. The numbers are shown through JMX
+   * under com.project.RentalManagement and, every summarySeconds, as one line in logs/application.log.
+   */
+  static class MetricsVariables {
+    /** Whether operations are measured, set with -Drental.metrics=true. */
+    static boolean enabled = Boolean.getBoolean("rental.metrics");
+
+    /** Seconds between two summary lines in the log, set with -Drental.metricsSummarySeconds=60, 0 logs none. */
+    static int summarySeconds = Integer.getInteger("rental.metricsSummarySeconds", 60);
   }
   /**
    * @brief an interface for quick sort that helps sort diffrent type of records with one function.
@@ -80,10 +264,18 @@ public class RentalManagementLib {
   public interface Identifiable {
     int getId();
   }
+  /**
+   * @brief an interface for records that know their line number, so the record store can renumber them after a delete.
+   */
+  public interface Numbered {
+    int getRecordNumber();
+
+    void setRecordNumber(int recordNumber);
+  }
   /**
    * @brief Represents tenant information including ID, property ID, rent, birth date, name, and surname.
    */
-  public class TenantInfo implements Identifiable {
+  public static class TenantInfo implements Identifiable, Numbered {
     /** Record's line number. */
     int recordNumber;
 
@@ -120,13 +312,23 @@ public class RentalManagementLib {
     public int getId() {
       return tenantID;
     }
+    /** inherited from Numbered. */
+    @Override
+    public int getRecordNumber() {
+      return recordNumber;
+    }
+    /** inherited from Numbered. */
+    @Override
+    public void setRecordNumber(int recordNumber) {
+      this.recordNumber = recordNumber;
+    }
 
 
   }
   /**
    * @brief Represents property information including ID, age, bedroom count, living room count, floor count, size, and address.
    */
-  public class PropertyInfo implements Identifiable {
+  public static class PropertyInfo implements Identifiable, Numbered {
     /** Record's line number. */
     int recordNumber;
 
@@ -167,12 +369,22 @@ public class RentalManagementLib {
     public int getId() {
       return propertyID;
     }
+    /** inherited from Numbered. */
+    @Override
+    public int getRecordNumber() {
+      return recordNumber;
+    }
+    /** inherited from Numbered. */
+    @Override
+    public void setRecordNumber(int recordNumber) {
+      this.recordNumber = recordNumber;
+    }
 
   }
   /**
    * @brief Represents rent information including record number, tenant ID, current rent debt, and due date.
    */
-  public class RentInfo implements Identifiable {
+  public static class RentInfo implements Identifiable, Numbered {
     /** Record's line number. */
     int recordNumber;
 
@@ -197,12 +409,22 @@ public class RentalManagementLib {
     public int getId() {
       return tenantID;
     }
+    /** inherited from Numbered. */
+    @Override
+    public int getRecordNumber() {
+      return recordNumber;
+    }
+    /** inherited from Numbered. */
+    @Override
+    public void setRecordNumber(int recordNumber) {
+      this.recordNumber = recordNumber;
+    }
   }
 
   /**
    * @brief Represents maintenance information including record number, property ID, cost, priority level, maintenance type, and expected finishing date.
    */
-  public class MaintenanceInfo implements Identifiable {
+  public static class MaintenanceInfo implements Identifiable, Numbered {
     /** Record's line number. */
     int recordNumber;
 
@@ -236,10 +458,23 @@ public class RentalManagementLib {
     public int getId() {
       return priority;
     }
+    /** inherited from Numbered. */
+    @Override
+    public int getRecordNumber() {
+      return recordNumber;
+    }
+    /** inherited from Numbered. */
+    @Override
+    public void setRecordNumber(int recordNumber) {
+      this.recordNumber = recordNumber;
+    }
   }
 
   static class QuickSorter<T extends Identifiable> {
 
+    /** Size of the ranges quickSort leaves to the insertion sort. */
+    static final int INSERTION_SORT_SIZE = 16;
+
     private Random random = new Random();
     /**
      * @brief Performs the Hoare partition on a segment of the array.
@@ -286,171 +521,1398 @@ public class RentalManagementLib {
       arr.set(low, temp);
       return hoarePartition(arr, low, high);
     }
-    /**
-     * @brief Sorts an array of objects implementing the Identifiable interface using the QuickSort algorithm.
-     *
-     * @param arr The array to be sorted.
-     * @param low The starting index of the array segment to be sorted.
-     * @param high The ending index of the array segment to be sorted.
-     * @return 0 no matter what.
-     */
-    public void quickSort(ArrayList<T> arr, int low, int high) {
-      if (low < high) {
-        int pi = randomizedPartition(arr, low, high);
-        quickSort(arr, low, pi);
-        quickSort(arr, pi + 1, high);
+    /**
+     * @brief Sorts an array of objects implementing the Identifiable interface using introsort.
+     * It is a QuickSort with median-of-three Hoare partitions that keeps the ranges still to be sorted on its own stack.
+     * The smaller side of every partition is sorted first, so the stack holds at most log n ranges. Ranges shorter than
+     * INSERTION_SORT_SIZE are finished with an insertion sort, and a range that is still being split after 2 log n partitions
+     * is heap sorted, so the sort takes O(n log n) time even on input that defeats the pivot choice.
+     *
+     * @param arr The array to be sorted.
+     * @param low The starting index of the array segment to be sorted.
+     * @param high The ending index of the array segment to be sorted.
+     */
+    public void quickSort(ArrayList<T> arr, int low, int high) {
+      if (low >= high) {
+        return;
+      }
+
+      int depth = 2 * (32 - Integer.numberOfLeadingZeros(high - low + 1));
+      int[] lows = new int[64];
+      int[] highs = new int[64];
+      int[] depths = new int[64];
+      int top = 0;
+
+      while (true) {
+        if (high - low < INSERTION_SORT_SIZE) {
+          insertionSort(arr, low, high);
+        } else if (depth == 0) {
+          heapSort(arr, low, high);
+        } else {
+          depth--;
+          int pi = medianOfThreePartition(arr, low, high);
+
+          // Keep the larger side for later and go on with the smaller one
+          if (pi - low < high - pi) {
+            lows[top] = pi + 1;
+            highs[top] = high;
+            high = pi;
+          } else {
+            lows[top] = low;
+            highs[top] = pi;
+            low = pi + 1;
+          }
+
+          depths[top++] = depth;
+          continue;
+        }
+
+        if (top == 0) {
+          return;
+        }
+
+        top--;
+        low = lows[top];
+        high = highs[top];
+        depth = depths[top];
+      }
+    }
+    /**
+     * @brief Moves the median of the first, middle and last elements to the start of a segment and partitions around it.
+     *
+     * @param arr The array to be partitioned.
+     * @param low The starting index of the segment, at least INSERTION_SORT_SIZE elements before high.
+     * @param high The ending index of the segment.
+     * @return The partition index, as hoarePartition returns it.
+     */
+    int medianOfThreePartition(ArrayList<T> arr, int low, int high) {
+      int mid = (low + high) >>> 1;
+
+      if (arr.get(mid).getId() < arr.get(low).getId()) {
+        Collections.swap(arr, mid, low);
+      }
+
+      if (arr.get(high).getId() < arr.get(low).getId()) {
+        Collections.swap(arr, high, low);
+      }
+
+      if (arr.get(high).getId() < arr.get(mid).getId()) {
+        Collections.swap(arr, high, mid);
+      }
+
+      Collections.swap(arr, low, mid);
+      return hoarePartition(arr, low, high);
+    }
+    /**
+     * @brief Sorts a short segment of an array with an insertion sort.
+     *
+     * @param arr The array to be sorted.
+     * @param low The starting index of the segment.
+     * @param high The ending index of the segment.
+     */
+    void insertionSort(ArrayList<T> arr, int low, int high) {
+      for (int i = low + 1; i <= high; i++) {
+        T element = arr.get(i);
+        int id = element.getId();
+        int j = i - 1;
+
+        while (j >= low && arr.get(j).getId() > id) {
+          arr.set(j + 1, arr.get(j));
+          j--;
+        }
+
+        arr.set(j + 1, element);
+      }
+    }
+    /**
+     * @brief Sorts a segment of an array with a heap sort, the same way maintenanceHeapSort sorts a whole list but without recursion.
+     *
+     * @param arr The array to be sorted.
+     * @param low The starting index of the segment.
+     * @param high The ending index of the segment.
+     */
+    void heapSort(ArrayList<T> arr, int low, int high) {
+      int n = high - low + 1;
+
+      // Build heap (rearrange array)
+      for (int i = n / 2 - 1; i >= 0; i--) {
+        siftDown(arr, low, n, i);
+      }
+
+      // One by one extract an element from heap
+      for (int i = n - 1; i > 0; i--) {
+        Collections.swap(arr, low, low + i);
+        siftDown(arr, low, i, 0);
+      }
+    }
+    /**
+     * @brief Moves an element of a heap stored in a segment of an array down until its children are not larger.
+     *
+     * @param arr The array holding the heap.
+     * @param offset The index where the heap starts.
+     * @param n The number of elements in the heap.
+     * @param i The heap index of the element.
+     */
+    private void siftDown(ArrayList<T> arr, int offset, int n, int i) {
+      while (true) {
+        int largest = i;
+        int left = 2 * i + 1;
+        int right = 2 * i + 2;
+
+        if (left < n && arr.get(offset + left).getId() > arr.get(offset + largest).getId()) {
+          largest = left;
+        }
+
+        if (right < n && arr.get(offset + right).getId() > arr.get(offset + largest).getId()) {
+          largest = right;
+        }
+
+        if (largest == i) {
+          return;
+        }
+
+        Collections.swap(arr, offset + i, offset + largest);
+        i = largest;
+      }
+    }
+    /**
+     * @brief Performs a recursive binary search on an array of objects implementing the Identifiable interface.
+     * The array is assumed to be sorted by the identifier.
+     *
+     * @param arr An array of objects implementing the Identifiable interface, sorted by identifier.
+     * @param l The left index of the subarray to be searched (initially 0).
+     * @param r The right index of the subarray to be searched (initially n-1, where n is the number of elements).
+     * @param idToFind The identifier value to search for.
+     * @return The index of the element with the given identifier, or -1 if not found.
+     */
+    public int recursiveBinarySearch(ArrayList<T> arr, int l, int r, int idToFind) {
+      if (r >= l) {
+        int mid = l + (r - l) / 2;
+
+        if (arr.get(mid).getId() == idToFind)
+          return mid;
+
+        if (arr.get(mid).getId() > idToFind)
+          return recursiveBinarySearch(arr, l, mid - 1, idToFind);
+
+        return recursiveBinarySearch(arr, mid + 1, r, idToFind);
+      }
+
+      return -1;
+    }
+    /**
+     * @brief Sorts an array of objects implementing the Identifiable interface with the algorithm chosen in SortVariables.
+     *
+     * @param arr The array to be sorted.
+     */
+    public void sort(ArrayList<T> arr) {
+      long start = Metrics.start();
+      RecordEvents.Sort event = new RecordEvents.Sort();
+      event.start(RecordEvents.entity(arr), arr.size(), 0);
+
+      try {
+        switch (SortVariables.algorithm) {
+          case QUICK:
+            event.algorithm = "quick";
+            quickSort(arr, 0, arr.size() - 1);
+            break;
+          case PARALLEL:
+            event.algorithm = "parallel";
+            parallelQuickSort(arr, SortVariables.parallelism);
+            break;
+          case RADIX:
+            event.algorithm = "radix";
+            radixSort(arr);
+            break;
+          default:
+            if (arr.size() >= SortVariables.parallelSortSize && SortVariables.parallelism > 1) {
+              event.algorithm = "parallel";
+              parallelQuickSort(arr, SortVariables.parallelism);
+            } else if (arr.size() >= SortVariables.radixSortSize) {
+              event.algorithm = "radix";
+              radixSort(arr);
+            } else {
+              event.algorithm = "quick";
+              quickSort(arr, 0, arr.size() - 1);
+            }
+        }
+      } finally {
+        event.commit();
+        Metrics.stop("sort", start);
+      }
+    }
+    /**
+     * @brief Sorts an array of objects implementing the Identifiable interface with an LSD radix sort on their identifiers.
+     * The identifiers are read once into an int array and sorted together with the original positions, one byte per pass
+     * from the lowest, so the sort takes four passes over n keys instead of n log n comparisons. Passes where every key has
+     * the same byte are skipped. The records are then put in the sorted order in one pass. Records with the same identifier
+     * keep their order.
+     *
+     * @param arr The array to be sorted.
+     */
+    @SuppressWarnings("unchecked")
+    public void radixSort(ArrayList<T> arr) {
+      int n = arr.size();
+
+      if (n < 2) {
+        return;
+      }
+
+      int[] keys = new int[n];
+      int[] order = new int[n];
+
+      for (int i = 0; i < n; i++) {
+        // Flipping the sign bit makes negative identifiers come first when the keys are compared as unsigned numbers
+        keys[i] = arr.get(i).getId() ^ Integer.MIN_VALUE;
+        order[i] = i;
+      }
+
+      int[] nextKeys = new int[n];
+      int[] nextOrder = new int[n];
+      int[] counts = new int[256];
+
+      for (int shift = 0; shift < 32; shift += 8) {
+        Arrays.fill(counts, 0);
+
+        for (int i = 0; i < n; i++) {
+          counts[(keys[i] >>> shift) & 0xFF]++;
+        }
+
+        if (counts[(keys[0] >>> shift) & 0xFF] == n) {
+          continue;
+        }
+
+        for (int digit = 0, position = 0; digit < 256; digit++) {
+          int count = counts[digit];
+          counts[digit] = position;
+          position += count;
+        }
+
+        for (int i = 0; i < n; i++) {
+          int position = counts[(keys[i] >>> shift) & 0xFF]++;
+          nextKeys[position] = keys[i];
+          nextOrder[position] = order[i];
+        }
+
+        int[] swap = keys;
+        keys = nextKeys;
+        nextKeys = swap;
+        swap = order;
+        order = nextOrder;
+        nextOrder = swap;
+      }
+
+      Object[] records = arr.toArray();
+
+      for (int i = 0; i < n; i++) {
+        arr.set(i, (T) records[order[i]]);
+      }
+    }
+    /**
+     * @brief Sorts an array of objects implementing the Identifiable interface with QuickSort on a ForkJoinPool.
+     * After a partition is split, its two sides are sorted as separate tasks, and partitions smaller than
+     * SortVariables.parallelThreshold are sorted on the thread that holds them.
+     *
+     * @param arr The array to be sorted.
+     * @param parallelism The number of threads to use.
+     */
+    public void parallelQuickSort(ArrayList<T> arr, int parallelism) {
+      ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+
+      try {
+        pool.invoke(new ParallelQuickSortTask(arr, 0, arr.size() - 1));
+      } finally {
+        pool.shutdown();
+      }
+    }
+    /**
+     * @brief Sorts one partition of a parallel QuickSort.
+     */
+    private class ParallelQuickSortTask extends RecursiveAction {
+      /** The array being sorted. */
+      private final ArrayList<T> arr;
+
+      /** The starting index of the partition. */
+      private final int low;
+
+      /** The ending index of the partition. */
+      private final int high;
+
+      /** Constructor */
+      ParallelQuickSortTask(ArrayList<T> arr, int low, int high) {
+        this.arr = arr;
+        this.low = low;
+        this.high = high;
+      }
+
+      @Override
+      protected void compute() {
+        if (high - low < SortVariables.parallelThreshold) {
+          quickSort(arr, low, high);
+          return;
+        }
+
+        // Each thread draws its own pivots, the shared Random would make the threads wait for each other
+        int randomIndex = low + ThreadLocalRandom.current().nextInt(high - low);
+        T temp = arr.get(randomIndex);
+        arr.set(randomIndex, arr.get(low));
+        arr.set(low, temp);
+        int pi = hoarePartition(arr, low, high);
+        invokeAll(new ParallelQuickSortTask(arr, low, pi), new ParallelQuickSortTask(arr, pi + 1, high));
+      }
+    }
+    /**
+     * @brief Finds the first element whose identifier is not less than a key, iteratively.
+     * The array is assumed to be sorted by the identifier.
+     *
+     * @param arr An array of objects implementing the Identifiable interface, sorted by identifier.
+     * @param key The identifier value to search for.
+     * @return The index of the first element with an identifier of at least key, or the size of the array if there is none.
+     */
+    public int lowerBound(ArrayList<T> arr, int key) {
+      int l = 0;
+      int r = arr.size();
+
+      while (l < r) {
+        int mid = (l + r) >>> 1;
+
+        if (arr.get(mid).getId() < key) {
+          l = mid + 1;
+        } else {
+          r = mid;
+        }
+      }
+
+      return l;
+    }
+    /**
+     * @brief Finds the first element whose identifier is greater than a key, iteratively.
+     * The array is assumed to be sorted by the identifier.
+     *
+     * @param arr An array of objects implementing the Identifiable interface, sorted by identifier.
+     * @param key The identifier value to search for.
+     * @return The index of the first element with an identifier greater than key, or the size of the array if there is none.
+     */
+    public int upperBound(ArrayList<T> arr, int key) {
+      int l = 0;
+      int r = arr.size();
+
+      while (l < r) {
+        int mid = (l + r) >>> 1;
+
+        if (arr.get(mid).getId() <= key) {
+          l = mid + 1;
+        } else {
+          r = mid;
+        }
+      }
+
+      return l;
+    }
+    /**
+     * @brief Finds every element with an identifier in O(log n), they are next to each other in a sorted array.
+     *
+     * @param arr An array of objects implementing the Identifiable interface, sorted by identifier.
+     * @param key The identifier value to search for.
+     * @return A view of the slice of the array holding the elements with the identifier, empty if there are none.
+     */
+    public List<T> equalRange(ArrayList<T> arr, int key) {
+      long start = Metrics.start();
+
+      try {
+        int lower = lowerBound(arr, key);
+        return arr.subList(lower, Math.max(lower, upperBound(arr, key)));
+      } finally {
+        Metrics.stop("binary_search", start);
+      }
+    }
+  }
+  /**
+   * @brief Keeps the parsed records of one record file in memory, so sorting and searching do not reparse the file every time.
+   * @details The file is loaded and parsed once. Add, edit and delete go through the store, which writes the change to disk
+   * and applies the same change to the cached records. If the file is changed by anything else, the store sees the new size or
+   * modification time and reloads it on the next query. The records are kept in the text record file, or in its fixed-width
+   * binary counterpart when StorageVariables.binaryFormat is set. When StorageVariables.writeAheadLog is set instead, changes are
+   * written to a log and the text record file is rewritten as a snapshot from time to time.
+   * In-memory indexes over the records register as listeners and are told about every change to the cached records.
+   */
+  static class RecordStore<T extends Identifiable & Numbered> {
+    /**
+     * @brief Receives the changes to the cached records of a store, used to keep in-memory indexes up to date.
+     * The record objects passed to a listener are the cached records, a delete renumbers the records after it in place.
+     */
+    interface Listener<T> {
+      /**
+       * @brief Called when the records were loaded, or dropped if records is null.
+       *
+       * @param records The cached records in record order, or null.
+       */
+      void reset(ArrayList<T> records);
+
+      /**
+       * @brief Called after a record was added after the last record.
+       *
+       * @param record The new record.
+       */
+      void added(T record);
+
+      /**
+       * @brief Called after a record was replaced.
+       *
+       * @param oldRecord The replaced record.
+       * @param newRecord The new record.
+       */
+      void edited(T oldRecord, T newRecord);
+
+      /**
+       * @brief Called after a record was deleted and the records after it were renumbered.
+       *
+       * @param record The deleted record.
+       */
+      void deleted(T record);
+    }
+
+    /** Name of the text record file behind this store. */
+    private final String fileName;
+
+    /** Layout of the records in the binary format. */
+    private final FixedWidthRecordFile.Layout layout;
+
+    /** Parser that turns a record line into a record. */
+    private final Function<String, T> parser;
+
+    /** Whether the first field of the records is a unique ID kept in a primary key index by the text format. */
+    private final boolean keyIndexed;
+
+    /** File format the records are currently kept in. */
+    private RecordStorage storage = null;
+
+    /** Cached records in file order, null until the file is loaded. */
+    private ArrayList<T> records = null;
+
+    /** Listeners told about every change to the cached records. */
+    private final ArrayList<Listener<T>> listeners = new ArrayList<>();
+
+    /** File size seen after the last load or write. */
+    private long knownLength = -1;
+
+    /** File modification time seen after the last load or write. */
+    private long knownModified = -1;
+
+    /** Number of changes to the cached records, counted up on every add, edit, delete and reload. */
+    private long generation = 0;
+
+    /** Constructor */
+    RecordStore(String fileName, FixedWidthRecordFile.Layout layout, Function<String, T> parser) {
+      this(fileName, layout, parser, false);
+    }
+
+    /** Constructor */
+    RecordStore(String fileName, FixedWidthRecordFile.Layout layout, Function<String, T> parser, boolean keyIndexed) {
+      this.fileName = fileName;
+      this.layout = layout;
+      this.parser = parser;
+      this.keyIndexed = keyIndexed;
+    }
+    /**
+     * @brief Returns the name of the text record file behind this store.
+     *
+     * @return The file name.
+     */
+    public String getFileName() {
+      return fileName;
+    }
+    /**
+     * @brief Returns the cached records in file order, loading the file first if it was not loaded or changed on disk.
+     * The returned list belongs to the store, callers that reorder it have to copy it first.
+     *
+     * @return The records, or null if the file could not be read.
+     */
+    public synchronized ArrayList<T> records() {
+      RecordStorage current = storage();
+
+      if (records == null || isChangedOnDisk()) {
+        load(current);
+      }
+
+      return records;
+    }
+    /**
+     * @brief Returns the generation of the cached records, which changes whenever the records are added to, edited, deleted or reloaded.
+     *
+     * @return The generation.
+     */
+    public synchronized long generation() {
+      return generation;
+    }
+    /**
+     * @brief Finds the first record whose ID is the given ID.
+     * The text format reads it through the primary key index without loading the file, the other formats search the cached records.
+     *
+     * @param id The ID to find.
+     * @return The record, or null if no record has the ID or the file could not be read.
+     */
+    public synchronized T find(int id) {
+      long start = Metrics.start();
+
+      try {
+        RecordStorage current = storage();
+
+        if (current instanceof TextRecordStorage && ((TextRecordStorage) current).hasKeyIndex()) {
+          try {
+            String line = ((TextRecordStorage) current).find(id);
+            return line == null ? null : parser.apply(line);
+          } catch (IOException e) {
+            return null;
+          }
+        }
+
+        ArrayList<T> loaded = records();
+
+        if (loaded != null) {
+          for (T record : loaded) {
+            if (record.getId() == id) {
+              return record;
+            }
+          }
+        }
+
+        return null;
+      } finally {
+        Metrics.stop("find", start);
+      }
+    }
+    /**
+     * @brief Checks whether the records can be read.
+     *
+     * @return true if the storage has a data file or records waiting in its log.
+     */
+    public synchronized boolean exists() {
+      return storage().exists();
+    }
+    /**
+     * @brief Writes every record to console in the "N-)text" line layout.
+     *
+     * @return 0 on success, -1 on failure.
+     */
+    public synchronized int show() {
+      return storage().show();
+    }
+    /**
+     * @brief Appends a record to the file and to the cached records.
+     *
+     * @param text The record text without the line number.
+     * @return 0 on success, -1 on failure.
+     */
+    public synchronized int add(String text) {
+      RecordStorage current = storage();
+      boolean inSync = records != null && !isChangedOnDisk();
+      int result = current.append(text);
+
+      if (result != 0 || !inSync) {
+        setRecords(null);
+        return result;
+      }
+
+      T record = parser.apply((records.size() + 1) + "-)" + text);
+      records.add(record);
+      generation++;
+      rememberFileState();
+
+      for (Listener<T> listener : listeners) {
+        listener.added(record);
+      }
+
+      return 0;
+    }
+    /**
+     * @brief Replaces a record in the file and in the cached records.
+     *
+     * @param recordNumber The record number to edit.
+     * @param text The new record text without the line number.
+     * @return 0 on success, -1 on failure.
+     */
+    public synchronized int edit(int recordNumber, String text) {
+      RecordStorage current = storage();
+      boolean inSync = records != null && !isChangedOnDisk();
+      int result = current.edit(recordNumber, text);
+
+      if (result != 0 || !inSync) {
+        setRecords(null);
+        return result;
+      }
+
+      T record = parser.apply(recordNumber + "-)" + text);
+      T oldRecord = records.set(recordNumber - 1, record);
+      generation++;
+      rememberFileState();
+
+      for (Listener<T> listener : listeners) {
+        listener.edited(oldRecord, record);
+      }
+
+      return 0;
+    }
+    /**
+     * @brief Deletes a record from the file and from the cached records, renumbering the records after it.
+     *
+     * @param recordNumber The record number to delete.
+     * @return 0 on success, -1 on failure.
+     */
+    public synchronized int delete(int recordNumber) {
+      RecordStorage current = storage();
+      boolean inSync = records != null && !isChangedOnDisk();
+      int result = current.delete(recordNumber);
+
+      if (result != 0 || !inSync) {
+        setRecords(null);
+        return result;
+      }
+
+      T oldRecord = records.remove(recordNumber - 1);
+
+      for (int i = recordNumber - 1; i < records.size(); i++) {
+        records.get(i).setRecordNumber(i + 1);
+      }
+
+      generation++;
+      rememberFileState();
+
+      for (Listener<T> listener : listeners) {
+        listener.deleted(oldRecord);
+      }
+
+      return 0;
+    }
+    /**
+     * @brief Registers a listener, which is reset with the cached records right away if they are loaded.
+     *
+     * @param listener The listener.
+     */
+    public synchronized void addListener(Listener<T> listener) {
+      listeners.add(listener);
+
+      if (records != null) {
+        listener.reset(records);
+      }
+    }
+    /**
+     * @brief Drops the cached records, the next query reloads the file.
+     */
+    public synchronized void invalidate() {
+      setRecords(null);
+    }
+    /**
+     * @brief Returns an external sorter over the text record file when SortVariables.externalRunSize is set.
+     * Pending changes are written to the file first. The binary format is always sorted in memory.
+     *
+     * @return The sorter, or null if the records should be sorted in memory or the file does not exist.
+     */
+    public synchronized ExternalSorter<T> externalSorter() {
+      if (SortVariables.externalRunSize <= 0 || storage() instanceof FixedWidthRecordFile || flush() != 0 || !new File(fileName).exists()) {
+        return null;
+      }
+
+      return new ExternalSorter<>(fileName, parser, SortVariables.externalRunSize);
+    }
+    /**
+     * @brief Returns the file format selected by StorageVariables, switching to it and dropping the cache if it changed.
+     * The old format writes its pending changes to the data file before the switch.
+     *
+     * @return The record storage.
+     */
+    private RecordStorage storage() {
+      Class<?> selected = StorageVariables.binaryFormat ? FixedWidthRecordFile.class
+                          : StorageVariables.writeAheadLog ? LoggedRecordStorage.class : TextRecordStorage.class;
+
+      if (storage == null || storage.getClass() != selected) {
+        if (storage != null) {
+          storage.flush();
+        }
+
+        if (selected == FixedWidthRecordFile.class) {
+          storage = FixedWidthRecordFile.open(fileName, layout);
+        } else if (selected == LoggedRecordStorage.class) {
+          storage = new LoggedRecordStorage(fileName);
+        } else {
+          storage = new TextRecordStorage(fileName, keyIndexed);
+        }
+
+        setRecords(null);
+      }
+
+      return storage;
+    }
+    /**
+     * @brief Writes changes that the storage keeps in memory or in a log to the record file.
+     *
+     * @return 0 on success, -1 on failure.
+     */
+    public synchronized int flush() {
+      if (storage == null) {
+        return 0;
+      }
+
+      boolean inSync = records != null && !isChangedOnDisk();
+      int result = storage.flush();
+
+      if (inSync) {
+        rememberFileState();
+      }
+
+      return result;
+    }
+    /**
+     * @brief Reads and parses the whole file into the cache.
+     *
+     * @param current The record storage to read.
+     */
+    private void load(RecordStorage current) {
+      setRecords(null);
+      rememberFileState();
+      String input = current.read('Y');
+
+      if (input.equals("-1")) {
+        return;
+      }
+
+      long start = Metrics.start();
+      RecordEvents.Parse event = new RecordEvents.Parse();
+      event.start(RecordEvents.entity(fileName), 0, input.length());
+      ArrayList<T> loaded = new ArrayList<>();
+
+      for (String line : input.split("\n")) {
+        if (!line.isEmpty()) {
+          loaded.add(parser.apply(line));
+        }
+      }
+
+      event.records = loaded.size();
+      event.commit();
+      Metrics.stop("parse", start);
+      Metrics.count("parse_records", loaded.size());
+      setRecords(loaded);
+    }
+    /**
+     * @brief Replaces the cached records and resets the listeners.
+     *
+     * @param loaded The records, or null to drop them.
+     */
+    private void setRecords(ArrayList<T> loaded) {
+      if (records == null && loaded == null) {
+        return;
+      }
+
+      records = loaded;
+      generation++;
+
+      for (Listener<T> listener : listeners) {
+        listener.reset(loaded);
+      }
+    }
+    /**
+     * @brief Checks whether the file was changed since the store last loaded or wrote it.
+     *
+     * @return true if the file size or modification time is different.
+     */
+    private boolean isChangedOnDisk() {
+      File file = storage.getDataFile();
+      return file.length() != knownLength || file.lastModified() != knownModified;
+    }
+    /**
+     * @brief Remembers the current file size and modification time.
+     */
+    private void rememberFileState() {
+      File file = storage.getDataFile();
+      knownLength = file.length();
+      knownModified = file.lastModified();
+    }
+  }
+  /** In-memory store of property_records.bin. */
+  static final RecordStore<PropertyInfo> propertyStore = new RecordStore<>("property_records.bin", FixedWidthRecordFile.PROPERTY, RentalManagementLib::parsePropertyInfo, true);
+
+  /** In-memory store of tenant_records.bin. */
+  static final RecordStore<TenantInfo> tenantStore = new RecordStore<>("tenant_records.bin", FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo, true);
+
+  /** In-memory store of rent_records.bin. */
+  static final RecordStore<RentInfo> rentStore = new RecordStore<>("rent_records.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo, true);
+
+  /** In-memory store of maintenance_records.bin. */
+  static final RecordStore<MaintenanceInfo> maintenanceStore = new RecordStore<>("maintenance_records.bin", FixedWidthRecordFile.MAINTENANCE, RentalManagementLib::parseMaintenanceInfo);
+  /** Tenants by the PropertyID of the property they rent. */
+  static final SecondaryIndex<TenantInfo> tenantsByProperty = new SecondaryIndex<>(tenantStore, tenant -> tenant.propertyID);
+
+  /** Rent records by TenantID. */
+  static final SecondaryIndex<RentInfo> rentsByTenant = new SecondaryIndex<>(rentStore, rent -> rent.tenantID);
+
+  /** Maintenance records by PropertyID. */
+  static final SecondaryIndex<MaintenanceInfo> maintenanceByProperty = new SecondaryIndex<>(maintenanceStore, maintenance -> maintenance.propertyID);
+
+  /** Field indexes for range searches over properties. */
+  static final PropertyQuery propertyQuery = new PropertyQuery(propertyStore);
+
+  /** Text index on property addresses. */
+  static final TextIndex<PropertyInfo> addressIndex = new TextIndex<>(propertyStore, property -> property.address);
+
+  /** Text index on tenant names and surnames. */
+  static final TextIndex<TenantInfo> tenantNameIndex = new TextIndex<>(tenantStore, tenant -> tenant.name + " " + tenant.surname);
+
+  /** Text index on maintenance types. */
+  static final TextIndex<MaintenanceInfo> maintenanceTypeIndex = new TextIndex<>(maintenanceStore, maintenance -> maintenance.maintenanceType);
+
+  /** Typo tolerant index on the words of property addresses. */
+  static final FuzzyIndex<PropertyInfo> addressFuzzyIndex = new FuzzyIndex<>(propertyStore, property -> property.address);
+
+  /** Typo tolerant index on tenant names and surnames. */
+  static final FuzzyIndex<TenantInfo> tenantNameFuzzyIndex = new FuzzyIndex<>(tenantStore, tenant -> tenant.name + " " + tenant.surname);
+
+  /** Open maintenance jobs by priority. */
+  static final MaintenanceQueue maintenanceQueue = new MaintenanceQueue(maintenanceStore);
+
+  /** Property records sorted by the fields of the Sort By Field menu. */
+  static final SortedViews<PropertyInfo> propertyViews = new SortedViews<>(propertyStore)
+      .field("PropertyID", Comparator.comparingInt(property -> property.propertyID))
+      .field("PropertyAge", Comparator.comparingInt(property -> property.propertyAge))
+      .field("Bedrooms", Comparator.comparingInt(property -> property.bedrooms))
+      .field("Livingrooms", Comparator.comparingInt(property -> property.livingrooms))
+      .field("Floors", Comparator.comparingInt(property -> property.floors))
+      .field("Size", Comparator.comparingInt(property -> property.size))
+      .field("Address", Comparator.comparing(property -> property.address, String.CASE_INSENSITIVE_ORDER));
+
+  /** Tenant records sorted by the fields of the Sort By Field menu. */
+  static final SortedViews<TenantInfo> tenantViews = new SortedViews<>(tenantStore)
+      .field("TenantID", Comparator.comparingInt(tenant -> tenant.tenantID))
+      .field("PropertyID", Comparator.comparingInt(tenant -> tenant.propertyID))
+      .field("Rent", Comparator.comparingInt(tenant -> tenant.rent))
+      .field("BirthDate", Comparator.comparingInt(tenant -> dateKey(tenant.birthDate)))
+      .field("Name", Comparator.comparing(tenant -> tenant.name, String.CASE_INSENSITIVE_ORDER))
+      .field("Surname", Comparator.comparing(tenant -> tenant.surname, String.CASE_INSENSITIVE_ORDER));
+
+  /** Rent records sorted by the fields of the Sort By Field menu. */
+  static final SortedViews<RentInfo> rentViews = new SortedViews<>(rentStore)
+      .field("TenantID", Comparator.comparingInt(rent -> rent.tenantID))
+      .field("CurrentRentDebt", Comparator.comparingInt(rent -> rent.currentRentDebt))
+      .field("DueDate", Comparator.comparingInt(rent -> dateKey(rent.dueDate)));
+
+  /** Number of the Priority field of maintenanceViews. */
+  static final int MAINTENANCE_PRIORITY_FIELD = 2;
+
+  /** Maintenance records sorted by the fields of the Sort By Field menu. */
+  static final SortedViews<MaintenanceInfo> maintenanceViews = new SortedViews<>(maintenanceStore)
+      .field("PropertyID", Comparator.comparingInt(maintenance -> maintenance.propertyID))
+      .field("Cost", Comparator.comparingInt(maintenance -> maintenance.cost))
+      .field("Priority", Comparator.comparingInt(maintenance -> maintenance.priority))
+      .field("MaintenanceType", Comparator.comparing(maintenance -> maintenance.maintenanceType, String.CASE_INSENSITIVE_ORDER))
+      .field("ExpectedFinishingDate", Comparator.comparingInt(maintenance -> dateKey(maintenance.expectedFinishingDate)));
+  /**
+   * @brief Writes the changes every record store keeps in memory or in a log to the record files, called when the user logs out.
+   */
+  static void flushStores() {
+    propertyStore.flush();
+    tenantStore.flush();
+    rentStore.flush();
+    maintenanceStore.flush();
+  }
+  /**
+   * @brief A method to parse records.
+   *
+   * @param record record string to parse.
+   * @return TenantInfo.
+   */
+  static TenantInfo parseTenantInfo(String record) {
+    RecordLineParser parser = new RecordLineParser(record);
+    return new TenantInfo(parser.recordNumber(), parser.nextInt(), parser.nextInt(), parser.nextInt(), parser.nextText(), parser.nextText(), parser.nextText());
+  }
+  /**
+   * @brief A method to parse records.
+   *
+   * @param record record string to parse.
+   * @return RentInfo.
+   */
+  static RentInfo parseRentInfo(String record) {
+    RecordLineParser parser = new RecordLineParser(record);
+    return new RentInfo(parser.recordNumber(), parser.nextInt(), parser.nextInt(), parser.nextText());
+  }
+  /**
+   * @brief A method to parse records.
+   *
+   * @param record record string to parse.
+   * @return MaintenanceInfo.
+   */
+  static MaintenanceInfo parseMaintenanceInfo(String record) {
+    RecordLineParser parser = new RecordLineParser(record);
+    return new MaintenanceInfo(parser.recordNumber(), parser.nextInt(), parser.nextInt(), parser.nextInt(), parser.nextText(), parser.nextText());
+  }
+  /**
+   * @brief Turns a DD/MM/YYYY date into a number that sorts in date order.
+   *
+   * @param date The date.
+   * @return YYYYMMDD as a number, or Integer.MIN_VALUE if the date is not in the DD/MM/YYYY layout.
+   */
+  static int dateKey(String date) {
+    String[] parts = date.trim().split("/");
+
+    if (parts.length != 3) {
+      return Integer.MIN_VALUE;
+    }
+
+    try {
+      return Integer.parseInt(parts[2]) * 10000 + Integer.parseInt(parts[1]) * 100 + Integer.parseInt(parts[0]);
+    } catch (NumberFormatException e) {
+      return Integer.MIN_VALUE;
+    }
+  }
+  /**
+   * @brief A method to parse records.
+   *
+   * @param record record string to parse.
+   * @return PropertyInfo.
+   */
+  static PropertyInfo parsePropertyInfo(String record) {
+    RecordLineParser parser = new RecordLineParser(record);
+    return new PropertyInfo(parser.recordNumber(), parser.nextInt(), parser.nextInt(), parser.nextInt(), parser.nextInt(), parser.nextInt(), parser.nextInt(),
+                            parser.nextText());
+  }
+  /**
+   * @brief Opens a binary file, deletes all of its content, and writes given text to it.
+   *
+   * @param fileName The name of the file to write.
+   * @param text The text to write.
+   * @return 0 on success.
+   */
+  public static int file_write(String fileName, String text) {
+    // Prepend "1-)" to text
+    String prefixText = "1-)" + text + "\n";
+
+    synchronized (fileLock(fileName)) {
+      RecordLineMap.changed(fileName, null);
+
+      try (// Create a FileOutputStream object
+          FileOutputStream fileOutputStream = new FileOutputStream(fileName)) {
+        fileOutputStream.write(prefixText.getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        System.out.print("\nFile operation failed");
+        return -1;
+      }
+    }
+
+    return 0; // Return 0 to indicate success
+  }
+
+  /**
+   * @brief Opens a binary file, reads all of its content, separates lines with "\n", and writes them to console.
+   * Also returns the contents of the file as a string for unit tests.
+   * The file is read through its FileChannel in large blocks, "\r" characters are removed in one pass over the bytes
+   * and the result is decoded as UTF-8.
+   * Deleted "N-#" lines are skipped and, if there are any, the other lines are renumbered so record numbers stay consecutive.
+   *
+   * @param fileName    The name of the file to read from.
+   * @param isSorting   A variable to disable writing content to console during sorting.
+   * @return The contents of the file as a dynamically allocated string.
+   */
+  public static String file_read(String fileName, char isSorting) {
+    long start = Metrics.start();
+
+    try {
+      String content;
+      RecordEvents.FileRead event = new RecordEvents.FileRead();
+      event.start(RecordEvents.entity(fileName), 0, 0);
+
+      synchronized (fileLock(fileName)) {
+        try (FileInputStream fileInputStream = new FileInputStream(fileName)) {
+          FileChannel channel = fileInputStream.getChannel();
+          long size = channel.size();
+
+          if (size > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to read into memory");
+          }
+
+          byte[] bytes = new byte[(int) size];
+          ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+          while (buffer.position() < buffer.capacity()) {
+            // Limit each read so the channel does not need a temporary direct buffer as large as the file
+            buffer.limit(Math.min(buffer.capacity(), buffer.position() + READ_BLOCK_SIZE));
+
+            if (channel.read(buffer) == -1) {
+              break;
+            }
+          }
+
+          int length = removeCarriageReturns(bytes, buffer.position());
+          length = removeTombstones(bytes, length);
+          content = new String(bytes, 0, length, StandardCharsets.UTF_8);
+          event.bytes = buffer.position();
+
+          if (event.isEnabled()) {
+            event.records = countLines(bytes, length);
+          }
+
+          event.commit();
+        } catch (IOException e) {
+          System.out.print("\nFile operation failed");
+          return "-1";
+        }
+      }
+
+      if (isSorting != 'Y') {
+        RecordEvents.ConsoleOutput output = new RecordEvents.ConsoleOutput();
+        output.start(event.entity, event.records, content.length());
+        System.out.print(content); // Print the content to the console
+        output.commit();
+      }
+
+      return content; // Return the content as a string
+    } finally {
+      Metrics.stop("file_read", start);
+    }
+  }
+  /**
+   * @brief Counts the non-empty lines in the first length bytes of the array.
+   *
+   * @param bytes The bytes to count the lines of.
+   * @param length The number of bytes in use.
+   * @return The number of lines.
+   */
+  static int countLines(byte[] bytes, int length) {
+    int lines = 0;
+
+    for (int i = 0; i < length; i++) {
+      if (bytes[i] == '\n' && i > 0 && bytes[i - 1] != '\n') {
+        lines++;
+      }
+    }
+
+    return length > 0 && bytes[length - 1] != '\n' ? lines + 1 : lines;
+  }
+  /**
+   * @brief Opens a binary file and writes its content to console like file_read, without reading it into a string.
+   * A file without deleted "N-#" lines and '\r' characters, whose bytes the console can show as they are, is already what
+   * file_read would print. The file is read once in blocks of READ_BLOCK_SIZE bytes, every block is checked and its complete
+   * lines are copied to console through one buffer, so memory use does not depend on the file size. If a line is found that
+   * file_read would print differently, the rest of the file is printed from the output of file_read. With
+   * RenderVariables.zeroCopyShow, a file whose cached RecordLineMap shows it is plain is handed to the kernel with
+   * FileChannel.transferTo straight to the standard output without being checked.
+   *
+   * @param fileName The name of the file to write to console.
+   * @return 0 on success, -1 on failure.
+   */
+  public static int file_stream(String fileName) {
+    long start = Metrics.start();
+
+    try {
+      synchronized (fileLock(fileName)) {
+        boolean utf8Console = Charset.defaultCharset().equals(StandardCharsets.UTF_8);
+        long position = 0;
+
+        try (FileInputStream fileInputStream = new FileInputStream(fileName)) {
+          FileChannel channel = fileInputStream.getChannel();
+          long size = channel.size();
+          RecordEvents.ConsoleOutput event = new RecordEvents.ConsoleOutput();
+          event.start(RecordEvents.entity(fileName), 0, size);
+          RecordLineMap lineMap = RecordLineMap.current(fileName);
+          System.out.flush();
+
+          if (RenderVariables.zeroCopyShow && lineMap != null && lineMap.isPlain(utf8Console)) {
+            FileChannel console = standardOutput();
+
+            while (position < size) {
+              long sent = channel.transferTo(position, size - position, console);
+
+              if (sent <= 0) {
+                break;
+              }
+
+              position += sent;
+            }
+          }
+
+          // Whatever was not transferred is checked and copied through the buffer
+          position = copyPlainLines(channel, position, utf8Console);
+          System.out.flush();
+          event.commit();
+        } catch (IOException e) {
+          System.out.print("\nFile operation failed");
+          return -1;
+        }
+
+        if (position >= 0) {
+          String content = file_read(fileName, 'Y');
+
+          if (content.equals("-1")) {
+            return -1;
+          }
+
+          // The lines already copied are the same in the output of file_read
+          byte[] bytes = content.getBytes(Charset.defaultCharset());
+          int from = (int) Math.min(position, bytes.length);
+          System.out.write(bytes, from, bytes.length - from);
+          System.out.flush();
+        }
+      }
+
+      return 0;
+    } finally {
+      Metrics.stop("file_stream", start);
+    }
+  }
+  /**
+   * @brief Copies a record file to console from a position, a block of complete lines at a time, until a line file_read would
+   * print differently: a deleted "N-#" line, a line with a '\r' character or, unless the console writes UTF-8, a line that
+   * is not ASCII.
+   *
+   * @param channel The channel of the file.
+   * @param position The position to start at, the start of a line unless the file is plain.
+   * @param utf8Console Whether the console writes UTF-8.
+   * @return The position of the first line that was not copied, or -1 if the file was copied to its end.
+   * @throws IOException
+   */
+  private static long copyPlainLines(FileChannel channel, long position, boolean utf8Console) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(READ_BLOCK_SIZE);
+    byte[] bytes = buffer.array();
+    int checked = 0;
+    int read = 0;
+    channel.position(position);
+
+    while (read != -1) {
+      read = channel.read(buffer);
+      int length = buffer.position();
+
+      for (int i = checked; i < length; i++) {
+        byte b = bytes[i];
+
+        // Only these bytes can make the file differ from what file_read prints
+        if (b == '\r' || (b < 0 && !utf8Console) || (b == TOMBSTONE_MARK && isTombstoneEnd(bytes, i))) {
+          return position;
+        }
+      }
+
+      // The buffer always starts at a line start, the last line is kept until its line break is read
+      int end = length;
+
+      if (read != -1) {
+        while (end > 0 && bytes[end - 1] != '\n') {
+          end--;
+        }
+
+        if (end == 0 && length == bytes.length) {
+          return position;
+        }
+      }
+
+      System.out.write(bytes, 0, end);
+      position += end;
+      System.arraycopy(bytes, end, bytes, 0, length - end);
+      buffer.position(length - end);
+      checked = length - end;
+    }
+
+    return -1;
+  }
+  /**
+   * @brief Checks whether a '#' ends the "N-#" prefix of a deleted line.
+   *
+   * @param bytes The block of the file, starting at the start of a line.
+   * @param mark The index of the '#' in the block.
+   * @return true if the line is deleted.
+   */
+  private static boolean isTombstoneEnd(byte[] bytes, int mark) {
+    if (mark == 0 || bytes[mark - 1] != '-') {
+      return false;
+    }
+
+    int lineStart = mark - 1;
+
+    while (lineStart > 0 && bytes[lineStart - 1] >= '0' && bytes[lineStart - 1] <= '9') {
+      lineStart--;
+    }
+
+    return lineStart < mark - 1 && (lineStart == 0 || bytes[lineStart - 1] == '\n');
+  }
+  /**
+   * @brief Returns a channel to the standard output, opened once and never closed.
+   *
+   * @return The channel.
+   */
+  private static synchronized FileChannel standardOutput() {
+    if (standardOutput == null) {
+      standardOutput = new FileOutputStream(FileDescriptor.out).getChannel();
+    }
+
+    return standardOutput;
+  }
+  /**
+   * @brief Removes every '\r' byte from the first length bytes of the array by shifting the other bytes left.
+   *
+   * @param bytes The bytes to clean.
+   * @param length The number of bytes in use.
+   * @return The number of bytes left after the removal.
+   */
+  static int removeCarriageReturns(byte[] bytes, int length) {
+    int read = 0;
+
+    while (read < length && bytes[read] != '\r') {
+      read++;
+    }
+
+    int write = read;
+
+    for (; read < length; read++) {
+      if (bytes[read] != '\r') {
+        bytes[write++] = bytes[read];
       }
     }
-    /**
-     * @brief Performs a recursive binary search on an array of objects implementing the Identifiable interface.
-     * The array is assumed to be sorted by the identifier.
-     *
-     * @param arr An array of objects implementing the Identifiable interface, sorted by identifier.
-     * @param l The left index of the subarray to be searched (initially 0).
-     * @param r The right index of the subarray to be searched (initially n-1, where n is the number of elements).
-     * @param idToFind The identifier value to search for.
-     * @return The index of the element with the given identifier, or -1 if not found.
-     */
-    public int recursiveBinarySearch(ArrayList<T> arr, int l, int r, int idToFind) {
-      if (r >= l) {
-        int mid = l + (r - l) / 2;
 
-        if (arr.get(mid).getId() == idToFind)
-          return mid;
+    return write;
+  }
+  /**
+   * @brief Removes the deleted "N-#" lines from the first length bytes of the array and renumbers the lines after the first
+   * deleted line by their position. A line keeps its old number if the new one would not fit in its place, which does not happen
+   * for files written by this library because a record never moves down.
+   *
+   * @param bytes The bytes to clean, without '\r' characters.
+   * @param length The number of bytes in use.
+   * @return The number of bytes left after the removal.
+   */
+  static int removeTombstones(byte[] bytes, int length) {
+    int read = 0;
+    int recordNumber = 0;
 
-        if (arr.get(mid).getId() > idToFind)
-          return recursiveBinarySearch(arr, l, mid - 1, idToFind);
+    // The lines before the first deleted line stay where they are
+    while (read < length && !isTombstone(bytes, read, length)) {
+      read = Math.min(lineEnd(bytes, read, length) + 1, length);
+      recordNumber++;
+    }
 
-        return recursiveBinarySearch(arr, mid + 1, r, idToFind);
+    int write = read;
+
+    while (read < length) {
+      int next = Math.min(lineEnd(bytes, read, length) + 1, length);
+
+      if (!isTombstone(bytes, read, length)) {
+        recordNumber++;
+        int digits = leadingDigits(bytes, read, next);
+
+        if (digits > 0 && read + digits + 1 < next && bytes[read + digits] == '-' && bytes[read + digits + 1] == ')') {
+          byte[] number = Integer.toString(recordNumber).getBytes(StandardCharsets.US_ASCII);
+
+          if (number.length <= digits) {
+            System.arraycopy(number, 0, bytes, write, number.length);
+            write += number.length;
+            read += digits;
+          }
+        }
+
+        System.arraycopy(bytes, read, bytes, write, next - read);
+        write += next - read;
       }
 
-      return -1;
+      read = next;
     }
+
+    return write;
   }
   /**
-   * @brief A method to parse records.
+   * @brief Finds the end of the line that starts at the given index.
    *
-   * @param record record string to parse.
-   * @return TenantInfo.
+   * @param bytes The file content.
+   * @param start The index of the first byte of the line.
+   * @param length The number of bytes in use.
+   * @return The index of the line's '\n', or length if it is the last line and has none.
    */
-  private static TenantInfo parseTenantInfo(String record) {
-    String[] parts = record.split("-", 2);
-    int recordNumber = Integer.parseInt(parts[0].trim());
-    String[] details = parts[1].split(" / ");
-    int tenantID = Integer.parseInt(details[0].split(":")[1].trim());
-    int propertyID = Integer.parseInt(details[1].split(":")[1].trim());
-    int rent = Integer.parseInt(details[2].split(":")[1].trim());
-    String birthDate = details[3].split(":")[1].trim();
-    String name = details[4].split(":")[1].trim();
-    String surname = details[5].split(":")[1].trim();
-    return new RentalManagementLib().new TenantInfo(recordNumber, tenantID, propertyID, rent, birthDate, name, surname);
+  private static int lineEnd(byte[] bytes, int start, int length) {
+    int end = start;
+
+    while (end < length && bytes[end] != '\n') {
+      end++;
+    }
+
+    return end;
   }
   /**
-   * @brief A method to parse records.
+   * @brief Counts the digits at the start of a line.
    *
-   * @param record record string to parse.
-   * @return RentInfo.
+   * @param bytes The file content.
+   * @param start The index of the first byte of the line.
+   * @param end The index after the last byte of the line.
+   * @return The number of digits.
    */
-  private static RentInfo parseRentInfo(String record) {
-    String[] parts = record.split("-", 2);
-    int recordNumber = Integer.parseInt(parts[0].trim());
-    String[] details = parts[1].split(" / ");
-    int tenantID = Integer.parseInt(details[0].split(":")[1].trim());
-    int currentRentDebt = Integer.parseInt(details[1].split(":")[1].trim());
-    String dueDate = details[2].split(":")[1].trim();
-    return new RentalManagementLib().new RentInfo(recordNumber, tenantID, currentRentDebt, dueDate);
+  private static int leadingDigits(byte[] bytes, int start, int end) {
+    int i = start;
+
+    while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+      i++;
+    }
+
+    return i - start;
   }
   /**
-   * @brief A method to parse records.
+   * @brief Checks whether the line that starts at the given index is a deleted "N-#" line.
    *
-   * @param record record string to parse.
-   * @return MaintenanceInfo.
+   * @param bytes The file content.
+   * @param start The index of the first byte of the line.
+   * @param length The number of bytes in use.
+   * @return true if the line is deleted.
    */
-  private static MaintenanceInfo parseMaintenanceInfo(String record) {
-    String[] parts = record.split("-", 2);
-    int recordNumber = Integer.parseInt(parts[0].trim());
-    String[] details = parts[1].split(" / ");
-    int propertyID = Integer.parseInt(details[0].split(":")[1].trim());
-    int cost = Integer.parseInt(details[1].split(":")[1].trim());
-    int priority = Integer.parseInt(details[2].split(":")[1].trim());
-    String maintenanceType = details[3].split(":")[1].trim();
-    String expectedFinishingDate = details[4].split(":")[1].trim();
-    return new RentalManagementLib().new MaintenanceInfo(recordNumber, propertyID, cost, priority, maintenanceType, expectedFinishingDate);
+  private static boolean isTombstone(byte[] bytes, int start, int length) {
+    int i = start + leadingDigits(bytes, start, length);
+    return i > start && i + 1 < length && bytes[i] == '-' && bytes[i + 1] == TOMBSTONE_MARK;
   }
   /**
-   * @brief A method to parse records.
+   * @brief Checks whether a line is a deleted "N-#" line.
    *
-   * @param record record string to parse.
-   * @return PropertyInfo.
+   * @param line The line without its line break.
+   * @return true if the line is deleted.
    */
-  private static PropertyInfo parsePropertyInfo(String record) {
-    String[] parts = record.split("-", 2);
-    int recordNumber = Integer.parseInt(parts[0].trim());
-    String[] details = parts[1].split(" / ");
-    int propertyID = Integer.parseInt(details[0].split(":")[1].trim());
-    int propertyAge = Integer.parseInt(details[1].split(":")[1].trim());
-    int bedrooms = Integer.parseInt(details[2].split(":")[1].trim());
-    int livingrooms = Integer.parseInt(details[3].split(":")[1].trim());
-    int floors = Integer.parseInt(details[4].split(":")[1].trim());
-    int size = Integer.parseInt(details[5].split(":")[1].trim());
-    String address = details[6].split(":")[1].trim();
-    return new RentalManagementLib().new PropertyInfo(recordNumber, propertyID, propertyAge, bedrooms, livingrooms, floors, size, address);
+  static boolean isTombstone(String line) {
+    int digits = leadingDigits(line);
+    return digits > 0 && line.startsWith("-" + (char) TOMBSTONE_MARK, digits);
   }
   /**
-   * @brief Opens a binary file, deletes all of its content, and writes given text to it.
+   * @brief Replaces the number of a "N-)" line, lines without a record number are returned as they are.
    *
-   * @param fileName The name of the file to write.
-   * @param text The text to write.
-   * @return 0 on success.
+   * @param line The line without its line break.
+   * @param recordNumber The new record number.
+   * @return The renumbered line.
    */
-  public static int file_write(String fileName, String text) {
-    // Prepend "1-)" to text
-    String prefixText = "1-)" + text + "\n";
+  static String renumberLine(String line, int recordNumber) {
+    int digits = leadingDigits(line);
 
-    try (// Create a FileOutputStream object
-        FileOutputStream fileOutputStream = new FileOutputStream(fileName)) {
-      fileOutputStream.write(prefixText.getBytes());
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      return -1;
+    if (digits == 0 || !line.startsWith("-)", digits)) {
+      return line;
     }
 
-    return 0; // Return 0 to indicate success
+    return recordNumber + line.substring(digits);
   }
-
   /**
-   * @brief Opens a binary file, reads all of its content, separates lines with "\n", and writes them to console.
-   * Also returns the contents of the file as a string for unit tests.
+   * @brief Counts the digits at the start of a line.
    *
-   * @param fileName    The name of the file to read from.
-   * @param isSorting   A variable to disable writing content to console during sorting.
-   * @return The contents of the file as a dynamically allocated string.
+   * @param line The line.
+   * @return The number of digits.
    */
-  public static String file_read(String fileName, char isSorting) {
-    StringBuilder content = new StringBuilder(); // StringBuilder for file content
-    int ch;
-
-    try (FileInputStream fileInputStream = new FileInputStream(fileName)) {
-      while ((ch = fileInputStream.read()) != -1) {
-        if (ch == '\r') continue; // Skip '\r'
-
-        content.append((char) ch); // Append character to content
-      }
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      return "-1";
-    }
+  private static int leadingDigits(String line) {
+    int i = 0;
 
-    if (isSorting != 'Y') {
-      System.out.print(content); // Print the content to the console
+    while (i < line.length() && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+      i++;
     }
 
-    return content.toString(); // Return the content as a string
+    return i;
+  }
+  /**
+   * @brief Returns the lock object of a record file, file operations on the same file are done one at a time.
+   *
+   * @param fileName The name of the file.
+   * @return The lock object.
+   */
+  static Object fileLock(String fileName) {
+    return FILE_LOCKS.computeIfAbsent(new File(fileName).getAbsolutePath(), key -> new Object());
   }
 
   /**
   * Appends given text to a text file with an automatically calculated line number.
-  * Calculates the new line's line number by finding the last line's line number.
+  * Calculates the new line's line number from the last line's line number, which is found by reading the file backwards from its end,
+  * so appending does not depend on the file size.
   *
   * @param fileName The name of the file to append to.
   * @param text     The text to append to the file.
@@ -458,43 +1920,100 @@ public class RentalManagementLib {
   * @throws IOException
   */
   public static int file_append(String fileName, String text) {
-    File file = new File(fileName);
-    String lastLine = "";
-    int lineNumber = 0;
+    long start = Metrics.start();
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-      String line;
+    try {
+      File file = new File(fileName);
 
-      while ((line = reader.readLine()) != null) {
-        lastLine = line;
+      if (!file.exists()) {
+        System.err.print("\nFile operation failed.");
+        return -1;
       }
-    } catch (IOException e) {
-      System.err.print("\nFile operation failed.");
-      return -1;
-    }
 
-    if (!lastLine.isEmpty()) {
-      // Extract the line number from the last line
-      String[] parts = lastLine.split("-\\)");
+      synchronized (fileLock(fileName)) {
+        RecordLineMap lineMap = RecordLineMap.current(fileName);
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+          int lineNumber = lastLineNumber(randomAccessFile) + 1;
+          long lineStart = randomAccessFile.length();
+          randomAccessFile.seek(lineStart);
+          randomAccessFile.write((lineNumber + "-)" + text + "\n").getBytes(StandardCharsets.UTF_8));
+
+          if (lineMap != null) {
+            lineMap.add(lineStart, text);
+          }
+        } catch (IOException e) {
+          lineMap = null;
+          System.err.print("\nFile operation failed.");
+          return -1;
+        } finally {
+          RecordLineMap.changed(fileName, lineMap);
+        }
+      }
 
-      if (parts.length > 0) {
-        lineNumber = Integer.parseInt(parts[0]);
+      return 0;
+    } finally {
+      Metrics.stop("file_append", start);
+    }
+  }
+  /**
+   * @brief Finds the line number of the last line in a record file.
+   * Reads the file backwards from its end in small blocks until the start of the last line is found,
+   * then parses the "N-)" prefix of that line. Trailing line breaks are skipped. A deleted "N-#" last line still counts,
+   * so line numbers in the file keep growing until the file is compacted.
+   *
+   * @param file The opened record file.
+   * @return The last line's line number, 0 if the file is empty or the last line has no line number.
+   * @throws IOException
+   */
+  static int lastLineNumber(RandomAccessFile file) throws IOException {
+    byte[] block = new byte[256];
+    long position = file.length();
+    long lineStart = 0;
+    long lineEnd = -1;
+
+    search:
+    while (position > 0) {
+      int length = (int) Math.min(block.length, position);
+      position -= length;
+      file.seek(position);
+      file.readFully(block, 0, length);
+
+      for (int i = length - 1; i >= 0; i--) {
+        if (lineEnd < 0) {
+          if (block[i] != '\n' && block[i] != '\r') {
+            lineEnd = position + i + 1;
+          }
+        } else if (block[i] == '\n') {
+          lineStart = position + i + 1;
+          break search;
+        }
       }
     }
 
-    lineNumber++;
+    if (lineEnd < 0) {
+      return 0;
+    }
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
-      writer.write(lineNumber + "-)" + text + "\n");
-    } catch (IOException e) {
-      System.err.print("\nFile operation failed.");
-      return -1;
+    // Line numbers never have more than 10 digits
+    byte[] prefix = new byte[(int) Math.min(11, lineEnd - lineStart)];
+    file.seek(lineStart);
+    file.readFully(prefix);
+    int lineNumber = 0;
+
+    for (byte b : prefix) {
+      if (b < '0' || b > '9') {
+        break;
+      }
+
+      lineNumber = lineNumber * 10 + (b - '0');
     }
 
-    return 0;
+    return lineNumber;
   }
   /**
    * @brief This function opens a binary file, finds the line that the user wants to edit, and replaces it with new text.
+   * Since the whole file is rewritten anyway, deleted "N-#" lines are dropped and the other lines renumbered on the way.
    *
    * @param fileName              The name of the file to edit.
    * @param lineNumberToEdit     The line number to edit.
@@ -502,88 +2021,223 @@ public class RentalManagementLib {
    * @return 0 on success.
    */
   public static int file_edit(String fileName, int lineNumberToEdit, String newLine) {
-    File file = new File(fileName);
-    ArrayList<String> lines = new ArrayList<>();
-    int lineCount = 0;
+    long start = Metrics.start();
+
+    try {
+      File file = new File(fileName);
+      ArrayList<String> lines = new ArrayList<>();
+      int lineCount = 0;
+      int deletedCount = 0;
+
+      synchronized (fileLock(fileName)) {
+        RecordLineMap.changed(fileName, null);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+          String line;
+
+          while ((line = reader.readLine()) != null) {
+            if (isTombstone(line)) {
+              deletedCount++;
+              continue;
+            }
+
+            lineCount++;
+            lines.add(deletedCount > 0 ? renumberLine(line, lineCount) : line);
+          }
+        } catch (IOException e) {
+          System.out.print("\nFile operation failed");
+          return -1;
+        }
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-      String line;
+        if (lineNumberToEdit > 0 && lineNumberToEdit <= lineCount) {
+          // Directly replace the line without additional formatting
+          lines.set(lineNumberToEdit - 1, lineNumberToEdit + "-)" + newLine);
+        } else {
+          System.out.print("\nInvalid line number.");
+          return -1;
+        }
 
-      while ((line = reader.readLine()) != null) {
-        lines.add(line);
-        lineCount++;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+          // Write updated lines back to file
+          for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+          }
+        } catch (IOException e) {
+          System.out.print("\nFile operation failed");
+          e.printStackTrace();
+        }
       }
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      return -1;
+
+      System.out.print("\nData successfully edited.");
+      return 0;
+    } finally {
+      Metrics.stop("file_edit", start);
     }
+  }
 
-    if (lineNumberToEdit > 0 && lineNumberToEdit <= lineCount) {
-      // Directly replace the line without additional formatting
-      lines.set(lineNumberToEdit - 1, lineNumberToEdit + "-)" + newLine);
-    } else {
+  /**
+   * @brief Opens a binary file and deletes the line the user wanted by turning its "N-)" prefix into "N-#".
+   * Only one byte is written, the lines after it keep their place and are renumbered by the readers. The line is found
+   * through the cached RecordLineMap of the file, which is only read again after the file was changed by something else.
+   * The file is compacted when the share of deleted lines passes StorageVariables.compactionThreshold.
+   *
+   * @param fileName              The name of the file to delete the line from.
+   * @param lineNumberToDelete   The line number to delete.
+   * @return 0 on success.
+   */
+  public static int file_line_delete(String fileName, int lineNumberToDelete) {
+    long start = Metrics.start();
+
+    try {
+      RecordLineMap lineMap;
+
+      synchronized (fileLock(fileName)) {
+        try {
+          lineMap = RecordLineMap.cached(fileName);
+        } catch (IOException e) {
+          System.out.print("\nFile operation failed");
+          return -1;
+        }
+
+        if (deleteRecordLine(fileName, lineMap, lineNumberToDelete) != 0) {
+          return -1;
+        }
+      }
+
+      compactIfNeeded(fileName, lineMap);
+      return 0;
+    } finally {
+      Metrics.stop("file_line_delete", start);
+    }
+  }
+  /**
+   * @brief Writes the tombstone mark of a record whose line offset is known.
+   *
+   * @param fileName The name of the file to delete the line from.
+   * @param lineMap The map of the file, the deleted record is removed from it.
+   * @param lineNumberToDelete The line number to delete.
+   * @return 0 on success, -1 on failure.
+   */
+  static int deleteRecordLine(String fileName, RecordLineMap lineMap, int lineNumberToDelete) {
+    if (lineNumberToDelete < 1 || lineNumberToDelete > lineMap.liveCount()) {
       System.out.print("\nInvalid line number.");
       return -1;
     }
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-      // Write updated lines back to file
-      for (String line : lines) {
-        writer.write(line);
-        writer.newLine();
+    synchronized (fileLock(fileName)) {
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(fileName, "rw")) {
+        long lineStart = lineMap.offset(lineNumberToDelete);
+        // Line numbers never have more than 10 digits
+        byte[] prefix = new byte[12];
+        randomAccessFile.seek(lineStart);
+        int length = randomAccessFile.read(prefix);
+        int digits = 0;
+
+        while (digits < length && prefix[digits] >= '0' && prefix[digits] <= '9') {
+          digits++;
+        }
+
+        if (digits == 0 || digits + 1 >= length || prefix[digits] != '-' || prefix[digits + 1] != ')') {
+          throw new IOException("Line " + lineNumberToDelete + " has no record number");
+        }
+
+        randomAccessFile.seek(lineStart + digits + 1);
+        randomAccessFile.write(TOMBSTONE_MARK);
+      } catch (IOException e) {
+        System.out.print("\nFile operation failed");
+        return -1;
       }
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      e.printStackTrace();
+
+      lineMap.remove(lineNumberToDelete);
+      RecordLineMap.changed(fileName, lineMap);
     }
 
-    System.out.print("\nData successfully edited.");
+    System.out.print("\nData successfully deleted");
     return 0;
   }
-
   /**
-   * @brief Opens a binary file, deletes the line the user wanted, and makes adjustments on the line number accordingly.
+   * @brief Compacts a record file if its share of deleted lines passed StorageVariables.compactionThreshold.
+   * The compaction runs on a background thread when StorageVariables.backgroundCompaction is set.
    *
-   * @param fileName              The name of the file to delete the line from.
-   * @param lineNumberToDelete   The line number to delete.
-   * @return 0 on success.
+   * @param fileName The name of the record file.
+   * @param lineMap The map of the file.
+   * @return true if the file was compacted before returning.
    */
-  public static int file_line_delete(String fileName, int lineNumberToDelete) {
-    File file = new File(fileName);
-    ArrayList<String> lines = new ArrayList<>();
+  static boolean compactIfNeeded(String fileName, RecordLineMap lineMap) {
+    int lineCount = lineMap.liveCount() + lineMap.deadCount();
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-      String line;
+    if (lineMap.deadCount() == 0 || lineMap.deadCount() <= lineCount * StorageVariables.compactionThreshold) {
+      return false;
+    }
 
-      while ((line = reader.readLine()) != null) {
-        lines.add(line);
+    if (StorageVariables.backgroundCompaction) {
+      if (PENDING_COMPACTIONS.add(fileName)) {
+        compactionExecutor().execute(() -> {
+          PENDING_COMPACTIONS.remove(fileName);
+          file_compact(fileName);
+        });
       }
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      return -1;
+
+      return false;
     }
 
-    if (lineNumberToDelete < 1 || lineNumberToDelete > lines.size()) {
-      System.out.print("\nInvalid line number.");
-      return -1;
+    return file_compact(fileName) == 0;
+  }
+  /**
+   * @brief Returns the thread that runs background compactions.
+   *
+   * @return The executor.
+   */
+  private static synchronized ExecutorService compactionExecutor() {
+    if (compactionExecutor == null) {
+      compactionExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "record-compaction");
+        thread.setDaemon(true);
+        return thread;
+      });
     }
 
-    lines.remove(lineNumberToDelete - 1); // Remove the specified line
+    return compactionExecutor;
+  }
+  /**
+   * @brief Rewrites a record file without its deleted "N-#" lines and renumbers the other lines.
+   * The new content is written to a temporary file first, which then replaces the record file.
+   *
+   * @param fileName The name of the record file.
+   * @return 0 on success, -1 on failure.
+   */
+  public static int file_compact(String fileName) {
+    File file = new File(fileName);
+    File compacted = new File(fileName + ".compact");
+
+    synchronized (fileLock(fileName)) {
+      RecordLineMap.changed(fileName, null);
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-      // Write updated lines back to file, adjusting line numbers if necessary
-      for (int j = 0; j < lines.size(); j++) {
-        String line = lines.get(j);
-        writer.write((j + 1) + "-)" + line.substring(line.indexOf("-)") + 2));
-        writer.newLine();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+          BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(compacted), StandardCharsets.UTF_8))) {
+        String line;
+        int lineCount = 0;
+
+        while ((line = reader.readLine()) != null) {
+          if (!isTombstone(line)) {
+            writer.write(renumberLine(line, ++lineCount));
+            writer.newLine();
+          }
+        }
+      } catch (IOException e) {
+        compacted.delete();
+        return -1;
+      }
+
+      try {
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        compacted.delete();
+        return -1;
       }
-    } catch (IOException e) {
-      System.out.print("\nFile operation failed");
-      e.printStackTrace();
-      return -1;
     }
 
-    System.out.print("\nData successfully deleted");
     return 0;
   }
 
@@ -760,15 +2414,8 @@ public class RentalManagementLib {
     String address = scanner.nextLine();
     String formattedRecord = String.format("PropertyID:%d / PropertyAge:%d / Bedrooms:%d / Livingrooms:%d / Floors:%d / Size:%d / Address:%s",
                                            propertyID, propertyAge, bedrooms, livingRooms, floors, size, address);
-    File file = new File("property_records.bin");
-
-    if (!file.exists()) {
-      file_write("property_records.bin",formattedRecord);
-      return 0;
-    } else {
-      file_append("property_records.bin",formattedRecord);
-      return 0;
-    }
+    propertyStore.add(formattedRecord);
+    return 0;
   }
   /**
    * @brief edit property record.
@@ -802,7 +2449,7 @@ public class RentalManagementLib {
     String formattedRecord = String.format("PropertyID:%d / PropertyAge:%d / Bedrooms:%d / Livingrooms:%d / Floors:%d / Size:%d / Address:%s",
                                            propertyID, propertyAge, bedrooms, livingRooms, floors, size, address);
 
-    if (file_edit("property_records.bin", RecordNumberToEdit, formattedRecord) == 0) {
+    if (propertyStore.edit(RecordNumberToEdit, formattedRecord) == 0) {
       return 0;
     } else {
       return -1;
@@ -817,7 +2464,7 @@ public class RentalManagementLib {
     System.out.print("\nPlease enter record number to delete:");
     int RecordNumberToDelete = scanner.nextInt();
 
-    if (file_line_delete("property_records.bin", RecordNumberToDelete) == 0) {
+    if (propertyStore.delete(RecordNumberToDelete) == 0) {
       return 0;
     } else {
       return -1;
@@ -829,32 +2476,38 @@ public class RentalManagementLib {
    * @return 0.
    */
   public static int sort_property_record() {
-    QuickSorter<PropertyInfo> propertySorter = new QuickSorter<>();
-    String input = file_read("property_records.bin",'Y');
+    return sort_property_record(null);
+  }
+  /**
+   * @brief sort property record, one page at a time if RenderVariables.pageSize is set.
+   *
+   * @param scanner The scanner to ask for the next page, or null to list every record.
+   * @return 0.
+   */
+  public static int sort_property_record(Scanner scanner) {
+    ExternalSorter<PropertyInfo> externalSorter = propertyStore.externalSorter();
 
-    if (input == null) {
-      return -1;
+    if (externalSorter != null) {
+      System.out.print("\n------------Property Records Sorted By PropertyID------------");
+      RecordRenderer<PropertyInfo> renderer = new RecordRenderer<>(RentalManagementLib::appendRecord, scanner);
+      int result = externalSorter.sort(renderer);
+      renderer.finish();
+      return result;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<PropertyInfo> properties = new ArrayList<>();
-
-    for (String line : lines) {
-      PropertyInfo property = parsePropertyInfo(line);
+    QuickSorter<PropertyInfo> propertySorter = new QuickSorter<>();
+    ArrayList<PropertyInfo> records = propertyStore.records();
 
-      if (property != null) {
-        properties.add(property);
-      }
+    if (records == null) {
+      return -1;
     }
 
-    propertySorter.quickSort(properties, 0, properties.size() - 1);
+    ArrayList<PropertyInfo> properties = new ArrayList<>(records);
+
+    propertySorter.sort(properties);
     System.out.print("\n------------Property Records Sorted By PropertyID------------");
 
-    for (PropertyInfo property : properties) {
-      System.out.printf("\n%d-)PropertyID:%d / PropertyAge:%d / Bedrooms:%d / Livingrooms:%d / Floors:%d / Size:%d / Address:%s",
-                        property.recordNumber, property.propertyID, property.propertyAge, property.bedrooms,
-                        property.livingrooms, property.floors, property.size, property.address);
-    }
+    RecordRenderer.list(scanner, properties, RentalManagementLib::appendRecord);
 
     return 0;
   }
@@ -864,31 +2517,17 @@ public class RentalManagementLib {
    * @return 0.
    */
   public static int search_property_record(Scanner scanner) {
-    QuickSorter<PropertyInfo> propertySorter = new QuickSorter<>();
     System.out.print("\nPlease enter the ID of the Property you want to find:");
     int propertyIDToFind = scanner.nextInt();
-    String input = file_read("property_records.bin",'Y');
 
-    if (input == null) {
+    if (!propertyStore.exists()) {
+      System.out.print("\nFile operation failed");
       return -1;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<PropertyInfo> properties = new ArrayList<>();
-
-    for (String line : lines) {
-      PropertyInfo property = parsePropertyInfo(line);
-
-      if (property != null) {
-        properties.add(property);
-      }
-    }
-
-    propertySorter.quickSort(properties, 0, properties.size() - 1);
-    int indexOfID = propertySorter.recursiveBinarySearch(properties, 0, properties.size()-1, propertyIDToFind);
+    PropertyInfo foundProperty = propertyStore.find(propertyIDToFind);
 
-    if (indexOfID != -1) {
-      PropertyInfo foundProperty = properties.get(indexOfID);
+    if (foundProperty != null) {
       System.out.print("\n------------Property Record Found By PropertyID------------");
       System.out.printf("\n%d-)PropertyID:%d / PropertyAge:%d / Bedrooms:%d / Livingrooms:%d / Floors:%d / Size:%d / Address:%s",
                         foundProperty.recordNumber, foundProperty.propertyID, foundProperty.propertyAge, foundProperty.bedrooms,
@@ -923,15 +2562,8 @@ public class RentalManagementLib {
     String surname = scanner.nextLine();
     String formattedRecord = String.format("TenantID:%d / PropertyID:%d / Rent:%d / Birthdate:%s / Name:%s / Surname:%s",
                                            tenantID,propertyID, rent, birthdate, name, surname);
-    File file = new File("tenant_records.bin");
-
-    if (!file.exists()) {
-      file_write("tenant_records.bin",formattedRecord);
-      return 0;
-    } else {
-      file_append("tenant_records.bin",formattedRecord);
-      return 0;
-    }
+    tenantStore.add(formattedRecord);
+    return 0;
   }
   /**
    * @brief edit teneat record.
@@ -960,7 +2592,7 @@ public class RentalManagementLib {
     String formattedRecord = String.format("TenantID:%d / PropertyID:%d / Rent:%d / Birthdate:%s / Name:%s / Surname:%s",
                                            tenantID,propertyID, rent, birthdate, name, surname);
 
-    if (file_edit("tenant_records.bin", RecordNumberToEdit, formattedRecord) == 0) {
+    if (tenantStore.edit(RecordNumberToEdit, formattedRecord) == 0) {
       return 0;
     } else {
       return -1;
@@ -975,7 +2607,7 @@ public class RentalManagementLib {
     System.out.print("\nPlease enter record number to delete:");
     int RecordNumberToDelete = scanner.nextInt();
 
-    if (file_line_delete("tenant_records.bin", RecordNumberToDelete) == 0) {
+    if (tenantStore.delete(RecordNumberToDelete) == 0) {
       return 0;
     } else {
       return -1;
@@ -989,32 +2621,38 @@ public class RentalManagementLib {
    * @return 0.
    */
   public static int sort_tenant_record() {
-    QuickSorter<TenantInfo> tenantSorter = new QuickSorter<>();
-    String input = file_read("tenant_records.bin",'Y');
+    return sort_tenant_record(null);
+  }
+  /**
+   * @brief sort tenant record, one page at a time if RenderVariables.pageSize is set.
+   *
+   * @param scanner The scanner to ask for the next page, or null to list every record.
+   * @return 0.
+   */
+  public static int sort_tenant_record(Scanner scanner) {
+    ExternalSorter<TenantInfo> externalSorter = tenantStore.externalSorter();
 
-    if (input == null) {
-      return -1;
+    if (externalSorter != null) {
+      System.out.print("\n------------Tenat Records Sorted By TenantID------------");
+      RecordRenderer<TenantInfo> renderer = new RecordRenderer<>(RentalManagementLib::appendRecord, scanner);
+      int result = externalSorter.sort(renderer);
+      renderer.finish();
+      return result;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<TenantInfo> tenants = new ArrayList<>();
-
-    for (String line : lines) {
-      TenantInfo tenant = parseTenantInfo(line);
+    QuickSorter<TenantInfo> tenantSorter = new QuickSorter<>();
+    ArrayList<TenantInfo> records = tenantStore.records();
 
-      if (tenants != null) {
-        tenants.add(tenant);
-      }
+    if (records == null) {
+      return -1;
     }
 
-    tenantSorter.quickSort(tenants, 0, tenants.size() - 1);
+    ArrayList<TenantInfo> tenants = new ArrayList<>(records);
+
+    tenantSorter.sort(tenants);
     System.out.print("\n------------Tenat Records Sorted By TenantID------------");
 
-    for (TenantInfo tenant : tenants) {
-      System.out.printf("\n%d-)TenantID:%d / PropertyID:%d / Rent:%d / BirthDate:%s / Name:%s / Surname:%s",
-                        tenant.recordNumber,tenant.tenantID, tenant.propertyID, tenant.rent, tenant.birthDate,
-                        tenant.name, tenant.surname);
-    }
+    RecordRenderer.list(scanner, tenants, RentalManagementLib::appendRecord);
 
     return 0;
   }
@@ -1024,31 +2662,17 @@ public class RentalManagementLib {
    * @return 0.
    */
   public static int search_tenant_record(Scanner scanner) {
-    QuickSorter<TenantInfo> tenantSorter = new QuickSorter<>();
     System.out.print("\nPlease enter the ID of the Tenant you want to find:");
     int TenantIDToFind = scanner.nextInt();
-    String input = file_read("tenant_records.bin",'Y');
 
-    if (input == null) {
+    if (!tenantStore.exists()) {
+      System.out.print("\nFile operation failed");
       return -1;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<TenantInfo> tenants = new ArrayList<>();
-
-    for (String line : lines) {
-      TenantInfo tenant = parseTenantInfo(line);
-
-      if (tenants != null) {
-        tenants.add(tenant);
-      }
-    }
-
-    tenantSorter.quickSort(tenants, 0, tenants.size() - 1);
-    int indexOfID = tenantSorter.recursiveBinarySearch(tenants, 0, tenants.size()-1, TenantIDToFind);
+    TenantInfo foundTenant = tenantStore.find(TenantIDToFind);
 
-    if (indexOfID != -1) {
-      TenantInfo foundTenant = tenants.get(indexOfID);
+    if (foundTenant != null) {
       System.out.print("\n------------Tenat Records Found By TenantID------------");
       System.out.printf("\n%d-)TenantID:%d / PropertyID:%d / Rent:%d / BirthDate:%s / Name:%s / Surname:%s",
                         foundTenant.recordNumber,foundTenant.tenantID, foundTenant.propertyID, foundTenant.rent, foundTenant.birthDate,
@@ -1074,15 +2698,8 @@ public class RentalManagementLib {
     System.out.print("\nPlease enter DueDate:");
     String duedate = scanner.nextLine();
     String formattedRecord = String.format("TenantID:%d / CurrentRentDebt:%d / DueDate:%s",tenantID,currentrentdebt,duedate);
-    File file = new File("rent_records.bin");
-
-    if (!file.exists()) {
-      file_write("rent_records.bin",formattedRecord);
-      return 0;
-    } else {
-      file_append("rent_records.bin",formattedRecord);
-      return 0;
-    }
+    rentStore.add(formattedRecord);
+    return 0;
   }
   /**
    * @brief edit rent record.
@@ -1104,7 +2721,7 @@ public class RentalManagementLib {
     scanner.nextLine(); // Consume newline left-over
     String formattedRecord = String.format("TenantID:%d / CurrentRentDebt:%d / DueDate:%s",tenantID,currentrentdebt,duedate);
 
-    if (file_edit("rent_records.bin", RecordNumberToEdit, formattedRecord) == 0) {
+    if (rentStore.edit(RecordNumberToEdit, formattedRecord) == 0) {
       return 0;
     } else {
       return -1;
@@ -1119,7 +2736,7 @@ public class RentalManagementLib {
     System.out.print("\nPlease enter record number to delete:");
     int RecordNumberToDelete = scanner.nextInt();
 
-    if (file_line_delete("rent_records.bin", RecordNumberToDelete) == 0) {
+    if (rentStore.delete(RecordNumberToDelete) == 0) {
       return 0;
     } else {
       return -1;
@@ -1131,68 +2748,61 @@ public class RentalManagementLib {
    * @return 0.
    */
   public static int sort_rent_record() {
-    QuickSorter<RentInfo> rentSorter = new QuickSorter<>();
-    String input = file_read("rent_records.bin",'Y');
+    return sort_rent_record(null);
+  }
+  /**
+   * @brief sort rent record, one page at a time if RenderVariables.pageSize is set.
+   *
+   * @param scanner The scanner to ask for the next page, or null to list every record.
+   * @return 0.
+   */
+  public static int sort_rent_record(Scanner scanner) {
+    ExternalSorter<RentInfo> externalSorter = rentStore.externalSorter();
 
-    if (input == null) {
-      return -1;
+    if (externalSorter != null) {
+      System.out.print("\n------------Rent Records Sorted By TenantID------------");
+      RecordRenderer<RentInfo> renderer = new RecordRenderer<>(RentalManagementLib::appendRecord, scanner);
+      int result = externalSorter.sort(renderer);
+      renderer.finish();
+      return result;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<RentInfo> rents = new ArrayList<>();
-
-    for (String line : lines) {
-      RentInfo rent = parseRentInfo(line);
+    QuickSorter<RentInfo> rentSorter = new QuickSorter<>();
+    ArrayList<RentInfo> records = rentStore.records();
 
-      if (rents != null) {
-        rents.add(rent);
-      }
+    if (records == null) {
+      return -1;
     }
 
-    rentSorter.quickSort(rents, 0, rents.size() - 1);
+    ArrayList<RentInfo> rents = new ArrayList<>(records);
+
+    rentSorter.sort(rents);
     System.out.print("\n------------Rent Records Sorted By TenantID------------");
 
-    for (RentInfo rent : rents) {
-      System.out.printf("\n%d-)TenantID:%d / CurrentRentDebt:%d / DueDate:%s",
-                        rent.recordNumber,rent.tenantID, rent.currentRentDebt, rent.dueDate);
-    }
+    RecordRenderer.list(scanner, rents, RentalManagementLib::appendRecord);
 
     return 0;
   }
   /**
-   * @brief search rent record.
+   * @brief search rent record, through the rentsByTenant index.
    *
    * @return 0.
    */
   public static int search_rent_record(Scanner scanner) {
-    QuickSorter<RentInfo> rentSorter = new QuickSorter<>();
     System.out.print("\nPlease enter the ID of the Tenant you want to find:");
     int TenantIDToFind = scanner.nextInt();
-    String input = file_read("rent_records.bin",'Y');
 
-    if (input == null) {
+    if (!rentStore.exists()) {
+      System.out.print("\nFile operation failed");
       return -1;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<RentInfo> rents = new ArrayList<>();
-
-    for (String line : lines) {
-      RentInfo rent = parseRentInfo(line);
-
-      if (rents != null) {
-        rents.add(rent);
-      }
-    }
-
-    rentSorter.quickSort(rents, 0, rents.size() - 1);
-    int indexOfID = rentSorter.recursiveBinarySearch(rents, 0, rents.size()-1, TenantIDToFind);
+    List<RentInfo> foundRents = rentsByTenant.get(TenantIDToFind);
 
-    if (indexOfID != -1) {
-      RentInfo foundRent = rents.get(indexOfID);
+    if (!foundRents.isEmpty()) {
       System.out.print("\n------------Rent Record Founded By TenantID------------");
-      System.out.printf("\n%d-)TenantID:%d / CurrentRentDebt:%d / DueDate:%s",
-                        foundRent.recordNumber,foundRent.tenantID, foundRent.currentRentDebt, foundRent.dueDate);
+
+      RecordRenderer.render(foundRents, RentalManagementLib::appendRecord);
     } else {
       System.out.print("\nTenant ID not found.");
     }
@@ -1220,15 +2830,8 @@ public class RentalManagementLib {
     String expectedfinishingdate = scanner.nextLine();
     String formattedRecord = String.format("PropertyID:%d / Cost:%d / Priority:%d / MaintenanceType:%s / ExpectedFinishingDate:%s",
                                            propertyID, cost, priority, maintenancetype, expectedfinishingdate);
-    File file = new File("maintenance_records.bin");
-
-    if (!file.exists()) {
-      file_write("maintenance_records.bin",formattedRecord);
-      return 0;
-    } else {
-      file_append("maintenance_records.bin",formattedRecord);
-      return 0;
-    }
+    maintenanceStore.add(formattedRecord);
+    return 0;
   }
   /**
    * @brief edit maintenance record.
@@ -1255,7 +2858,7 @@ public class RentalManagementLib {
     String formattedRecord = String.format("PropertyID:%d / Cost:%d / Priority:%d / MaintenanceType:%s / ExpectedFinishingDate:%s",
                                            propertyID, cost, priority, maintenancetype, expectedfinishingdate);
 
-    if (file_edit("maintenance_records.bin", RecordNumberToEdit, formattedRecord) == 0) {
+    if (maintenanceStore.edit(RecordNumberToEdit, formattedRecord) == 0) {
       return 0;
     } else {
       return -1;
@@ -1270,7 +2873,7 @@ public class RentalManagementLib {
     System.out.print("\nPlease enter record number to delete:");
     int RecordNumberToDelete = scanner.nextInt();
 
-    if (file_line_delete("maintenance_records.bin", RecordNumberToDelete) == 0) {
+    if (maintenanceStore.delete(RecordNumberToDelete) == 0) {
       return 0;
     } else {
       return -1;
@@ -1319,6 +2922,10 @@ public class RentalManagementLib {
    * @return 0
    */
   static int maintenanceHeapSort(ArrayList<MaintenanceInfo> arr) {
+    long start = Metrics.start();
+    RecordEvents.Sort event = new RecordEvents.Sort();
+    event.start(RecordEvents.entity(arr), arr.size(), 0);
+    event.algorithm = "heap";
     int n = arr.size();
 
     // Build heap (rearrange array)
@@ -1334,43 +2941,64 @@ public class RentalManagementLib {
       maintenanceHeapify(arr, i, 0);
     }
 
+    event.commit();
+    Metrics.stop("sort", start);
     return 0;
   }
+  /**
+   * @brief Sorts maintenance records by priority, with the heap sort for short lists and QuickSorter.sort otherwise.
+   *
+   * @param maintenances The records to be sorted.
+   */
+  static void sortMaintenances(ArrayList<MaintenanceInfo> maintenances) {
+    if (SortVariables.algorithm == SortVariables.Algorithm.AUTO && maintenances.size() < SortVariables.radixSortSize) {
+      maintenanceHeapSort(maintenances);
+    } else {
+      new QuickSorter<MaintenanceInfo>().sort(maintenances);
+    }
+  }
   /**
    * @brief sort maintenance record.
    *
    * @return 0.
    */
   public static int sort_maintenance_record() {
-    String input = file_read("maintenance_records.bin",'Y');
+    return sort_maintenance_record(null);
+  }
+  /**
+   * @brief sort maintenance record, one page at a time if RenderVariables.pageSize is set.
+   *
+   * @param scanner The scanner to ask for the next page, or null to list every record.
+   * @return 0.
+   */
+  public static int sort_maintenance_record(Scanner scanner) {
+    ExternalSorter<MaintenanceInfo> externalSorter = maintenanceStore.externalSorter();
 
-    if (input == null) {
-      return -1;
+    if (externalSorter != null) {
+      System.out.print("\n------------Maintenances Records Sorted By Priority------------");
+      RecordRenderer<MaintenanceInfo> renderer = new RecordRenderer<>(RentalManagementLib::appendRecord, scanner);
+      int result = externalSorter.sort(renderer);
+      renderer.finish();
+      return result;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<MaintenanceInfo> maintenances = new ArrayList<>();
-
-    for (String line : lines) {
-      MaintenanceInfo maintenance = parseMaintenanceInfo(line);
+    ArrayList<MaintenanceInfo> records = maintenanceStore.records();
 
-      if (maintenances != null) {
-        maintenances.add(maintenance);
-      }
+    if (records == null) {
+      return -1;
     }
 
-    maintenanceHeapSort(maintenances);
+    ArrayList<MaintenanceInfo> maintenances = new ArrayList<>(records);
+
+    sortMaintenances(maintenances);
     System.out.print("\n------------Maintenances Records Sorted By Priority------------");
 
-    for (MaintenanceInfo maintenance : maintenances) {
-      System.out.printf("\n%d-)PropertyID:%d / Cost:%d / Priority:%d / MaintenanceType:%s / ExpectedFinishingDate:%s",
-                        maintenance.recordNumber,maintenance.propertyID, maintenance.cost, maintenance.priority, maintenance.maintenanceType,maintenance.expectedFinishingDate );
-    }
+    RecordRenderer.list(scanner, maintenances, RentalManagementLib::appendRecord);
 
     return 0;
   }
   /**
-  * @brief search maintenance record.
+  * @brief search maintenance record, with a binary search of the cached Priority view.
   *
   * @return 0.
   */
@@ -1378,35 +3006,451 @@ public class RentalManagementLib {
     QuickSorter<MaintenanceInfo> binarySearcher = new QuickSorter<>();
     System.out.print("\nPlease enter the Priority of the Property you want to find:");
     int priorityToFind = scanner.nextInt();
-    String input = file_read("maintenance_records.bin",'Y');
+    // The Priority view is sorted once per change of the store, so a search is a binary search
+    ArrayList<MaintenanceInfo> maintenances = maintenanceViews.sorted(MAINTENANCE_PRIORITY_FIELD);
+
+    if (maintenances == null) {
+      return -1;
+    }
+
+    List<MaintenanceInfo> foundMaintenances = binarySearcher.equalRange(maintenances, priorityToFind);
+
+    if (!foundMaintenances.isEmpty()) {
+      System.out.print("\n------------Maintenance Record Founded By Priority------------");
+
+      RecordRenderer.render(foundMaintenances, RentalManagementLib::appendRecord);
+    } else {
+      System.out.print("\nPriority not found.");
+    }
+
+    return 0;
+  }
+  /**
+   * @brief Completes the maintenance with the highest priority by deleting its record.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  public static int complete_next_maintenance() {
+    if (!maintenanceStore.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    MaintenanceInfo next = maintenanceQueue.peek();
+
+    if (next == null) {
+      System.out.print("\nNo open maintenances.");
+      return 0;
+    }
+
+    System.out.print("\n------------Completed Maintenance------------");
+    printRecord(next);
+    return maintenanceStore.delete(next.recordNumber);
+  }
+  /**
+   * @brief Shows the maintenances with the highest priority, most urgent first.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  public static int show_top_maintenances(Scanner scanner) {
+    System.out.print("\nPlease enter how many maintenances you want to see:");
+    int count = scanner.nextInt();
+
+    if (!maintenanceStore.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    printRecords("Most Urgent Maintenances", maintenanceQueue.top(count), RentalManagementLib::appendRecord);
+    return 0;
+  }
+  /**
+   * @brief Joins records with the records of an index whose key matches one of their fields.
+   * The index is the hash table of the join, so every distinct key of the left records is looked up once.
+   *
+   * @param left The records to join.
+   * @param leftKey The field of the left records that references the indexed records.
+   * @param right The index of the records to join with.
+   * @return The matching indexed records, grouped in the order of the left records.
+   */
+  static <L, R extends Identifiable & Numbered> ArrayList<R> hashJoin(List<L> left, ToIntFunction<L> leftKey, SecondaryIndex<R> right) {
+    LinkedHashSet<Integer> keys = new LinkedHashSet<>();
+
+    for (L record : left) {
+      keys.add(leftKey.applyAsInt(record));
+    }
+
+    ArrayList<R> joined = new ArrayList<>();
+
+    for (int key : keys) {
+      joined.addAll(right.get(key));
+    }
+
+    return joined;
+  }
+  /**
+   * @brief Returns the tenants of a property.
+   *
+   * @param propertyID The ID of the property.
+   * @return The tenants in record order.
+   */
+  static ArrayList<TenantInfo> tenantsOfProperty(int propertyID) {
+    return tenantsByProperty.get(propertyID);
+  }
+  /**
+   * @brief Returns the rent records of the tenants of a property.
+   *
+   * @param propertyID The ID of the property.
+   * @return The rent records, grouped by tenant.
+   */
+  static ArrayList<RentInfo> rentsOfProperty(int propertyID) {
+    return hashJoin(tenantsOfProperty(propertyID), tenant -> tenant.tenantID, rentsByTenant);
+  }
+  /**
+   * @brief Returns the rent records of a tenant.
+   *
+   * @param tenantID The ID of the tenant.
+   * @return The rent records in record order.
+   */
+  static ArrayList<RentInfo> rentsOfTenant(int tenantID) {
+    return rentsByTenant.get(tenantID);
+  }
+  /**
+   * @brief Returns the maintenance records of a property.
+   *
+   * @param propertyID The ID of the property.
+   * @return The maintenance records in record order.
+   */
+  static ArrayList<MaintenanceInfo> maintenanceOfProperty(int propertyID) {
+    return maintenanceByProperty.get(propertyID);
+  }
+  /**
+   * @brief Adds up the current rent debt of rent records.
+   *
+   * @param rents The rent records.
+   * @return The total debt.
+   */
+  static long totalRentDebt(List<RentInfo> rents) {
+    long total = 0;
+
+    for (RentInfo rent : rents) {
+      total += rent.currentRentDebt;
+    }
+
+    return total;
+  }
+  /**
+   * @brief Appends a property record to a buffer in the "\nN-)text" layout of the listings.
+   *
+   * @param out The buffer.
+   * @param property The record.
+   * @return The buffer.
+   */
+  static StringBuilder appendRecord(StringBuilder out, PropertyInfo property) {
+    return out.append('\n').append(property.recordNumber).append("-)PropertyID:").append(property.propertyID)
+           .append(" / PropertyAge:").append(property.propertyAge).append(" / Bedrooms:").append(property.bedrooms)
+           .append(" / Livingrooms:").append(property.livingrooms).append(" / Floors:").append(property.floors)
+           .append(" / Size:").append(property.size).append(" / Address:").append(property.address);
+  }
+  /**
+   * @brief Appends a tenant record to a buffer in the "\nN-)text" layout of the listings.
+   *
+   * @param out The buffer.
+   * @param tenant The record.
+   * @return The buffer.
+   */
+  static StringBuilder appendRecord(StringBuilder out, TenantInfo tenant) {
+    return out.append('\n').append(tenant.recordNumber).append("-)TenantID:").append(tenant.tenantID)
+           .append(" / PropertyID:").append(tenant.propertyID).append(" / Rent:").append(tenant.rent)
+           .append(" / BirthDate:").append(tenant.birthDate).append(" / Name:").append(tenant.name)
+           .append(" / Surname:").append(tenant.surname);
+  }
+  /**
+   * @brief Appends a rent record to a buffer in the "\nN-)text" layout of the listings.
+   *
+   * @param out The buffer.
+   * @param rent The record.
+   * @return The buffer.
+   */
+  static StringBuilder appendRecord(StringBuilder out, RentInfo rent) {
+    return out.append('\n').append(rent.recordNumber).append("-)TenantID:").append(rent.tenantID)
+           .append(" / CurrentRentDebt:").append(rent.currentRentDebt).append(" / DueDate:").append(rent.dueDate);
+  }
+  /**
+   * @brief Appends a maintenance record to a buffer in the "\nN-)text" layout of the listings.
+   *
+   * @param out The buffer.
+   * @param maintenance The record.
+   * @return The buffer.
+   */
+  static StringBuilder appendRecord(StringBuilder out, MaintenanceInfo maintenance) {
+    return out.append('\n').append(maintenance.recordNumber).append("-)PropertyID:").append(maintenance.propertyID)
+           .append(" / Cost:").append(maintenance.cost).append(" / Priority:").append(maintenance.priority)
+           .append(" / MaintenanceType:").append(maintenance.maintenanceType)
+           .append(" / ExpectedFinishingDate:").append(maintenance.expectedFinishingDate);
+  }
+  /**
+   * @brief Writes a maintenance record to console.
+   *
+   * @param maintenance The record.
+   */
+  static void printRecord(MaintenanceInfo maintenance) {
+    System.out.print(appendRecord(new StringBuilder(), maintenance));
+  }
+  /**
+   * @brief Writes every record of a store to console, one page at a time if RenderVariables.pageSize is set.
+   *
+   * @param scanner The scanner to ask for the next page.
+   * @param store The store of the records.
+   * @param formatter Formats one record.
+   * @return 0 on success, -1 on failure.
+   */
+  static <T extends Identifiable & Numbered> int show_records(Scanner scanner, RecordStore<T> store, RecordRenderer.Formatter<T> formatter) {
+    if (RenderVariables.pageSize <= 0) {
+      return store.show();
+    }
+
+    ArrayList<T> records = store.exists() ? store.records() : null;
+
+    if (records == null) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    RecordRenderer.paginate(scanner, records, formatter, RenderVariables.pageSize);
+    return 0;
+  }
+  /**
+   * @brief Writes a titled list of records to console, or "No records." if it is empty.
+   *
+   * @param title The title.
+   * @param records The records.
+   * @param formatter Formats one record.
+   */
+  static <T> void printRecords(String title, List<T> records, RecordRenderer.Formatter<T> formatter) {
+    System.out.print("\n------------" + title + "------------");
+
+    if (records.isEmpty()) {
+      System.out.print("\nNo records.");
+    }
+
+    RecordRenderer.render(records, formatter);
+  }
+  /**
+   * @brief Shows a property with its tenants, the rent records of its tenants and its maintenance records.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  public static int property_overview(Scanner scanner) {
+    System.out.print("\nPlease enter the ID of the Property you want to see:");
+    int propertyID = scanner.nextInt();
+
+    if (!propertyStore.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    PropertyInfo property = propertyStore.find(propertyID);
+
+    if (property == null) {
+      System.out.print("\nProperty ID not found.");
+      return 0;
+    }
+
+    ArrayList<RentInfo> rents = rentsOfProperty(propertyID);
+    printRecords("Property", Collections.singletonList(property), RentalManagementLib::appendRecord);
+    printRecords("Tenants Of Property", tenantsOfProperty(propertyID), RentalManagementLib::appendRecord);
+    printRecords("Rent Records Of Property", rents, RentalManagementLib::appendRecord);
+    System.out.printf("\nTotal Rent Debt:%d", totalRentDebt(rents));
+    printRecords("Maintenance Records Of Property", maintenanceOfProperty(propertyID), RentalManagementLib::appendRecord);
+    return 0;
+  }
+  /**
+   * @brief Shows a tenant with the property it rents and its rent records.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  public static int tenant_overview(Scanner scanner) {
+    System.out.print("\nPlease enter the ID of the Tenant you want to see:");
+    int tenantID = scanner.nextInt();
+
+    if (!tenantStore.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    TenantInfo tenant = tenantStore.find(tenantID);
+
+    if (tenant == null) {
+      System.out.print("\nTenant ID not found.");
+      return 0;
+    }
+
+    PropertyInfo property = propertyStore.exists() ? propertyStore.find(tenant.propertyID) : null;
+    ArrayList<RentInfo> rents = rentsOfTenant(tenantID);
+    printRecords("Tenant", Collections.singletonList(tenant), RentalManagementLib::appendRecord);
+    printRecords("Property Of Tenant", property == null ? Collections.<PropertyInfo>emptyList() : Collections.singletonList(property),
+                 RentalManagementLib::appendRecord);
+    printRecords("Rent Records Of Tenant", rents, RentalManagementLib::appendRecord);
+    System.out.printf("\nTotal Rent Debt:%d", totalRentDebt(rents));
+    return 0;
+  }
+  /**
+   * @brief Searches properties by a range on any of their numeric fields, fields without limits match every property.
+   *
+   * @return 0 on success, -1 on failure.
+   */
+  public static int property_multi_search(Scanner scanner) {
+    PropertyQuery.Field[] fields = PropertyQuery.Field.values();
+    int[] min = new int[fields.length];
+    int[] max = new int[fields.length];
+
+    for (PropertyQuery.Field field : fields) {
+      System.out.print("\nPlease enter the minimum " + field.label + " (-1 for no limit):");
+      int low = scanner.nextInt();
+      System.out.print("\nPlease enter the maximum " + field.label + " (-1 for no limit):");
+      int high = scanner.nextInt();
+      min[field.ordinal()] = low == -1 ? Integer.MIN_VALUE : low;
+      max[field.ordinal()] = high == -1 ? Integer.MAX_VALUE : high;
+    }
+
+    if (!propertyStore.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    ArrayList<PropertyInfo> properties = propertyQuery.search(min, max);
+
+    if (properties.isEmpty()) {
+      System.out.print("\nNo properties match the search.");
+      return 0;
+    }
+
+    RecordRenderer.render(properties, RentalManagementLib::appendRecord);
+
+    return 0;
+  }
+  /**
+   * @brief Asks for a piece of text and writes the records whose indexed text contains it to console.
+   *
+   * @param scanner The scanner, with the line of the menu choice already read.
+   * @param fieldName The name of the searched field shown to the user.
+   * @param store The store of the records.
+   * @param index The text index of the records.
+   * @param formatter Formats one record.
+   * @return 0 on success, -1 on failure.
+   */
+  static <T extends Identifiable & Numbered> int text_search(Scanner scanner, String fieldName, RecordStore<T> store, TextIndex<T> index,
+      RecordRenderer.Formatter<T> formatter) {
+    System.out.print("\nPlease enter the text to search for in " + fieldName + ":");
+    String query = scanner.nextLine().trim();
+
+    if (!store.exists()) {
+      System.out.print("\nFile operation failed");
+      return -1;
+    }
+
+    ArrayList<T> records = index.containing(query);
+
+    if (records.isEmpty()) {
+      System.out.print("\nNo records match the search.");
+      return 0;
+    }
 
-    if (input == null) {
+    RecordRenderer.render(records, formatter);
+
+    return 0;
+  }
+  /**
+   * @brief Asks for words and a number of typos and writes the records with words close to them to console.
+   *
+   * @param scanner The scanner, with the line of the menu choice already read.
+   * @param fieldName The name of the searched field shown to the user.
+   * @param store The store of the records.
+   * @param index The typo tolerant index of the records.
+   * @param formatter Formats one record.
+   * @return 0 on success, -1 on failure.
+   */
+  static <T extends Identifiable & Numbered> int fuzzy_search(Scanner scanner, String fieldName, RecordStore<T> store, FuzzyIndex<T> index,
+      RecordRenderer.Formatter<T> formatter) {
+    System.out.print("\nPlease enter the words to search for in " + fieldName + ":");
+    String query = scanner.nextLine();
+    System.out.print("\nPlease enter the number of typos allowed in each word:");
+    int typos = scanner.nextInt();
+
+    if (!store.exists()) {
+      System.out.print("\nFile operation failed");
       return -1;
     }
 
-    String[] lines = input.split("\n");
-    ArrayList<MaintenanceInfo> maintenances = new ArrayList<>();
+    ArrayList<T> records = index.within(query, typos);
+
+    if (records.isEmpty()) {
+      System.out.print("\nNo records match the search.");
+      return 0;
+    }
+
+    RecordRenderer.render(records, formatter);
+
+    return 0;
+  }
+  /**
+   * @brief Asks for one or more fields and writes the records sorted by them to console, the first field deciding first.
+   *
+   * @param scanner The scanner.
+   * @param recordName The name of the records shown in the title, for example "Property".
+   * @param views The sorted views of the records.
+   * @param formatter Formats one record.
+   * @return 0 on success, -1 on failure.
+   */
+  static <T extends Identifiable & Numbered> int sort_by_field(Scanner scanner, String recordName, SortedViews<T> views, RecordRenderer.Formatter<T> formatter) {
+    List<SortedViews.Field<T>> fields = views.fields();
+
+    for (int i = 0; i < fields.size(); i++) {
+      System.out.printf("\n%d-)%s", i + 1, fields.get(i).label);
+    }
+
+    ArrayList<Integer> keys = new ArrayList<>();
+    System.out.print("\nPlease enter the field to sort by:");
+
+    while (keys.size() < fields.size()) {
+      int choice = scanner.nextInt();
+
+      if (choice == 0 && !keys.isEmpty()) {
+        break;
+      }
+
+      if (choice < 1 || choice > fields.size()) {
+        System.out.print("\nPlease input a correct choice.");
+        return -1;
+      }
 
-    for (String line : lines) {
-      MaintenanceInfo maintenance = parseMaintenanceInfo(line);
+      keys.add(choice - 1);
 
-      if (maintenances != null) {
-        maintenances.add(maintenance);
+      if (keys.size() < fields.size()) {
+        System.out.print("\nPlease enter the next field to sort by (0 to sort):");
       }
     }
 
-    maintenanceHeapSort(maintenances);
-    int indexOfID = binarySearcher.recursiveBinarySearch(maintenances, 0, maintenances.size()-1, priorityToFind);
+    int[] order = new int[keys.size()];
+    StringBuilder title = new StringBuilder();
 
-    if (indexOfID != -1) {
-      MaintenanceInfo foundMaintenance = maintenances.get(indexOfID);
-      System.out.print("\n------------Maintenance Record Founded By Priority------------");
-      System.out.printf("\n%d-)PropertyID:%d / Cost:%d / Priority:%d / MaintenanceType:%s / ExpectedFinishingDate:%s",
-                        foundMaintenance.recordNumber,foundMaintenance.propertyID, foundMaintenance.cost, foundMaintenance.priority, foundMaintenance.maintenanceType,foundMaintenance.expectedFinishingDate);
-    } else {
-      System.out.print("\nPriority not found.");
+    for (int i = 0; i < order.length; i++) {
+      order[i] = keys.get(i);
+      title.append(i == 0 ? "" : ", ").append(fields.get(order[i]).label);
+    }
+
+    ArrayList<T> records = views.sorted(order);
+
+    if (records == null) {
+      System.out.print("\nFile operation failed");
+      return -1;
     }
 
+    System.out.print("\n------------" + recordName + " Records Sorted By " + title + "------------");
+
+    RecordRenderer.list(scanner, records, formatter);
+
     return 0;
   }
   /**
@@ -1424,12 +3468,18 @@ public class RentalManagementLib {
       System.out.print("\n5-)Search Properties");
       System.out.print("\n6-)Sort Properties");
       System.out.print("\n7-)Return to Main Menu");
+      System.out.print("\n8-)Property Overview");
+      System.out.print("\n9-)Multi-Criteria Search");
+      System.out.print("\n10-)Search By Address");
+      System.out.print("\n11-)Fuzzy Search By Address");
+      System.out.print("\n12-)Sort By Field");
       System.out.print("\nPlease enter a choice: ");
       int choiceProperties = scanner.nextInt();
+      long start = Metrics.start();
 
       if (choiceProperties == SubMenuVariables.subMenuShow) {
         System.out.print("\n--------------Property Records--------------\n");
-        file_read("property_records.bin",'N');
+        show_records(scanner, propertyStore, RentalManagementLib::appendRecord);
       } else if (choiceProperties == SubMenuVariables.subMenuAdd) {
         add_property_record(scanner);
       } else if (choiceProperties == SubMenuVariables.subMenuEdit) {
@@ -1439,12 +3489,26 @@ public class RentalManagementLib {
       } else if (choiceProperties == SubMenuVariables.subMenuSearch) {
         search_property_record(scanner);
       } else if (choiceProperties == SubMenuVariables.subMenuSort) {
-        sort_property_record();
+        sort_property_record(scanner);
       } else if (choiceProperties == SubMenuVariables.subMenuReturn) {
         break;
+      } else if (choiceProperties == SubMenuVariables.subMenuOverview) {
+        property_overview(scanner);
+      } else if (choiceProperties == SubMenuVariables.subMenuMultiSearch) {
+        property_multi_search(scanner);
+      } else if (choiceProperties == SubMenuVariables.subMenuAddressSearch) {
+        scanner.nextLine(); // Consume newline left-over
+        text_search(scanner, "Address", propertyStore, addressIndex, RentalManagementLib::appendRecord);
+      } else if (choiceProperties == SubMenuVariables.subMenuFuzzyAddressSearch) {
+        scanner.nextLine(); // Consume newline left-over
+        fuzzy_search(scanner, "Address", propertyStore, addressFuzzyIndex, RentalManagementLib::appendRecord);
+      } else if (choiceProperties == SubMenuVariables.subMenuPropertyFieldSort) {
+        sort_by_field(scanner, "Property", propertyViews, RentalManagementLib::appendRecord);
       } else {
         System.out.print("\nPlease input a correct choice.");
       }
+
+      Metrics.stop("propertiesMenu", choiceProperties, start);
     }
 
     return 0;
@@ -1464,13 +3528,18 @@ public class RentalManagementLib {
       System.out.print("\n5-)Search Tenants");
       System.out.print("\n6-)Sort Tenants");
       System.out.print("\n7-)Return to Main Menu");
+      System.out.print("\n8-)Tenant Overview");
+      System.out.print("\n9-)Search By Name");
+      System.out.print("\n10-)Fuzzy Search By Name");
+      System.out.print("\n11-)Sort By Field");
       System.out.print("\nPlease enter a choice: ");
       int choiceTenants = scanner.nextInt();
+      long start = Metrics.start();
       scanner.nextLine();
 
       if (choiceTenants == SubMenuVariables.subMenuShow) {
         System.out.print("\n--------------Tenant Records--------------\n");
-        file_read("tenant_records.bin", 'N');
+        show_records(scanner, tenantStore, RentalManagementLib::appendRecord);
       } else if (choiceTenants == SubMenuVariables.subMenuAdd) {
         add_tenant_record(scanner);
       } else if (choiceTenants == SubMenuVariables.subMenuEdit) {
@@ -1480,12 +3549,22 @@ public class RentalManagementLib {
       } else if (choiceTenants == SubMenuVariables.subMenuSearch) {
         search_tenant_record(scanner);
       } else if (choiceTenants == SubMenuVariables.subMenuSort) {
-        sort_tenant_record();
+        sort_tenant_record(scanner);
       } else if (choiceTenants == SubMenuVariables.subMenuReturn) {
         break;
+      } else if (choiceTenants == SubMenuVariables.subMenuOverview) {
+        tenant_overview(scanner);
+      } else if (choiceTenants == SubMenuVariables.subMenuNameSearch) {
+        text_search(scanner, "Name or Surname", tenantStore, tenantNameIndex, RentalManagementLib::appendRecord);
+      } else if (choiceTenants == SubMenuVariables.subMenuFuzzyNameSearch) {
+        fuzzy_search(scanner, "Name or Surname", tenantStore, tenantNameFuzzyIndex, RentalManagementLib::appendRecord);
+      } else if (choiceTenants == SubMenuVariables.subMenuTenantFieldSort) {
+        sort_by_field(scanner, "Tenant", tenantViews, RentalManagementLib::appendRecord);
       } else {
         System.out.print("\nPlease input a correct choice.");
       }
+
+      Metrics.stop("tenantsMenu", choiceTenants, start);
     }
 
     return 0;
@@ -1505,12 +3584,14 @@ public class RentalManagementLib {
       System.out.print("\n5-)Search Rents");
       System.out.print("\n6-)Sort Rents");
       System.out.print("\n7-)Return to Main Menu");
+      System.out.print("\n8-)Sort By Field");
       System.out.print("\nPlease enter a choice: ");
       int choiceRents = scanner.nextInt();
+      long start = Metrics.start();
 
       if (choiceRents == SubMenuVariables.subMenuShow) {
         System.out.print("\n--------------Rent Records--------------\n");
-        file_read("rent_records.bin", 'N');
+        show_records(scanner, rentStore, RentalManagementLib::appendRecord);
       } else if (choiceRents == SubMenuVariables.subMenuAdd) {
         add_rent_record(scanner);
       } else if (choiceRents == SubMenuVariables.subMenuEdit) {
@@ -1520,12 +3601,16 @@ public class RentalManagementLib {
       } else if (choiceRents == SubMenuVariables.subMenuSearch) {
         search_rent_record(scanner);
       } else if (choiceRents == SubMenuVariables.subMenuSort) {
-        sort_rent_record();
+        sort_rent_record(scanner);
       } else if (choiceRents == SubMenuVariables.subMenuReturn) {
         break;
+      } else if (choiceRents == SubMenuVariables.subMenuRentFieldSort) {
+        sort_by_field(scanner, "Rent", rentViews, RentalManagementLib::appendRecord);
       } else {
         System.out.print("\nPlease input a correct choice.");
       }
+
+      Metrics.stop("rentsMenu", choiceRents, start);
     }
 
     return 0;
@@ -1545,12 +3630,17 @@ public class RentalManagementLib {
       System.out.print("\n5-)Search Maintenances");
       System.out.print("\n6-)Sort Maintenances");
       System.out.print("\n7-)Return to Main Menu");
+      System.out.print("\n8-)Search By Maintenance Type");
+      System.out.print("\n9-)Complete Next Maintenance");
+      System.out.print("\n10-)Show Most Urgent Maintenances");
+      System.out.print("\n11-)Sort By Field");
       System.out.print("\nPlease enter a choice: ");
       int choiceMaintenances = scanner.nextInt();
+      long start = Metrics.start();
 
       if (choiceMaintenances == SubMenuVariables.subMenuShow) {
         System.out.print("\n--------------Maintenance Records--------------\n");
-        file_read("maintenance_records.bin", 'N');
+        show_records(scanner, maintenanceStore, RentalManagementLib::appendRecord);
       } else if (choiceMaintenances == SubMenuVariables.subMenuAdd) {
         add_maintenance_record(scanner);
       } else if (choiceMaintenances == SubMenuVariables.subMenuEdit) {
@@ -1560,12 +3650,23 @@ public class RentalManagementLib {
       } else if (choiceMaintenances == SubMenuVariables.subMenuSearch) {
         search_maintenance_record(scanner);
       } else if (choiceMaintenances == SubMenuVariables.subMenuSort) {
-        sort_maintenance_record();
+        sort_maintenance_record(scanner);
       } else if (choiceMaintenances == SubMenuVariables.subMenuReturn) {
         break;
+      } else if (choiceMaintenances == SubMenuVariables.subMenuTypeSearch) {
+        scanner.nextLine(); // Consume newline left-over
+        text_search(scanner, "MaintenanceType", maintenanceStore, maintenanceTypeIndex, RentalManagementLib::appendRecord);
+      } else if (choiceMaintenances == SubMenuVariables.subMenuCompleteNext) {
+        complete_next_maintenance();
+      } else if (choiceMaintenances == SubMenuVariables.subMenuTopMaintenances) {
+        show_top_maintenances(scanner);
+      } else if (choiceMaintenances == SubMenuVariables.subMenuMaintenanceFieldSort) {
+        sort_by_field(scanner, "Maintenance", maintenanceViews, RentalManagementLib::appendRecord);
       } else {
         System.out.print("\nPlease input a correct choice.");
       }
+
+      Metrics.stop("maintenanceMenu", choiceMaintenances, start);
     }
 
     return 0;
@@ -1595,6 +3696,7 @@ public class RentalManagementLib {
       } else if (choiceMainMenu == MainMenuVariables.mainMenuMaintenance) {
         maintenanceMenu(scanner);
       } else if (choiceMainMenu == MainMenuVariables.mainMenuLogOut) {
+        flushStores();
         break;
       } else {
         System.out.print("\nPlease input a correct choice.");
@@ -0,0 +1,140 @@
+/**
+
+@file SecondaryIndex.java
+@brief This file contains the SecondaryIndex class.
+@details This file keeps the cached records of a record store in a hash table by one of their fields, for example tenants by PropertyID.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.ToIntFunction;
+
+/**
+
+@class SecondaryIndex
+@brief This class represents an in-memory hash index on a field of the records of a record store.
+@details The index listens to its store. It is built when the store loads its records and updated on every add, edit and delete,
+so a lookup is one hash table access. The records of a key are kept in record order.
+@author hikmethankolay
+*/
+class SecondaryIndex<T extends RentalManagementLib.Identifiable & RentalManagementLib.Numbered> implements RentalManagementLib.RecordStore.Listener<T> {
+
+  /** Store whose records are indexed. */
+  private final RentalManagementLib.RecordStore<T> store;
+
+  /** Field the records are indexed by. */
+  private final ToIntFunction<T> key;
+
+  /** Records by key, null while the store has no records loaded. */
+  private HashMap<Integer, ArrayList<T>> buckets = null;
+
+  /** Constructor */
+  SecondaryIndex(RentalManagementLib.RecordStore<T> store, ToIntFunction<T> key) {
+    this.store = store;
+    this.key = key;
+    store.addListener(this);
+  }
+  /**
+   * @brief Returns the records whose field has the given value, loading the store first if needed.
+   *
+   * @param value The field value.
+   * @return The records in record order, empty if there are none or the record file does not exist.
+   */
+  ArrayList<T> get(int value) {
+    synchronized (store) {
+      if (!store.exists()) {
+        return new ArrayList<>();
+      }
+
+      store.records();
+
+      ArrayList<T> bucket = buckets == null ? null : buckets.get(value);
+      return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+  }
+
+  @Override
+  public void reset(ArrayList<T> records) {
+    if (records == null) {
+      buckets = null;
+      return;
+    }
+
+    buckets = new HashMap<>();
+
+    for (T record : records) {
+      buckets.computeIfAbsent(key.applyAsInt(record), k -> new ArrayList<>()).add(record);
+    }
+  }
+
+  @Override
+  public void added(T record) {
+    insert(record);
+  }
+
+  @Override
+  public void edited(T oldRecord, T newRecord) {
+    remove(oldRecord);
+    insert(newRecord);
+  }
+
+  @Override
+  public void deleted(T record) {
+    remove(record);
+  }
+  /**
+   * @brief Adds a record to the bucket of its key at its place in record order.
+   *
+   * @param record The record.
+   */
+  private void insert(T record) {
+    if (buckets == null) {
+      return;
+    }
+
+    ArrayList<T> bucket = buckets.computeIfAbsent(key.applyAsInt(record), k -> new ArrayList<>());
+    int low = 0;
+    int high = bucket.size();
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (bucket.get(mid).getRecordNumber() < record.getRecordNumber()) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    bucket.add(low, record);
+  }
+  /**
+   * @brief Removes a record from the bucket of its key.
+   *
+   * @param record The record.
+   */
+  private void remove(T record) {
+    if (buckets == null) {
+      return;
+    }
+
+    int value = key.applyAsInt(record);
+    ArrayList<T> bucket = buckets.get(value);
+
+    if (bucket == null) {
+      return;
+    }
+
+    for (int i = 0; i < bucket.size(); i++) {
+      if (bucket.get(i) == record) {
+        bucket.remove(i);
+        break;
+      }
+    }
+
+    if (bucket.isEmpty()) {
+      buckets.remove(value);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/**
+
+@file SortedViews.java
+@brief This file contains the SortedViews class.
+@details This file keeps the records of a record store sorted by any combination of their fields.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+
+@class SortedViews
+@brief This class represents the cached sorted orders of the records of a record store.
+@details Every field the records can be sorted by has a comparator, and a view sorts by one or more of them, the first field
+deciding first. A view is sorted once and kept with the generation of the store it was sorted at. The store counts up its
+generation on every add, edit, delete and reload, so asking again for a view while the records are unchanged returns the
+cached order right away. Views of an older generation are dropped the next time a view is sorted.
+The sort is stable, so records that are equal on every chosen field stay in record order.
+@author hikmethankolay
+*/
+class SortedViews<T extends RentalManagementLib.Identifiable & RentalManagementLib.Numbered> {
+
+  /**
+   * @brief A field the records can be sorted by.
+   */
+  static final class Field<T> {
+    /** Name of the field shown to the user. */
+    final String label;
+
+    /** Order of the records by the field. */
+    final Comparator<T> comparator;
+
+    /** Constructor */
+    Field(String label, Comparator<T> comparator) {
+      this.label = label;
+      this.comparator = comparator;
+    }
+  }
+
+  /**
+   * @brief The records sorted by one combination of fields.
+   */
+  private static final class View<T> {
+    /** Sorted records. */
+    final ArrayList<T> records;
+
+    /** Generation of the store the records were sorted at. */
+    final long generation;
+
+    /** Constructor */
+    View(ArrayList<T> records, long generation) {
+      this.records = records;
+      this.generation = generation;
+    }
+  }
+
+  /** Store whose records are sorted. */
+  private final RentalManagementLib.RecordStore<T> store;
+
+  /** Fields the records can be sorted by. */
+  private final ArrayList<Field<T>> fields = new ArrayList<>();
+
+  /** Views by the field numbers they are sorted by. */
+  private final HashMap<String, View<T>> views = new HashMap<>();
+
+  /** Constructor */
+  SortedViews(RentalManagementLib.RecordStore<T> store) {
+    this.store = store;
+  }
+  /**
+   * @brief Adds a field the records can be sorted by.
+   *
+   * @param label The name of the field shown to the user.
+   * @param comparator The order of the records by the field.
+   * @return This object, to add the next field.
+   */
+  SortedViews<T> field(String label, Comparator<T> comparator) {
+    fields.add(new Field<>(label, comparator));
+    return this;
+  }
+  /**
+   * @brief Returns the fields the records can be sorted by, numbered from 0 in the order they were added.
+   *
+   * @return The fields.
+   */
+  List<Field<T>> fields() {
+    return fields;
+  }
+  /**
+   * @brief Returns the records sorted by the given fields, sorting them only if the store changed since the last time.
+   * The returned list belongs to the views, callers must not change it.
+   *
+   * @param keys The numbers of the fields, the first field deciding first.
+   * @return The sorted records, or null if the record file can not be read.
+   * @throws IllegalArgumentException if no field or a field that does not exist is given.
+   */
+  ArrayList<T> sorted(int... keys) {
+    if (keys.length == 0) {
+      throw new IllegalArgumentException("No field to sort by");
+    }
+
+    for (int key : keys) {
+      if (key < 0 || key >= fields.size()) {
+        throw new IllegalArgumentException("No field " + key);
+      }
+    }
+
+    synchronized (store) {
+      if (!store.exists()) {
+        return null;
+      }
+
+      ArrayList<T> records = store.records();
+
+      if (records == null) {
+        return null;
+      }
+
+      long generation = store.generation();
+      String name = Arrays.toString(keys);
+      View<T> view = views.get(name);
+
+      if (view == null || view.generation != generation) {
+        views.values().removeIf(old -> old.generation != generation);
+        Comparator<T> comparator = fields.get(keys[0]).comparator;
+
+        for (int i = 1; i < keys.length; i++) {
+          comparator = comparator.thenComparing(fields.get(keys[i]).comparator);
+        }
+
+        long start = Metrics.start();
+        ArrayList<T> sorted = new ArrayList<>(records);
+        sorted.sort(comparator);
+        Metrics.stop("sort_view", start);
+        view = new View<>(sorted, generation);
+        views.put(name, view);
+      }
+
+      return view.records;
+    }
+  }
+}
@@ -0,0 +1,370 @@
+/**
+
+@file TextIndex.java
+@brief This file contains the TextIndex class.
+@details This file answers substring and word prefix searches over a text field of the records of a record store.
+*/
+package com.project.RentalManagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+
+@class TextIndex
+@brief This class represents an n-gram inverted index on a text field of the records of a record store.
+@details Every cached record gets a slot number, and every three character piece (trigram) of its lower case text keeps the sorted
+slots of the records that contain it. The text is padded with marks at its end, so a query of one or two characters is the start
+of some trigram and is answered from the trigrams that start with it. A longer query only has to check the records that hold all
+of its trigrams. Slots are never reused, which keeps the slot lists sorted as records are added; when more than half of the slots
+belong to deleted records the index is built again. The index listens to its store, so it stays current on every add, edit and delete.
+@author hikmethankolay
+*/
+class TextIndex<T extends RentalManagementLib.Identifiable & RentalManagementLib.Numbered> implements RentalManagementLib.RecordStore.Listener<T> {
+
+  /** Length of the indexed pieces of text. */
+  static final int GRAM_LENGTH = 3;
+
+  /** Marks added to the end of an indexed text, so every character starts a trigram. */
+  private static final String PAD = "\0\0";
+
+  /**
+   * @brief A sorted, growable list of slot numbers.
+   */
+  private static final class Postings {
+    /** Slot numbers in increasing order. */
+    int[] slots = new int[2];
+
+    /** Number of slot numbers in use. */
+    int count = 0;
+
+    /**
+     * @brief Adds a slot number larger than every slot number in the list.
+     *
+     * @param slot The slot number.
+     */
+    void append(int slot) {
+      if (count > 0 && slots[count - 1] == slot) {
+        return;
+      }
+
+      if (count == slots.length) {
+        slots = Arrays.copyOf(slots, count * 2);
+      }
+
+      slots[count++] = slot;
+    }
+    /**
+     * @brief Removes a slot number.
+     *
+     * @param slot The slot number.
+     */
+    void remove(int slot) {
+      int i = Arrays.binarySearch(slots, 0, count, slot);
+
+      if (i >= 0) {
+        System.arraycopy(slots, i + 1, slots, i, count - i - 1);
+        count--;
+      }
+    }
+  }
+
+  /** Store whose records are indexed. */
+  private final RentalManagementLib.RecordStore<T> store;
+
+  /** Field the records are indexed by. */
+  private final Function<T, String> text;
+
+  /** Records by slot, null for deleted records. Null while the store has no records loaded. */
+  private ArrayList<T> records = null;
+
+  /** Slots by record. */
+  private IdentityHashMap<T, Integer> slotOf;
+
+  /** Slot lists by trigram, sorted so that the trigrams starting with a short query are next to each other. */
+  private TreeMap<String, Postings> grams;
+
+  /** Number of slots that belong to deleted records. */
+  private int deadSlots;
+
+  /** Constructor */
+  TextIndex(RentalManagementLib.RecordStore<T> store, Function<T, String> text) {
+    this.store = store;
+    this.text = text;
+    store.addListener(this);
+  }
+  /**
+   * @brief Returns the records whose text contains a piece of text, ignoring case, loading the store first if needed.
+   *
+   * @param query The piece of text.
+   * @return The records in record order, empty if there are none or the record file does not exist.
+   */
+  ArrayList<T> containing(String query) {
+    return search(query, false);
+  }
+  /**
+   * @brief Returns the records with a word in their text that starts with a piece of text, ignoring case.
+   *
+   * @param query The start of the word.
+   * @return The records in record order, empty if there are none or the record file does not exist.
+   */
+  ArrayList<T> startingWith(String query) {
+    return search(query, true);
+  }
+  /**
+   * @brief Finds the records matching a query.
+   *
+   * @param query The piece of text.
+   * @param wordStart Whether the piece of text has to be at the start of a word.
+   * @return The records in record order.
+   */
+  private ArrayList<T> search(String query, boolean wordStart) {
+    long start = Metrics.start();
+
+    try {
+      synchronized (store) {
+        ArrayList<T> result = new ArrayList<>();
+        String needle = query.toLowerCase(Locale.ROOT);
+
+        if (needle.isEmpty() || !store.exists()) {
+          return result;
+        }
+
+        store.records();
+
+        if (records == null) {
+          return result;
+        }
+
+        int[] candidates = needle.length() < GRAM_LENGTH ? shortCandidates(needle) : candidates(needle);
+
+        for (int slot : candidates) {
+          T record = records.get(slot);
+
+          if (record != null && matches(normalize(text.apply(record)), needle, wordStart)) {
+            result.add(record);
+          }
+        }
+
+        result.sort((a, b) -> Integer.compare(a.getRecordNumber(), b.getRecordNumber()));
+        return result;
+      }
+    } finally {
+      Metrics.stop("text_search", start);
+    }
+  }
+  /**
+   * @brief Returns the slots of the records that hold every trigram of a query.
+   *
+   * @param needle The lower case query, at least GRAM_LENGTH characters long.
+   * @return The slots in increasing order.
+   */
+  private int[] candidates(String needle) {
+    ArrayList<Postings> lists = new ArrayList<>();
+
+    for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+      Postings postings = grams.get(needle.substring(i, i + GRAM_LENGTH));
+
+      if (postings == null) {
+        return new int[0];
+      }
+
+      lists.add(postings);
+    }
+
+    lists.sort((a, b) -> Integer.compare(a.count, b.count));
+    int[] slots = Arrays.copyOf(lists.get(0).slots, lists.get(0).count);
+    int count = slots.length;
+
+    for (int l = 1; l < lists.size() && count > 0; l++) {
+      Postings other = lists.get(l);
+      int kept = 0;
+      int j = 0;
+
+      for (int i = 0; i < count; i++) {
+        j = Arrays.binarySearch(other.slots, j, other.count, slots[i]);
+
+        if (j >= 0) {
+          slots[kept++] = slots[i];
+        } else {
+          j = -j - 1;
+        }
+      }
+
+      count = kept;
+    }
+
+    return Arrays.copyOf(slots, count);
+  }
+  /**
+   * @brief Returns the slots of the records that hold a trigram starting with a short query.
+   *
+   * @param needle The lower case query, shorter than GRAM_LENGTH characters.
+   * @return The slots in increasing order.
+   */
+  private int[] shortCandidates(String needle) {
+    Map<String, Postings> matching = grams.subMap(needle, true, needle + Character.MAX_VALUE, false);
+    boolean[] seen = new boolean[records.size()];
+    int count = 0;
+
+    for (Postings postings : matching.values()) {
+      for (int i = 0; i < postings.count; i++) {
+        if (!seen[postings.slots[i]]) {
+          seen[postings.slots[i]] = true;
+          count++;
+        }
+      }
+    }
+
+    int[] slots = new int[count];
+    count = 0;
+
+    for (int slot = 0; slot < seen.length; slot++) {
+      if (seen[slot]) {
+        slots[count++] = slot;
+      }
+    }
+
+    return slots;
+  }
+  /**
+   * @brief Checks a candidate record's text against a query.
+   *
+   * @param value The lower case text of the record.
+   * @param needle The lower case query.
+   * @param wordStart Whether the query has to be at the start of a word.
+   * @return true if the text matches.
+   */
+  private static boolean matches(String value, String needle, boolean wordStart) {
+    for (int i = value.indexOf(needle); i >= 0; i = value.indexOf(needle, i + 1)) {
+      if (!wordStart || i == 0 || !Character.isLetterOrDigit(value.charAt(i - 1))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+  /**
+   * @brief Returns the text a record is indexed and matched by.
+   *
+   * @param value The field value.
+   * @return The lower case text.
+   */
+  private static String normalize(String value) {
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @brief Returns the text of a record with the end marks, the text its trigrams are taken from.
+   *
+   * @param record The record.
+   * @return The padded lower case text.
+   */
+  private String padded(T record) {
+    return normalize(text.apply(record)) + PAD;
+  }
+
+  @Override
+  public void reset(ArrayList<T> loaded) {
+    if (loaded == null) {
+      records = null;
+      return;
+    }
+
+    records = new ArrayList<>(loaded.size());
+    slotOf = new IdentityHashMap<>(loaded.size());
+    deadSlots = 0;
+    HashMap<String, Postings> built = new HashMap<>();
+
+    for (T record : loaded) {
+      index(record, built);
+    }
+
+    grams = new TreeMap<>(built);
+  }
+
+  @Override
+  public void added(T record) {
+    if (records != null) {
+      index(record, grams);
+    }
+  }
+
+  @Override
+  public void edited(T oldRecord, T newRecord) {
+    if (records != null) {
+      remove(oldRecord);
+      index(newRecord, grams);
+    }
+  }
+
+  @Override
+  public void deleted(T record) {
+    if (records != null) {
+      remove(record);
+    }
+  }
+  /**
+   * @brief Gives a record the next slot and adds it to the slot lists of its trigrams.
+   *
+   * @param record The record.
+   * @param target The trigram table to add to.
+   */
+  private void index(T record, Map<String, Postings> target) {
+    int slot = records.size();
+    records.add(record);
+    slotOf.put(record, slot);
+    String padded = padded(record);
+
+    for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+      target.computeIfAbsent(padded.substring(i, i + GRAM_LENGTH), k -> new Postings()).append(slot);
+    }
+  }
+  /**
+   * @brief Removes a record from the slot lists of its trigrams, and builds the index again if most slots are deleted.
+   *
+   * @param record The record.
+   */
+  private void remove(T record) {
+    Integer slot = slotOf.remove(record);
+
+    if (slot == null) {
+      return;
+    }
+
+    records.set(slot, null);
+    deadSlots++;
+    String padded = padded(record);
+
+    for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+      String gram = padded.substring(i, i + GRAM_LENGTH);
+      Postings postings = grams.get(gram);
+
+      if (postings != null) {
+        postings.remove(slot);
+
+        if (postings.count == 0) {
+          grams.remove(gram);
+        }
+      }
+    }
+
+    if (deadSlots > records.size() / 2) {
+      ArrayList<T> live = new ArrayList<>(records.size() - deadSlots);
+
+      for (T kept : records) {
+        if (kept != null) {
+          live.add(kept);
+        }
+      }
+
+      reset(live);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/**
+
+@file TextRecordStorage.java
+@brief This file contains the TextRecordStorage class.
+@details This file keeps records in the "N-)text" line layout using the file functions of RentalManagementLib.
+*/
+package com.project.RentalManagement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+/**
+
+@class TextRecordStorage
+@brief This class represents a record file in the text line layout.
+@details Reads, appends and edits are delegated to file_read, file_write, file_append and file_edit, and Show to file_stream. Deletes use the cached RecordLineMap
+of the file, so a delete only writes the tombstone mark of the line without reading the file again. The map is dropped when the
+file is rewritten or changed by anything else.
+Record files whose first field is a unique ID can also keep a PrimaryKeyIndex, which appends and deletes update, edits and
+rewrites drop, and find uses to read a single record by its ID.
+@author hikmethankolay
+*/
+class TextRecordStorage implements RecordStorage {
+
+  /** Name of the record file. */
+  private final String fileName;
+
+  /** Index of the first field of the records, null if the file has none. */
+  private final PrimaryKeyIndex keyIndex;
+
+  /** Constructor */
+  TextRecordStorage(String fileName) {
+    this(fileName, false);
+  }
+
+  /** Constructor */
+  TextRecordStorage(String fileName, boolean keyIndexed) {
+    this.fileName = fileName;
+    this.keyIndex = keyIndexed ? new PrimaryKeyIndex(fileName) : null;
+  }
+
+  @Override
+  public String read(char isSorting) {
+    return RentalManagementLib.file_read(fileName, isSorting);
+  }
+
+  @Override
+  public int show() {
+    return RentalManagementLib.file_stream(fileName);
+  }
+
+  @Override
+  public int append(String text) {
+    File file = new File(fileName);
+
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      if (!file.exists()) {
+        if (keyIndex != null) {
+          keyIndex.invalidate();
+        }
+
+        return RentalManagementLib.file_write(fileName, text);
+      }
+
+      boolean indexed = keyIndex != null && keyIndex.isCurrent();
+      long lineStart = file.length();
+      int result = RentalManagementLib.file_append(fileName, text);
+
+      if (result == 0 && indexed) {
+        updateIndex(lineStart, true);
+      }
+
+      return result;
+    }
+  }
+
+  @Override
+  public int edit(int recordNumber, String text) {
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      // The file is rewritten, possibly at the same size within one modification time tick
+      if (keyIndex != null) {
+        keyIndex.invalidate();
+      }
+
+      return RentalManagementLib.file_edit(fileName, recordNumber, text);
+    }
+  }
+
+  @Override
+  public int delete(int recordNumber) {
+    RecordLineMap current;
+
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      try {
+        current = RecordLineMap.cached(fileName);
+      } catch (IOException e) {
+        System.out.print("\nFile operation failed");
+        return -1;
+      }
+
+      boolean indexed = keyIndex != null && keyIndex.isCurrent() && recordNumber >= 1 && recordNumber <= current.liveCount();
+      long lineStart = indexed ? current.offset(recordNumber) : -1;
+
+      if (RentalManagementLib.deleteRecordLine(fileName, current, recordNumber) != 0) {
+        return -1;
+      }
+
+      if (indexed) {
+        updateIndex(lineStart, false);
+      }
+    }
+
+    RentalManagementLib.compactIfNeeded(fileName, current);
+    return 0;
+  }
+
+  @Override
+  public File getDataFile() {
+    return new File(fileName);
+  }
+  /**
+   * @brief Checks whether the file keeps a primary key index.
+   *
+   * @return true if find can be used.
+   */
+  boolean hasKeyIndex() {
+    return keyIndex != null;
+  }
+  /**
+   * @brief Finds the first record whose first field is the given ID through the primary key index.
+   *
+   * @param key The ID to find.
+   * @return The record line with its record number, or null if no record has the ID.
+   * @throws IOException if the file or the index can not be read.
+   */
+  String find(int key) throws IOException {
+    synchronized (RentalManagementLib.fileLock(fileName)) {
+      keyIndex.open();
+      long[] entry = keyIndex.first(key);
+
+      if (entry == null) {
+        return null;
+      }
+
+      int lineNumber = (int) entry[0];
+      return RentalManagementLib.renumberLine(lineAt(entry[1]), lineNumber - keyIndex.deletedBefore(lineNumber));
+    }
+  }
+  /**
+   * @brief Adds the line at the given offset to the primary key index, or removes it after it was marked as deleted.
+   * If the line can not be read, the index is left as it is and rebuilt on its next use.
+   *
+   * @param lineStart The byte offset of the line.
+   * @param added true if the line was appended, false if it was deleted.
+   */
+  private void updateIndex(long lineStart, boolean added) {
+    try {
+      RecordLineParser parser = new RecordLineParser(lineAt(lineStart));
+      int lineNumber = parser.recordNumber();
+      int key = parser.nextInt();
+
+      if (added) {
+        keyIndex.add(key, lineNumber, lineStart);
+      } else {
+        keyIndex.remove(key, lineNumber);
+      }
+
+      keyIndex.remember();
+    } catch (IOException | IllegalArgumentException e) {
+      keyIndex.close();
+    }
+  }
+  /**
+   * @brief Reads the line that starts at the given byte offset.
+   *
+   * @param lineStart The byte offset of the line.
+   * @return The line without its line break.
+   * @throws IOException
+   */
+  private String lineAt(long lineStart) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    byte[] block = new byte[256];
+
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(fileName, "r")) {
+      randomAccessFile.seek(lineStart);
+      int read;
+
+      search:
+      while ((read = randomAccessFile.read(block)) != -1) {
+        for (int i = 0; i < read; i++) {
+          if (block[i] == '\n') {
+            line.write(block, 0, i);
+            break search;
+          }
+        }
+
+        line.write(block, 0, read);
+      }
+    }
+
+    String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+    return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+  }
+}
@@ -0,0 +1,140 @@
+/**
+
+@file ExternalSorterTest.java
+@brief This file contains the test cases for the ExternalSorter class.
+@details This file includes test methods to validate the external merge sort of record files. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class ExternalSorterTest
+@brief This class represents the test class for the ExternalSorter class.
+@details The ExternalSorterTest class sorts a rent file with deleted lines in runs much smaller than the file and compares the
+result with a sort in memory.
+@author hikmethankolay
+*/
+public class ExternalSorterTest {
+
+  /** Rents written to the test file, without the deleted ones. */
+  private ArrayList<RentalManagementLib.RentInfo> rents;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    Random random = new Random(3);
+    rents = new ArrayList<>();
+
+    try (FileWriter writer = new FileWriter("externalsorttest.bin")) {
+      for (int i = 1; i <= 500; i++) {
+        String text = "TenantID:" + random.nextInt(60) + " / CurrentRentDebt:" + i + " / DueDate:01/01/2024";
+
+        if (i % 9 == 0) {
+          writer.write(i + "-#" + text + "\r\n");
+        } else {
+          writer.write(i + "-)" + text + "\r\n");
+          rents.add(RentalManagementLib.parseRentInfo((rents.size() + 1) + "-)" + text));
+        }
+      }
+    }
+
+    rents.sort((a, b) -> Integer.compare(a.tenantID, b.tenantID));
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("externalsorttest.bin").delete();
+    new File("externalsorttest_sorted.bin").delete();
+  }
+
+  /**
+   * Tests that the records come out in ID order and in file order for equal IDs, with run sizes from one record to the whole file.
+   */
+  @Test
+  public void testSort() {
+    for (int runSize : new int[] {1, 7, 64, 1000}) {
+      ArrayList<RentalManagementLib.RentInfo> sorted = new ArrayList<>();
+      ExternalSorter<RentalManagementLib.RentInfo> sorter = new ExternalSorter<>("externalsorttest.bin", RentalManagementLib::parseRentInfo, runSize);
+      assertEquals(0, sorter.sort(sorted::add));
+      assertEquals(rents.size(), sorted.size());
+
+      for (int i = 0; i < rents.size(); i++) {
+        assertEquals(rents.get(i).recordNumber, sorted.get(i).recordNumber);
+        assertEquals(rents.get(i).currentRentDebt, sorted.get(i).currentRentDebt);
+      }
+    }
+  }
+
+  /**
+   * Tests writing the sorted records to a file numbered by their sorted position.
+   * @throws IOException
+   */
+  @Test
+  public void testSortTo() throws IOException {
+    ExternalSorter<RentalManagementLib.RentInfo> sorter = new ExternalSorter<>("externalsorttest.bin", RentalManagementLib::parseRentInfo, 10);
+    assertEquals(0, sorter.sortTo("externalsorttest_sorted.bin"));
+    List<String> lines = Files.readAllLines(new File("externalsorttest_sorted.bin").toPath(), StandardCharsets.UTF_8);
+    assertEquals(rents.size(), lines.size());
+
+    for (int i = 0; i < lines.size(); i++) {
+      RentalManagementLib.RentInfo rent = RentalManagementLib.parseRentInfo(lines.get(i));
+      assertEquals(i + 1, rent.recordNumber);
+      assertEquals(rents.get(i).currentRentDebt, rent.currentRentDebt);
+    }
+  }
+
+  /**
+   * Tests sorting a file that does not exist.
+   */
+  @Test
+  public void testMissingFile() {
+    ExternalSorter<RentalManagementLib.RentInfo> sorter = new ExternalSorter<>("externalsorttest_missing.bin", RentalManagementLib::parseRentInfo, 10);
+    assertEquals(-1, sorter.sort(rent -> fail()));
+  }
+
+  /**
+   * Tests that the command line sorter shows its usage for unknown arguments.
+   * @throws IOException
+   */
+  @Test
+  public void testMainUsage() throws IOException {
+    PrintStream console = System.out;
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(output));
+
+    try {
+      ExternalSorter.main(new String[] {"owner", "externalsorttest_sorted.bin"});
+      ExternalSorter.main(new String[] {"rent"});
+    } finally {
+      System.setOut(console);
+    }
+
+    assertEquals("Usage: ExternalSorter property|tenant|rent|maintenance <sorted file>\n"
+                 + "Usage: ExternalSorter property|tenant|rent|maintenance <sorted file>\n", output.toString());
+    assertEquals(0, RentalManagementLib.SortVariables.externalRunSize);
+  }
+}
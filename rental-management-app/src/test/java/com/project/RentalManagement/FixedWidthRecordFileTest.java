@@ -0,0 +1,171 @@
+/**
+
+@file FixedWidthRecordFileTest.java
+@brief This file contains the test cases for the FixedWidthRecordFile class.
+@details This file includes test methods to validate the binary record format and its converters. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class FixedWidthRecordFileTest
+@brief This class represents the test class for the FixedWidthRecordFile class.
+@details The FixedWidthRecordFileTest class converts record files between the text and binary formats and edits binary files in place.
+@author hikmethankolay
+*/
+public class FixedWidthRecordFileTest {
+
+  /** Property records used by the tests. */
+  private static final String PROPERTY_RECORDS = "1-)PropertyID:123 / PropertyAge:23 / Bedrooms:3 / Livingrooms:3 / Floors:3 / Size:137 / Address:asd\n"
+      + "2-)PropertyID:67 / PropertyAge:23 / Bedrooms:5 / Livingrooms:3 / Floors:7 / Size:137 / Address:ghjhgk / block 2\n"
+      + "3-)PropertyID:896 / PropertyAge:20 / Bedrooms:5 / Livingrooms:3 / Floors:7 / Size:137 / Address:\u00c7ay\u0131r Sokak\n";
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("binarytest.dat").delete();
+    new File("binarytest.bin").delete();
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    RentalManagementLib.StorageVariables.binaryFormat = false;
+    new File("binarytest.dat").delete();
+    new File("binarytest.bin").delete();
+  }
+
+  /**
+   * @brief Writes the property records to binarytest.bin.
+   * @throws Exception
+   */
+  private void writePropertyRecords() throws Exception {
+    try (FileOutputStream outputStream = new FileOutputStream("binarytest.bin")) {
+      outputStream.write(PROPERTY_RECORDS.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Tests converting a text file to binary and back.
+   */
+  @Test
+  public void testConvertRoundTrip() throws Exception {
+    writePropertyRecords();
+    assertEquals(0, FixedWidthRecordFile.convertToBinary("binarytest.bin", "binarytest.dat", FixedWidthRecordFile.PROPERTY));
+    assertEquals(FixedWidthRecordFile.HEADER_SIZE + 3 * FixedWidthRecordFile.PROPERTY.recordSize, new File("binarytest.dat").length());
+    assertEquals(0, FixedWidthRecordFile.convertToText("binarytest.dat", "binarytest.bin", FixedWidthRecordFile.PROPERTY));
+    assertEquals(PROPERTY_RECORDS, RentalManagementLib.file_read("binarytest.bin", 'Y'));
+  }
+
+  /**
+   * Tests that an edit only rewrites the slot of the edited record.
+   */
+  @Test
+  public void testEditInPlace() throws Exception {
+    writePropertyRecords();
+    FixedWidthRecordFile file = FixedWidthRecordFile.open("binarytest.bin", FixedWidthRecordFile.PROPERTY);
+    long length = new File("binarytest.dat").length();
+    assertEquals(0, file.edit(2, "PropertyID:68 / PropertyAge:23 / Bedrooms:3 / Livingrooms:6 / Floors:7 / Size:137 / Address:asd"));
+    assertEquals(length, new File("binarytest.dat").length());
+    String records = file.read('Y');
+    assertTrue(records.startsWith("1-)PropertyID:123 "));
+    assertTrue(records.contains("2-)PropertyID:68 / PropertyAge:23 / Bedrooms:3 / Livingrooms:6 / Floors:7 / Size:137 / Address:asd\n"));
+    assertTrue(records.contains("3-)PropertyID:896 "));
+    assertEquals(-1, file.edit(4, "PropertyID:68 / PropertyAge:23 / Bedrooms:3 / Livingrooms:6 / Floors:7 / Size:137 / Address:asd"));
+  }
+
+  /**
+   * Tests appending to and deleting from a binary file.
+   */
+  @Test
+  public void testAppendAndDelete() {
+    FixedWidthRecordFile file = new FixedWidthRecordFile("binarytest.dat", FixedWidthRecordFile.RENT);
+    assertEquals(0, file.append("TenantID:1 / CurrentRentDebt:100 / DueDate:01/01/2024"));
+    assertEquals(0, file.append("TenantID:2 / CurrentRentDebt:200 / DueDate:02/01/2024"));
+    assertEquals(0, file.append("TenantID:3 / CurrentRentDebt:300 / DueDate:03/01/2024"));
+    assertEquals(0, file.delete(1));
+    assertEquals(-1, file.delete(3));
+    assertEquals("1-)TenantID:2 / CurrentRentDebt:200 / DueDate:02/01/2024\n2-)TenantID:3 / CurrentRentDebt:300 / DueDate:03/01/2024\n", file.read('Y'));
+  }
+
+  /**
+   * Tests that records which do not fit the layout are rejected.
+   */
+  @Test
+  public void testRejectsInvalidRecords() {
+    FixedWidthRecordFile file = new FixedWidthRecordFile("binarytest.dat", FixedWidthRecordFile.RENT);
+    assertEquals(-1, file.append("TenantID:1 / CurrentRentDebt:100"));
+    assertEquals(-1, file.append("TenantID:1 / CurrentRentDebt:100 / DueDate:this date is far too long"));
+    assertEquals(-1, file.append("TenantID:1 / Debt:100 / DueDate:01/01/2024"));
+    assertEquals("-1", file.read('Y'));
+  }
+
+  /**
+   * Tests a record store that keeps its records in the binary format.
+   */
+  @Test
+  public void testRecordStoreInBinaryFormat() throws Exception {
+    writePropertyRecords();
+    RentalManagementLib.StorageVariables.binaryFormat = true;
+    RentalManagementLib.RecordStore<RentalManagementLib.PropertyInfo> store =
+      new RentalManagementLib.RecordStore<>("binarytest.bin", FixedWidthRecordFile.PROPERTY, RentalManagementLib::parsePropertyInfo);
+    assertEquals(3, store.records().size());
+    assertEquals(0, store.edit(1, "PropertyID:124 / PropertyAge:23 / Bedrooms:3 / Livingrooms:3 / Floors:3 / Size:137 / Address:asd"));
+    assertEquals(0, store.delete(2));
+    assertEquals(2, store.records().size());
+    assertEquals(124, store.records().get(0).propertyID);
+    assertEquals(2, store.records().get(1).recordNumber);
+    assertEquals(PROPERTY_RECORDS, RentalManagementLib.file_read("binarytest.bin", 'Y'));
+    RentalManagementLib.StorageVariables.binaryFormat = false;
+    assertEquals(2, store.records().size());
+    assertEquals(124, store.records().get(0).propertyID);
+    assertTrue(RentalManagementLib.file_read("binarytest.bin", 'Y').startsWith("1-)PropertyID:124 "));
+  }
+
+  /**
+   * Tests that a delete only frees the slot until enough slots are free, and that the text file and the binary file
+   * follow each other.
+   */
+  @Test
+  public void testLazyDeleteAndTextSync() throws Exception {
+    writePropertyRecords();
+    RentalManagementLib.StorageVariables.compactionThreshold = 0.5;
+
+    try {
+      FixedWidthRecordFile file = FixedWidthRecordFile.open("binarytest.bin", FixedWidthRecordFile.PROPERTY);
+      long length = new File("binarytest.dat").length();
+      assertEquals(0, file.delete(1));
+      assertEquals(length, new File("binarytest.dat").length());
+      assertTrue(file.read('Y').startsWith("1-)PropertyID:67 "));
+      assertEquals(0, file.edit(2, "PropertyID:897 / PropertyAge:20 / Bedrooms:5 / Livingrooms:3 / Floors:7 / Size:137 / Address:x"));
+      assertEquals(0, file.delete(1));
+      assertEquals(FixedWidthRecordFile.HEADER_SIZE + FixedWidthRecordFile.PROPERTY.recordSize, new File("binarytest.dat").length());
+      assertEquals(0, file.flush());
+      String records = "1-)PropertyID:897 / PropertyAge:20 / Bedrooms:5 / Livingrooms:3 / Floors:7 / Size:137 / Address:x\n";
+      assertEquals(records, RentalManagementLib.file_read("binarytest.bin", 'Y'));
+      assertEquals(records, FixedWidthRecordFile.open("binarytest.bin", FixedWidthRecordFile.PROPERTY).read('Y'));
+    } finally {
+      RentalManagementLib.StorageVariables.compactionThreshold = 0.25;
+    }
+
+    writePropertyRecords();
+    new File("binarytest.bin").setLastModified(new File("binarytest.dat").lastModified() + 2000);
+    assertEquals(PROPERTY_RECORDS, FixedWidthRecordFile.open("binarytest.bin", FixedWidthRecordFile.PROPERTY).read('Y'));
+  }
+}
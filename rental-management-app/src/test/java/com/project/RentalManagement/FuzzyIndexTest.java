@@ -0,0 +1,102 @@
+/**
+
+@file FuzzyIndexTest.java
+@brief This file contains the test cases for the FuzzyIndex class.
+@details This file includes test methods to validate typo tolerant searches on record text. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class FuzzyIndexTest
+@brief This class represents the test class for the FuzzyIndex class.
+@details The FuzzyIndexTest class searches tenant names with typos in a small tenant store while records are added, edited and deleted.
+@author hikmethankolay
+*/
+public class FuzzyIndexTest {
+
+  /** Store the searches run on. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.TenantInfo> store;
+
+  /** Index under test. */
+  private FuzzyIndex<RentalManagementLib.TenantInfo> index;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("fuzzyindextest.bin").delete();
+    store = new RentalManagementLib.RecordStore<>("fuzzyindextest.bin", FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo);
+    index = new FuzzyIndex<>(store, tenant -> tenant.name + " " + tenant.surname);
+    store.add("TenantID:1 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Alex / Surname:Smith");
+    store.add("TenantID:2 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:John / Surname:Stone");
+    store.add("TenantID:3 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Mary / Surname:Smyth");
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("fuzzyindextest.bin").delete();
+  }
+
+  /**
+   * Tests the edit distance.
+   */
+  @Test
+  public void testDistance() {
+    assertEquals(0, FuzzyIndex.distance("smith", "smith"));
+    assertEquals(1, FuzzyIndex.distance("smith", "smyth"));
+    assertEquals(1, FuzzyIndex.distance("smith", "smit"));
+    assertEquals(3, FuzzyIndex.distance("kitten", "sitting"));
+    assertEquals(4, FuzzyIndex.distance("", "john"));
+  }
+
+  /**
+   * Tests searches with and without typos.
+   */
+  @Test
+  public void testWithin() {
+    assertEquals(1, index.within("Smith", 0).size());
+    assertEquals(1, index.within("smiht", 2).size());
+    ArrayList<RentalManagementLib.TenantInfo> tenants = index.within("smith", 1);
+    assertEquals(2, tenants.size());
+    assertEquals(1, tenants.get(0).tenantID);
+    assertEquals(3, tenants.get(1).tenantID);
+    tenants = index.within("jon stne", 1);
+    assertEquals(1, tenants.size());
+    assertEquals(2, tenants.get(0).tenantID);
+    assertEquals(0, index.within("alex smyth", 0).size());
+    assertEquals(0, index.within("  ", 1).size());
+  }
+
+  /**
+   * Tests that edits and deletes are reflected in the index.
+   */
+  @Test
+  public void testUpdates() {
+    assertEquals(0, store.edit(1, "TenantID:1 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Alex / Surname:Brown"));
+    assertEquals(0, store.delete(3));
+    assertEquals(0, store.add("TenantID:4 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Ann / Surname:Smit"));
+    ArrayList<RentalManagementLib.TenantInfo> tenants = index.within("smith", 1);
+    assertEquals(1, tenants.size());
+    assertEquals(4, tenants.get(0).tenantID);
+    assertEquals(3, tenants.get(0).recordNumber);
+    assertEquals(1, index.within("brwon", 2).size());
+    store.invalidate();
+    assertEquals(1, index.within("smith", 1).size());
+  }
+}
@@ -0,0 +1,175 @@
+/**
+
+@file LoggedRecordStorageTest.java
+@brief This file contains the test cases for the LoggedRecordStorage class.
+@details This file includes test methods to validate the write-ahead log, its snapshots and its recovery. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class LoggedRecordStorageTest
+@brief This class represents the test class for the LoggedRecordStorage class.
+@details The LoggedRecordStorageTest class changes records through the log and recovers them with a new storage, as after a restart.
+@author hikmethankolay
+*/
+public class LoggedRecordStorageTest {
+
+  /** Record file used by the tests. */
+  private static final String FILE_NAME = "logtest.bin";
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    deleteFiles();
+    RentalManagementLib.StorageVariables.snapshotOperations = 1000;
+    RentalManagementLib.StorageVariables.snapshotSeconds = 3600;
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    RentalManagementLib.StorageVariables.writeAheadLog = false;
+    RentalManagementLib.StorageVariables.snapshotOperations = 1000;
+    RentalManagementLib.StorageVariables.snapshotSeconds = 60;
+    deleteFiles();
+  }
+
+  /**
+   * @brief Deletes the files the tests create.
+   */
+  private void deleteFiles() {
+    new File(FILE_NAME).delete();
+    new File(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX).delete();
+  }
+
+  /**
+   * @brief Writes a file with the given content.
+   *
+   * @param fileName The name of the file.
+   * @param content The content.
+   * @throws Exception
+   */
+  private void write(String fileName, String content) throws Exception {
+    try (FileOutputStream outputStream = new FileOutputStream(fileName)) {
+      outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Tests that changes are only logged and are replayed over the snapshot by a new storage.
+   */
+  @Test
+  public void testReplayAfterRestart() throws Exception {
+    write(FILE_NAME, "1-)TEXT STRING1\n2-)TEXT STRING2\n");
+    LoggedRecordStorage storage = new LoggedRecordStorage(FILE_NAME);
+    assertEquals(0, storage.append("TEXT STRING3"));
+    assertEquals(0, storage.edit(1, "TEXT STRING EDIT"));
+    assertEquals(0, storage.delete(2));
+    assertEquals(-1, storage.delete(3));
+    assertEquals("1-)TEXT STRING1\n2-)TEXT STRING2\n", RentalManagementLib.file_read(FILE_NAME, 'Y'));
+    String expected = "1-)TEXT STRING EDIT\n2-)TEXT STRING3\n";
+    assertEquals(expected, storage.read('Y'));
+    assertEquals(expected, new LoggedRecordStorage(FILE_NAME).read('Y'));
+  }
+
+  /**
+   * Tests that a snapshot rewrites the record file and starts a new log.
+   */
+  @Test
+  public void testSnapshot() throws Exception {
+    RentalManagementLib.StorageVariables.snapshotOperations = 3;
+    LoggedRecordStorage storage = new LoggedRecordStorage(FILE_NAME);
+    assertEquals(0, storage.append("TEXT STRING1"));
+    assertEquals(0, storage.append("TEXT STRING2"));
+    assertFalse(new File(FILE_NAME).exists());
+    assertEquals(0, storage.append("TEXT STRING3"));
+    assertEquals("1-)TEXT STRING1\n2-)TEXT STRING2\n3-)TEXT STRING3\n", RentalManagementLib.file_read(FILE_NAME, 'Y'));
+    assertEquals(1, Files.readAllLines(new File(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX).toPath()).size());
+    assertEquals(0, storage.delete(1));
+    assertEquals(0, storage.flush());
+    assertEquals("1-)TEXT STRING2\n2-)TEXT STRING3\n", RentalManagementLib.file_read(FILE_NAME, 'Y'));
+    assertEquals("1-)TEXT STRING2\n2-)TEXT STRING3\n", new LoggedRecordStorage(FILE_NAME).read('Y'));
+  }
+
+  /**
+   * Tests that an entry cut off by a crash and a log of an older snapshot are not replayed.
+   */
+  @Test
+  public void testRecoverySkipsTornAndStaleEntries() throws Exception {
+    LoggedRecordStorage storage = new LoggedRecordStorage(FILE_NAME);
+    assertEquals(0, storage.append("TEXT STRING1"));
+    assertEquals(0, storage.append("TEXT STRING2"));
+
+    try (FileOutputStream outputStream = new FileOutputStream(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX, true)) {
+      outputStream.write("E\t1\tTEXT STR".getBytes(StandardCharsets.UTF_8));
+    }
+
+    LoggedRecordStorage recovered = new LoggedRecordStorage(FILE_NAME);
+    assertEquals(0, recovered.append("TEXT STRING3"));
+    assertEquals("1-)TEXT STRING1\n2-)TEXT STRING2\n3-)TEXT STRING3\n", new LoggedRecordStorage(FILE_NAME).read('Y'));
+    // A record file written after the log was started means the log is already part of it
+    write(FILE_NAME, "1-)TEXT STRING4\n");
+    assertEquals("1-)TEXT STRING4\n", new LoggedRecordStorage(FILE_NAME).read('Y'));
+  }
+
+  /**
+   * Tests that record texts with tabs, line breaks and backslashes are replayed, and that an invalid entry in the middle of
+   * the log is skipped without losing the entries after it.
+   */
+  @Test
+  public void testReplayEscapedTextAndInvalidEntry() throws Exception {
+    LoggedRecordStorage storage = new LoggedRecordStorage(FILE_NAME);
+    assertEquals(0, storage.append("TEXT\tSTRING1"));
+    assertEquals(0, storage.append("TEXT STRING2"));
+    assertEquals(0, storage.edit(2, "TEXT\\STRING\r\n2"));
+    assertEquals("1-)TEXT\tSTRING1\n2-)TEXT\\STRING\r\n2\n", new LoggedRecordStorage(FILE_NAME).read('Y'));
+
+    try (FileOutputStream outputStream = new FileOutputStream(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX, true)) {
+      outputStream.write("D\t9\nA\tTEXT STRING3\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    LoggedRecordStorage recovered = new LoggedRecordStorage(FILE_NAME);
+    assertEquals("1-)TEXT\tSTRING1\n2-)TEXT\\STRING\r\n2\n3-)TEXT STRING3\n", recovered.read('Y'));
+    assertEquals(6, Files.readAllLines(new File(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX).toPath()).size());
+    assertEquals("A\\tB\\\\C\\nD", LoggedRecordStorage.escape("A\tB\\C\nD"));
+    assertEquals("A\tB\\C\nD\\x", LoggedRecordStorage.unescape("A\\tB\\\\C\\nD\\x"));
+  }
+
+  /**
+   * Tests a record store that logs its changes.
+   */
+  @Test
+  public void testRecordStoreWithLog() throws Exception {
+    write(FILE_NAME, "1-)TenantID:1 / CurrentRentDebt:100 / DueDate:01/01/2024\n");
+    RentalManagementLib.StorageVariables.writeAheadLog = true;
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store =
+      new RentalManagementLib.RecordStore<>(FILE_NAME, FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+    assertEquals(1, store.records().size());
+    assertEquals(0, store.add("TenantID:2 / CurrentRentDebt:200 / DueDate:02/01/2024"));
+    assertEquals(0, store.edit(1, "TenantID:3 / CurrentRentDebt:300 / DueDate:03/01/2024"));
+    assertEquals(2, store.records().size());
+    assertEquals(3, store.records().get(0).tenantID);
+    RentalManagementLib.StorageVariables.writeAheadLog = false;
+    assertEquals(2, store.records().size());
+    assertEquals("1-)TenantID:3 / CurrentRentDebt:300 / DueDate:03/01/2024\n2-)TenantID:2 / CurrentRentDebt:200 / DueDate:02/01/2024\n",
+                 RentalManagementLib.file_read(FILE_NAME, 'Y'));
+  }
+}
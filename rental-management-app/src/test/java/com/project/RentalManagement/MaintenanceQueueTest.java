@@ -0,0 +1,125 @@
+/**
+
+@file MaintenanceQueueTest.java
+@brief This file contains the test cases for the MaintenanceQueue class.
+@details This file includes test methods to validate the priority order of open maintenance jobs. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class MaintenanceQueueTest
+@brief This class represents the test class for the MaintenanceQueue class.
+@details The MaintenanceQueueTest class queues the jobs of a small maintenance store while records are added, edited and deleted.
+@author hikmethankolay
+*/
+public class MaintenanceQueueTest {
+
+  /** Store the queue follows. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.MaintenanceInfo> store;
+
+  /** Queue under test. */
+  private MaintenanceQueue queue;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("queuetest.bin").delete();
+    store = new RentalManagementLib.RecordStore<>("queuetest.bin", FixedWidthRecordFile.MAINTENANCE, RentalManagementLib::parseMaintenanceInfo);
+    queue = new MaintenanceQueue(store);
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("queuetest.bin").delete();
+  }
+
+  /**
+   * @brief Adds a job with the given priority.
+   *
+   * @param priority The priority.
+   * @param type The maintenance type.
+   */
+  private void addJob(int priority, String type) {
+    assertEquals(0, store.add("PropertyID:1 / Cost:100 / Priority:" + priority + " / MaintenanceType:" + type + " / ExpectedFinishingDate:01/01/2025"));
+  }
+
+  /**
+   * Tests the order of the top jobs, ties going to the job added first.
+   */
+  @Test
+  public void testTop() {
+    assertNull(queue.peek());
+    addJob(2, "a");
+    addJob(5, "b");
+    addJob(1, "c");
+    addJob(5, "d");
+    addJob(3, "e");
+    ArrayList<RentalManagementLib.MaintenanceInfo> top = queue.top(3);
+    assertEquals(3, top.size());
+    assertEquals("b", top.get(0).maintenanceType);
+    assertEquals("d", top.get(1).maintenanceType);
+    assertEquals("e", top.get(2).maintenanceType);
+    assertEquals(5, queue.top(10).size());
+    assertEquals("b", queue.peek().maintenanceType);
+  }
+
+  /**
+   * Tests that edits and deletes are reflected in the queue.
+   */
+  @Test
+  public void testUpdates() {
+    addJob(2, "a");
+    addJob(5, "b");
+    addJob(1, "c");
+    assertEquals(0, store.delete(queue.peek().recordNumber));
+    assertEquals("a", queue.peek().maintenanceType);
+    assertEquals(0, store.edit(2, "PropertyID:1 / Cost:100 / Priority:9 / MaintenanceType:c / ExpectedFinishingDate:01/01/2025"));
+    assertEquals("c", queue.peek().maintenanceType);
+    assertEquals(2, queue.size());
+    store.invalidate();
+    assertEquals("c", queue.peek().maintenanceType);
+  }
+
+  /**
+   * Tests the queue against a full sort after random changes.
+   */
+  @Test
+  public void testRandomChanges() {
+    Random random = new Random(7);
+
+    for (int i = 0; i < 200; i++) {
+      int count = store.exists() ? store.records().size() : 0;
+
+      if (count > 0 && random.nextInt(4) == 0) {
+        assertEquals(0, store.delete(1 + random.nextInt(count)));
+      } else if (count > 0 && random.nextInt(4) == 0) {
+        assertEquals(0, store.edit(1 + random.nextInt(count), "PropertyID:1 / Cost:100 / Priority:" + random.nextInt(20)
+                                   + " / MaintenanceType:x / ExpectedFinishingDate:01/01/2025"));
+      } else {
+        addJob(random.nextInt(20), "x");
+      }
+    }
+
+    ArrayList<RentalManagementLib.MaintenanceInfo> sorted = new ArrayList<>(store.records());
+    sorted.sort((a, b) -> a.priority != b.priority ? Integer.compare(b.priority, a.priority) : Integer.compare(a.recordNumber, b.recordNumber));
+    assertEquals(sorted, queue.top(sorted.size()));
+  }
+}
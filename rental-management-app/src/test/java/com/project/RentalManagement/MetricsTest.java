@@ -0,0 +1,133 @@
+/**
+
+@file MetricsTest.java
+@brief This file contains the test cases for the Metrics class.
+@details This file includes test methods to validate the operation counters and timers. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class MetricsTest
+@brief This class represents the test class for the Metrics class.
+@details The MetricsTest class checks that nothing is measured while metrics are disabled, that the histogram percentiles
+stay within their bucket error, that the record file functions are timed and shown through JMX and that sorts are counted once.
+@author hikmethankolay
+*/
+public class MetricsTest {
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    RentalManagementLib.MetricsVariables.enabled = true;
+    RentalManagementLib.MetricsVariables.summarySeconds = 0;
+    new File("metricstest.bin").delete();
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    RentalManagementLib.MetricsVariables.enabled = false;
+    new File("metricstest.bin").delete();
+  }
+
+  /**
+   * @brief Tests that a disabled measurement records nothing.
+   */
+  @Test
+  public void testDisabled() {
+    RentalManagementLib.MetricsVariables.enabled = false;
+    long start = Metrics.start();
+    assertEquals(0, start);
+    Metrics.stop("disabled_test", start);
+    Metrics.count("disabled_test", 5);
+    assertEquals(0, Metrics.counted("disabled_test"));
+    assertFalse(Metrics.summary().contains("disabled_test"));
+  }
+
+  /**
+   * @brief Tests the count, mean, percentiles and maximum of a timer.
+   */
+  @Test
+  public void testPercentiles() {
+    Metrics.Timer timer = Metrics.timer("percentile_test");
+
+    for (int i = 1; i <= 1000; i++) {
+      timer.record(i * 1000L);
+    }
+
+    assertEquals(1000, timer.getCount());
+    assertEquals(0.5005, timer.getMeanMillis(), 1e-9);
+    assertEquals(1.0, timer.getMaxMillis(), 1e-9);
+    assertTrue(timer.getMedianMillis() >= 0.5 && timer.getMedianMillis() <= 0.5 * 1.125);
+    assertTrue(timer.get95thPercentileMillis() >= 0.95 && timer.get95thPercentileMillis() <= 1.0);
+    assertTrue(timer.get99thPercentileMillis() >= 0.99 && timer.get99thPercentileMillis() <= 1.0);
+
+    for (long nanos = 1; nanos < Long.MAX_VALUE / 3; nanos = nanos * 3 + 1) {
+      long limit = Metrics.Timer.bucketLimit(Metrics.Timer.bucket(nanos));
+      assertTrue(limit >= nanos && limit <= nanos + nanos / 8);
+    }
+  }
+
+  /**
+   * @brief Tests that the record file functions are timed and their timers are registered in JMX.
+   * @throws Exception
+   */
+  @Test
+  public void testFileOperations() throws Exception {
+    long appends = Metrics.timer("file_append").getCount();
+    long reads = Metrics.timer("file_read").getCount();
+    RentalManagementLib.file_write("metricstest.bin", "first");
+    RentalManagementLib.file_append("metricstest.bin", "second");
+    RentalManagementLib.file_read("metricstest.bin", 'Y');
+    assertEquals(appends + 1, Metrics.timer("file_append").getCount());
+    assertEquals(reads + 1, Metrics.timer("file_read").getCount());
+    ObjectName name = new ObjectName("com.project.RentalManagement:type=Timer,name=\"file_append\"");
+    assertEquals(appends + 1, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Count"));
+    assertTrue(Metrics.summary().contains("file_append n=" + (appends + 1)));
+  }
+
+  /**
+   * @brief Tests that a maintenance sort is counted once by the sort timer, with the heap sort and with QuickSorter.sort.
+   */
+  @Test
+  public void testSortCountedOnce() {
+    ArrayList<RentalManagementLib.MaintenanceInfo> maintenances = new ArrayList<>();
+
+    for (int i = 1; i <= 5; i++) {
+      maintenances.add(new RentalManagementLib.MaintenanceInfo(i, i, 100, 6 - i, "Plumbing", "01/01/2025"));
+    }
+
+    long sorts = Metrics.timer("sort").getCount();
+    RentalManagementLib.sortMaintenances(maintenances);
+    assertEquals(sorts + 1, Metrics.timer("sort").getCount());
+    int radixSortSize = RentalManagementLib.SortVariables.radixSortSize;
+    RentalManagementLib.SortVariables.radixSortSize = 1;
+
+    try {
+      RentalManagementLib.sortMaintenances(maintenances);
+    } finally {
+      RentalManagementLib.SortVariables.radixSortSize = radixSortSize;
+    }
+
+    assertEquals(sorts + 2, Metrics.timer("sort").getCount());
+  }
+}
@@ -0,0 +1,190 @@
+/**
+
+@file PortfolioGeneratorTest.java
+@brief This file contains the test cases for the PortfolioGenerator class.
+@details This file includes test methods to validate the generated record files. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class PortfolioGeneratorTest
+@brief This class represents the test class for the PortfolioGenerator class.
+@details The PortfolioGeneratorTest class generates small portfolios in a temporary directory with chunks much smaller than
+the files and reads them back with the record parsers.
+@author hikmethankolay
+*/
+public class PortfolioGeneratorTest {
+
+  /** Directory the portfolios are generated in. */
+  private File directory;
+
+  /** Settings before the test. */
+  private Object[] saved;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("portfoliotest").toFile();
+    saved = new Object[] {PortfolioGenerator.GeneratorVariables.directory, PortfolioGenerator.GeneratorVariables.properties,
+                          PortfolioGenerator.GeneratorVariables.tenants, PortfolioGenerator.GeneratorVariables.rents,
+                          PortfolioGenerator.GeneratorVariables.maintenances, PortfolioGenerator.GeneratorVariables.shuffledKeys,
+                          PortfolioGenerator.GeneratorVariables.duplicateRate, PortfolioGenerator.GeneratorVariables.orphanRate,
+                          PortfolioGenerator.GeneratorVariables.threads, PortfolioGenerator.GeneratorVariables.chunkSize
+                         };
+    PortfolioGenerator.GeneratorVariables.directory = directory.getPath();
+    PortfolioGenerator.GeneratorVariables.properties = 50;
+    PortfolioGenerator.GeneratorVariables.tenants = 120;
+    PortfolioGenerator.GeneratorVariables.rents = 300;
+    PortfolioGenerator.GeneratorVariables.maintenances = 80;
+    PortfolioGenerator.GeneratorVariables.shuffledKeys = true;
+    PortfolioGenerator.GeneratorVariables.threads = 3;
+    PortfolioGenerator.GeneratorVariables.chunkSize = 7;
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    PortfolioGenerator.GeneratorVariables.directory = (String) saved[0];
+    PortfolioGenerator.GeneratorVariables.properties = (Integer) saved[1];
+    PortfolioGenerator.GeneratorVariables.tenants = (Integer) saved[2];
+    PortfolioGenerator.GeneratorVariables.rents = (Integer) saved[3];
+    PortfolioGenerator.GeneratorVariables.maintenances = (Integer) saved[4];
+    PortfolioGenerator.GeneratorVariables.shuffledKeys = (Boolean) saved[5];
+    PortfolioGenerator.GeneratorVariables.duplicateRate = (Double) saved[6];
+    PortfolioGenerator.GeneratorVariables.orphanRate = (Double) saved[7];
+    PortfolioGenerator.GeneratorVariables.threads = (Integer) saved[8];
+    PortfolioGenerator.GeneratorVariables.chunkSize = (Integer) saved[9];
+
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+
+    directory.delete();
+  }
+
+  /**
+   * @brief Reads the lines of a generated file and checks that they are numbered from 1.
+   *
+   * @param fileName The name of the file.
+   * @param count The expected number of lines.
+   * @return The lines.
+   * @throws IOException
+   */
+  private List<String> lines(String fileName, int count) throws IOException {
+    List<String> lines = Files.readAllLines(new File(directory, fileName).toPath(), StandardCharsets.UTF_8);
+    assertEquals(count, lines.size());
+
+    for (int i = 0; i < lines.size(); i++) {
+      assertTrue(lines.get(i).startsWith((i + 1) + "-)"));
+    }
+
+    return lines;
+  }
+
+  /**
+   * Tests that the IDs are unique and every reference points to an existing record when there are no duplicates or orphans.
+   * @throws IOException
+   */
+  @Test
+  public void testConsistentPortfolio() throws IOException {
+    assertEquals(0, PortfolioGenerator.generate());
+    HashSet<Integer> propertyIDs = new HashSet<>();
+    HashSet<Integer> tenantIDs = new HashSet<>();
+
+    for (String line : lines("property_records.bin", 50)) {
+      RentalManagementLib.PropertyInfo property = RentalManagementLib.parsePropertyInfo(line);
+      assertTrue(property.propertyID >= 1 && property.propertyID <= 50);
+      assertTrue(propertyIDs.add(property.propertyID));
+    }
+
+    for (String line : lines("tenant_records.bin", 120)) {
+      RentalManagementLib.TenantInfo tenant = RentalManagementLib.parseTenantInfo(line);
+      assertTrue(tenantIDs.add(tenant.tenantID));
+      assertTrue(propertyIDs.contains(tenant.propertyID));
+      assertNotEquals(Integer.MIN_VALUE, RentalManagementLib.dateKey(tenant.birthDate));
+    }
+
+    for (String line : lines("rent_records.bin", 300)) {
+      assertTrue(tenantIDs.contains(RentalManagementLib.parseRentInfo(line).tenantID));
+    }
+
+    for (String line : lines("maintenance_records.bin", 80)) {
+      RentalManagementLib.MaintenanceInfo maintenance = RentalManagementLib.parseMaintenanceInfo(line);
+      assertTrue(propertyIDs.contains(maintenance.propertyID));
+      assertTrue(maintenance.priority >= 1 && maintenance.priority <= 10);
+    }
+  }
+
+  /**
+   * Tests that the files do not depend on the number of threads or the chunk size.
+   * @throws IOException
+   */
+  @Test
+  public void testSameFilesForAnyThreads() throws IOException {
+    assertEquals(0, PortfolioGenerator.generate());
+    ArrayList<byte[]> first = new ArrayList<>();
+
+    for (String fileName : new String[] {"property_records.bin", "tenant_records.bin", "rent_records.bin", "maintenance_records.bin"}) {
+      first.add(Files.readAllBytes(new File(directory, fileName).toPath()));
+    }
+
+    PortfolioGenerator.GeneratorVariables.threads = 1;
+    PortfolioGenerator.GeneratorVariables.chunkSize = 1000;
+    assertEquals(0, PortfolioGenerator.generate());
+    int i = 0;
+
+    for (String fileName : new String[] {"property_records.bin", "tenant_records.bin", "rent_records.bin", "maintenance_records.bin"}) {
+      assertArrayEquals(first.get(i++), Files.readAllBytes(new File(directory, fileName).toPath()));
+    }
+  }
+
+  /**
+   * Tests the share of duplicate IDs and of references to records that do not exist.
+   * @throws IOException
+   */
+  @Test
+  public void testDuplicatesAndOrphans() throws IOException {
+    PortfolioGenerator.GeneratorVariables.tenants = 2000;
+    PortfolioGenerator.GeneratorVariables.rents = 4000;
+    PortfolioGenerator.GeneratorVariables.duplicateRate = 0.3;
+    PortfolioGenerator.GeneratorVariables.orphanRate = 0.2;
+    assertEquals(0, PortfolioGenerator.generate());
+    HashSet<Integer> tenantIDs = new HashSet<>();
+
+    for (String line : lines("tenant_records.bin", 2000)) {
+      tenantIDs.add(RentalManagementLib.parseTenantInfo(line).tenantID);
+    }
+
+    assertTrue(tenantIDs.size() > 1250 && tenantIDs.size() < 1550);
+    int orphans = 0;
+
+    for (String line : lines("rent_records.bin", 4000)) {
+      if (!tenantIDs.contains(RentalManagementLib.parseRentInfo(line).tenantID)) {
+        orphans++;
+      }
+    }
+
+    assertTrue(orphans > 650 && orphans < 950);
+  }
+}
@@ -0,0 +1,172 @@
+/**
+
+@file PrimaryKeyIndexTest.java
+@brief This file contains the test cases for the PrimaryKeyIndex class.
+@details This file includes test methods to validate lookups by ID through the primary key index file. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class PrimaryKeyIndexTest
+@brief This class represents the test class for the PrimaryKeyIndex class.
+@details The PrimaryKeyIndexTest class changes a rent record file through TextRecordStorage and finds records by TenantID.
+@author hikmethankolay
+*/
+public class PrimaryKeyIndexTest {
+
+  /** Record file used by the tests. */
+  private static final String FILE_NAME = "indextest.bin";
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    deleteFiles();
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    RentalManagementLib.StorageVariables.writeAheadLog = false;
+    deleteFiles();
+  }
+
+  /**
+   * @brief Deletes the files the tests create.
+   */
+  private void deleteFiles() {
+    new File(FILE_NAME).delete();
+    new File(FILE_NAME + PrimaryKeyIndex.SUFFIX).delete();
+    new File(FILE_NAME + LoggedRecordStorage.LOG_SUFFIX).delete();
+  }
+
+  /**
+   * @brief Builds a rent record.
+   *
+   * @param tenantID The tenant ID.
+   * @return The record text.
+   */
+  private static String rent(int tenantID) {
+    return "TenantID:" + tenantID + " / CurrentRentDebt:" + (tenantID * 10) + " / DueDate:01/01/2024";
+  }
+
+  /**
+   * Tests finding records after appends and deletes.
+   */
+  @Test
+  public void testFindAfterAppendAndDelete() throws Exception {
+    TextRecordStorage storage = new TextRecordStorage(FILE_NAME, true);
+
+    for (int id : new int[] {30, 10, 20, 40}) {
+      assertEquals(0, storage.append(rent(id)));
+    }
+
+    assertEquals("3-)" + rent(20), storage.find(20));
+    assertTrue(new File(FILE_NAME + PrimaryKeyIndex.SUFFIX).exists());
+    assertEquals(0, storage.delete(2));
+    assertNull(storage.find(10));
+    assertEquals("2-)" + rent(20), storage.find(20));
+    assertEquals(0, storage.append(rent(-5)));
+    assertEquals("4-)" + rent(-5), storage.find(-5));
+    assertEquals("3-)" + rent(40), storage.find(40));
+    assertNull(storage.find(50));
+  }
+
+  /**
+   * Tests that the index file and its journal are used by a new storage and rebuilt after the file changed.
+   */
+  @Test
+  public void testReloadAndRebuild() throws Exception {
+    TextRecordStorage storage = new TextRecordStorage(FILE_NAME, true);
+
+    for (int id = 1; id <= 5; id++) {
+      assertEquals(0, storage.append(rent(id)));
+    }
+
+    assertEquals("5-)" + rent(5), storage.find(5));
+    assertEquals(0, storage.delete(1));
+    assertEquals(0, storage.append(rent(6)));
+    TextRecordStorage reopened = new TextRecordStorage(FILE_NAME, true);
+    assertEquals("5-)" + rent(6), reopened.find(6));
+    assertNull(reopened.find(1));
+    assertEquals(0, RentalManagementLib.file_edit(FILE_NAME, 2, rent(33)));
+    assertNull(reopened.find(3));
+    assertEquals("2-)" + rent(33), reopened.find(33));
+  }
+
+  /**
+   * Tests that an edit of a record's key drops the index even if the file keeps its size and modification time.
+   */
+  @Test
+  public void testEditKey() throws Exception {
+    TextRecordStorage storage = new TextRecordStorage(FILE_NAME, true);
+
+    for (int id : new int[] {111, 222, 444}) {
+      assertEquals(0, storage.append(rent(id)));
+    }
+
+    assertEquals("2-)" + rent(222), storage.find(222));
+    File file = new File(FILE_NAME);
+    long modified = file.lastModified();
+    assertEquals(0, storage.edit(2, "TenantID:333 / CurrentRentDebt:2220 / DueDate:01/01/2024"));
+    assertTrue(file.setLastModified(modified));
+    assertEquals("2-)TenantID:333 / CurrentRentDebt:2220 / DueDate:01/01/2024", storage.find(333));
+    assertNull(storage.find(222));
+    assertEquals(0, storage.append(rent(555)));
+    assertEquals("4-)" + rent(555), storage.find(555));
+    assertEquals("3-)" + rent(444), new TextRecordStorage(FILE_NAME, true).find(444));
+  }
+
+  /**
+   * Tests lookups after the journal was merged into the sorted entries, with IDs that are in the file more than once.
+   */
+  @Test
+  public void testMergedJournal() throws Exception {
+    TextRecordStorage storage = new TextRecordStorage(FILE_NAME, true);
+    assertEquals(0, storage.append(rent(0)));
+    storage.find(0);
+
+    for (int i = 1; i <= 3000; i++) {
+      assertEquals(0, storage.append(rent(i % 1500)));
+    }
+
+    assertEquals("1-)" + rent(0), storage.find(0));
+    assertEquals("2-)" + rent(1), storage.find(1));
+    assertEquals("1500-)" + rent(1499), storage.find(1499));
+    assertEquals(0, storage.delete(2));
+    assertEquals("1501-)" + rent(1), storage.find(1));
+  }
+
+  /**
+   * Tests finding records through a record store with and without the index.
+   */
+  @Test
+  public void testRecordStoreFind() {
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store =
+      new RentalManagementLib.RecordStore<>(FILE_NAME, FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo, true);
+    assertFalse(store.exists());
+    assertEquals(0, store.add(rent(7)));
+    assertEquals(0, store.add(rent(8)));
+    assertTrue(store.exists());
+    assertEquals(80, store.find(8).currentRentDebt);
+    assertEquals(2, store.find(8).recordNumber);
+    RentalManagementLib.StorageVariables.writeAheadLog = true;
+    assertEquals(0, store.delete(1));
+    assertEquals(1, store.find(8).recordNumber);
+    assertNull(store.find(7));
+  }
+}
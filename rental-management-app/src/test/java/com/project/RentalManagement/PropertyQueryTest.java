@@ -0,0 +1,121 @@
+/**
+
+@file PropertyQueryTest.java
+@brief This file contains the test cases for the PropertyQuery class.
+@details This file includes test methods to validate range and multi-criteria property searches. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class PropertyQueryTest
+@brief This class represents the test class for the PropertyQuery class.
+@details The PropertyQueryTest class searches a small property store by field ranges while records are added, edited and deleted.
+@author hikmethankolay
+*/
+public class PropertyQueryTest {
+
+  /** Store the searches run on. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.PropertyInfo> store;
+
+  /** Indexes under test. */
+  private PropertyQuery query;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("querytest.bin").delete();
+    store = new RentalManagementLib.RecordStore<>("querytest.bin", FixedWidthRecordFile.PROPERTY, RentalManagementLib::parsePropertyInfo);
+    query = new PropertyQuery(store);
+    store.add("PropertyID:1 / PropertyAge:5 / Bedrooms:2 / Livingrooms:1 / Floors:1 / Size:80 / Address:a");
+    store.add("PropertyID:2 / PropertyAge:10 / Bedrooms:3 / Livingrooms:1 / Floors:2 / Size:120 / Address:b");
+    store.add("PropertyID:3 / PropertyAge:30 / Bedrooms:4 / Livingrooms:2 / Floors:2 / Size:150 / Address:c");
+    store.add("PropertyID:4 / PropertyAge:2 / Bedrooms:3 / Livingrooms:1 / Floors:2 / Size:95 / Address:d");
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("querytest.bin").delete();
+  }
+
+  /**
+   * @brief Returns ranges that match every value.
+   *
+   * @return The minimum and maximum arrays.
+   */
+  private int[][] anyRange() {
+    int[] min = new int[PropertyQuery.Field.values().length];
+    int[] max = new int[min.length];
+    Arrays.fill(min, Integer.MIN_VALUE);
+    Arrays.fill(max, Integer.MAX_VALUE);
+    return new int[][] {min, max};
+  }
+
+  /**
+   * Tests a search with ranges on a bitmap field and a sorted field.
+   */
+  @Test
+  public void testSearch() {
+    int[][] range = anyRange();
+    range[0][PropertyQuery.Field.BEDROOMS.ordinal()] = 3;
+    range[0][PropertyQuery.Field.FLOORS.ordinal()] = 2;
+    range[1][PropertyQuery.Field.FLOORS.ordinal()] = 2;
+    range[0][PropertyQuery.Field.SIZE.ordinal()] = 90;
+    range[1][PropertyQuery.Field.SIZE.ordinal()] = 130;
+    ArrayList<RentalManagementLib.PropertyInfo> properties = query.search(range[0], range[1]);
+    assertEquals(2, properties.size());
+    assertEquals(2, properties.get(0).propertyID);
+    assertEquals(4, properties.get(1).propertyID);
+    assertEquals(4, query.search(anyRange()[0], anyRange()[1]).size());
+  }
+
+  /**
+   * Tests combining ranges with OR.
+   */
+  @Test
+  public void testUnion() {
+    BitSet slots = query.range(PropertyQuery.Field.PROPERTY_AGE, 0, 4);
+    slots.or(query.range(PropertyQuery.Field.LIVINGROOMS, 2, 2));
+    ArrayList<RentalManagementLib.PropertyInfo> properties = query.records(slots);
+    assertEquals(2, properties.size());
+    assertEquals(3, properties.get(0).propertyID);
+    assertEquals(4, properties.get(1).propertyID);
+    assertTrue(query.range(PropertyQuery.Field.SIZE, 200, 100).isEmpty());
+  }
+
+  /**
+   * Tests that edits and deletes are reflected in the indexes.
+   */
+  @Test
+  public void testUpdates() {
+    assertEquals(0, store.edit(1, "PropertyID:1 / PropertyAge:5 / Bedrooms:5 / Livingrooms:1 / Floors:1 / Size:80 / Address:a"));
+    assertEquals(0, store.delete(3));
+    assertEquals(0, store.add("PropertyID:5 / PropertyAge:1 / Bedrooms:5 / Livingrooms:1 / Floors:3 / Size:200 / Address:e"));
+    ArrayList<RentalManagementLib.PropertyInfo> properties = query.records(query.range(PropertyQuery.Field.BEDROOMS, 4, 5));
+    assertEquals(2, properties.size());
+    assertEquals(1, properties.get(0).propertyID);
+    assertEquals(5, properties.get(1).propertyID);
+    assertEquals(4, properties.get(1).recordNumber);
+    assertTrue(query.range(PropertyQuery.Field.SIZE, 150, 150).isEmpty());
+    store.invalidate();
+    assertEquals(2, query.records(query.range(PropertyQuery.Field.BEDROOMS, 4, 5)).size());
+  }
+}
@@ -0,0 +1,151 @@
+/**
+
+@file RecordEventsTest.java
+@brief This file contains the test cases for the RecordEvents class.
+@details This file includes test methods to validate the Flight Recorder events of the record phases. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class RecordEventsTest
+@brief This class represents the test class for the RecordEvents class.
+@details The RecordEventsTest class records a file read, a sort and a console listing with Flight Recorder and checks the
+entity, record count and byte count of the events.
+@author hikmethankolay
+*/
+public class RecordEventsTest {
+
+  /** Recording file written by the tests. */
+  private Path recordingFile;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("eventtest.bin").delete();
+    recordingFile = File.createTempFile("record_events", ".jfr").toPath();
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("eventtest.bin").delete();
+    recordingFile.toFile().delete();
+  }
+
+  /**
+   * @brief Runs an action under a recording of the record phase events.
+   *
+   * @param action The action.
+   * @return The recorded record phase events.
+   * @throws Exception
+   */
+  private List<RecordedEvent> record(Runnable action) throws Exception {
+    try (Recording recording = new Recording()) {
+      for (String name : Arrays.asList("FileRead", "Parse", "Sort", "ConsoleOutput")) {
+        recording.enable("com.project.RentalManagement." + name).withoutThreshold();
+      }
+
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    return RecordingFile.readAllEvents(recordingFile);
+  }
+  /**
+   * @brief Returns the recorded events of one type.
+   *
+   * @param events The recorded events.
+   * @param name The event name without the package.
+   * @return The events.
+   */
+  private List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> found = new ArrayList<>();
+
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals("com.project.RentalManagement." + name)) {
+        found.add(event);
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * @brief Tests the entity names of files and record lists.
+   */
+  @Test
+  public void testEntity() {
+    assertEquals("property_records", RecordEvents.entity("property_records.bin"));
+    assertEquals("rent_records", RecordEvents.entity("data/rent_records.bin"));
+    assertEquals("records", RecordEvents.entity("records"));
+    assertEquals("TenantInfo", RecordEvents.entity(Arrays.asList(new RentalManagementLib.TenantInfo(1, 1, 1, 1, "01/01/2000", "A", "B"))));
+    assertEquals("", RecordEvents.entity(new ArrayList<>()));
+  }
+
+  /**
+   * @brief Tests that reading a record file records its size and record count.
+   * @throws Exception
+   */
+  @Test
+  public void testFileRead() throws Exception {
+    RentalManagementLib.file_write("eventtest.bin", "first");
+    RentalManagementLib.file_append("eventtest.bin", "second");
+    long size = new File("eventtest.bin").length();
+    List<RecordedEvent> reads = named(record(() -> RentalManagementLib.file_read("eventtest.bin", 'Y')), "FileRead");
+    assertEquals(1, reads.size());
+    assertEquals("eventtest", reads.get(0).getString("entity"));
+    assertEquals(2, reads.get(0).getInt("records"));
+    assertEquals(size, reads.get(0).getLong("bytes"));
+  }
+
+  /**
+   * @brief Tests that sorting and listing records records the algorithm and record count.
+   * @throws Exception
+   */
+  @Test
+  public void testSortAndOutput() throws Exception {
+    ArrayList<RentalManagementLib.MaintenanceInfo> maintenances = new ArrayList<>();
+
+    for (int i = 1; i <= 5; i++) {
+      maintenances.add(new RentalManagementLib.MaintenanceInfo(i, i, 100, 6 - i, "Plumbing", "01/01/2025"));
+    }
+
+    List<RecordedEvent> events = record(() -> {
+      RentalManagementLib.maintenanceHeapSort(maintenances);
+      RentalManagementLib.printRecords("Maintenances", maintenances, RentalManagementLib::appendRecord);
+    });
+    List<RecordedEvent> sorts = named(events, "Sort");
+    assertEquals(1, sorts.size());
+    assertEquals("heap", sorts.get(0).getString("algorithm"));
+    assertEquals("MaintenanceInfo", sorts.get(0).getString("entity"));
+    assertEquals(5, sorts.get(0).getInt("records"));
+    List<RecordedEvent> outputs = named(events, "ConsoleOutput");
+    assertEquals(1, outputs.size());
+    assertEquals(5, outputs.get(0).getInt("records"));
+  }
+}
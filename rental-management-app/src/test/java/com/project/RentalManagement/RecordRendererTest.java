@@ -0,0 +1,136 @@
+/**
+
+@file RecordRendererTest.java
+@brief This file contains the test cases for the RecordRenderer class.
+@details This file includes test methods to validate the buffered and paginated record listings. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class RecordRendererTest
+@brief This class represents the test class for the RecordRenderer class.
+@details The RecordRendererTest class checks that buffered listings write the same text as one printf per record, and that
+paginated listings format only the pages shown, also when the records arrive one at a time.
+@author hikmethankolay
+*/
+public class RecordRendererTest {
+
+  /** Console output of the test. */
+  private ByteArrayOutputStream output;
+
+  /** Console stream to restore after the test. */
+  private PrintStream console;
+
+  /** Rent records listed by the tests. */
+  private ArrayList<RentalManagementLib.RentInfo> rents;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    console = System.out;
+    output = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(output));
+    rents = new ArrayList<>();
+
+    for (int i = 1; i <= 5; i++) {
+      rents.add(new RentalManagementLib.RentInfo(i, 10 + i, 100 * i, "01/0" + i + "/2025"));
+    }
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    System.setOut(console);
+    RentalManagementLib.RenderVariables.bufferSize = 65536;
+    RentalManagementLib.RenderVariables.pageSize = 0;
+  }
+
+  /**
+   * @brief Tests that a listing written in several buffers has the same text as one printf per record.
+   */
+  @Test
+  public void testRender() {
+    RentalManagementLib.RenderVariables.bufferSize = 50;
+    StringBuilder expected = new StringBuilder();
+
+    for (RentalManagementLib.RentInfo rent : rents) {
+      expected.append(String.format("\n%d-)TenantID:%d / CurrentRentDebt:%d / DueDate:%s", rent.recordNumber, rent.tenantID,
+                                    rent.currentRentDebt, rent.dueDate));
+    }
+
+    RecordRenderer.list(null, rents, RentalManagementLib::appendRecord);
+    assertEquals(expected.toString(), output.toString());
+    RentalManagementLib.PropertyInfo property = new RentalManagementLib.PropertyInfo(3, 7, 20, 2, 1, 1, 90, "Main Street 5");
+    assertEquals("\n3-)PropertyID:7 / PropertyAge:20 / Bedrooms:2 / Livingrooms:1 / Floors:1 / Size:90 / Address:Main Street 5",
+                 RentalManagementLib.appendRecord(new StringBuilder(), property).toString());
+  }
+
+  /**
+   * @brief Tests moving between pages and that only the pages shown are formatted.
+   */
+  @Test
+  public void testPaginate() {
+    ArrayList<Integer> formatted = new ArrayList<>();
+    Scanner scanner = new Scanner("n\nn\nn\np\nx\nq\n");
+    RecordRenderer.paginate(scanner, rents, (out, rent) -> {
+      formatted.add(rent.recordNumber);
+      out.append('\n').append(rent.recordNumber);
+    }, 2);
+    assertEquals("[1, 2, 3, 4, 5, 3, 4]", formatted.toString());
+    String text = output.toString();
+    assertTrue(text.startsWith("\n1\n2\nPage 1 of 3"));
+    assertTrue(text.contains("\n5\nPage 3 of 3"));
+    assertTrue(text.contains("There is no such page."));
+    assertTrue(text.contains("Please input a correct choice."));
+  }
+
+  /**
+   * @brief Tests that a listing that fits on one page does not ask for another page.
+   */
+  @Test
+  public void testSinglePage() {
+    Scanner scanner = new Scanner("");
+    RecordRenderer.paginate(scanner, rents, RentalManagementLib::appendRecord, 10);
+    assertTrue(output.toString().endsWith("\nPage 1 of 1"));
+    RecordRenderer.paginate(scanner, new ArrayList<RentalManagementLib.RentInfo>(), RentalManagementLib::appendRecord, 10);
+    assertTrue(output.toString().endsWith("\nPage 1 of 1"));
+  }
+
+  /**
+   * @brief Tests paging forward through records that arrive one at a time, as from an external sort.
+   */
+  @Test
+  public void testForwardPaging() {
+    RentalManagementLib.RenderVariables.pageSize = 2;
+    RecordRenderer<RentalManagementLib.RentInfo> renderer = new RecordRenderer<>((out, rent) -> out.append('\n').append(rent.recordNumber),
+        new Scanner("x\nn\nq\n"));
+    rents.forEach(renderer);
+    renderer.finish();
+    assertEquals("\n1\n2\nPage 1\nPlease enter n for the next page or q to return:\nPlease input a correct choice."
+                 + "\nPlease enter n for the next page or q to return:\n3\n4\nPage 2\nPlease enter n for the next page or q to return:",
+                 output.toString());
+    output.reset();
+    renderer = new RecordRenderer<>((out, rent) -> out.append('\n').append(rent.recordNumber), new Scanner(""));
+    rents.subList(0, 2).forEach(renderer);
+    renderer.finish();
+    assertEquals("\n1\n2\nPage 1", output.toString());
+  }
+}
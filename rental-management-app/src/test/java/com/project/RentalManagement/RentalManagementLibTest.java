@@ -7,6 +7,15 @@
 package com.project.RentalManagement;
 
 import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
@@ -76,6 +85,38 @@ public class RentalManagementLibTest {
     assertEquals(testString, RentalManagementLib.file_read("test1.bin", 'N'));
   }
 
+  /**
+   * Tests the file_read function with Windows line endings and UTF-8 text.
+   */
+  @Test
+  public void testFileRead_2() throws Exception {
+    try (FileOutputStream fileOutputStream = new FileOutputStream("test7.bin")) {
+      fileOutputStream.write("1-)Adres:\u00c7ay\u0131r Sokak\r\n2-)TEXT STRING2\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    String testString = "1-)Adres:\u00c7ay\u0131r Sokak\n2-)TEXT STRING2\n";
+    assertEquals(testString, RentalManagementLib.file_read("test7.bin", 'Y'));
+  }
+
+  /**
+   * Tests the file_read function with a file larger than one read block.
+   */
+  @Test
+  public void testFileRead_3() throws Exception {
+    StringBuilder expected = new StringBuilder();
+
+    for (int i = 1; expected.length() <= 2 * RentalManagementLib.READ_BLOCK_SIZE; i++) {
+      expected.append(i).append("-)TEXT STRING").append(i).append('\n');
+    }
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream("test8.bin")) {
+      fileOutputStream.write(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    assertEquals(expected.toString(), RentalManagementLib.file_read("test8.bin", 'Y'));
+    new File("test8.bin").delete();
+  }
+
   /**
    * Tests the file_append function.
    */
@@ -87,6 +128,24 @@ public class RentalManagementLibTest {
     assertEquals(testString, RentalManagementLib.file_read("test2.bin", 'N'));
   }
 
+  /**
+   * Tests the file_append function when the last line is longer than one read block.
+   */
+  @Test
+  public void testfile_append_2() {
+    StringBuilder longText = new StringBuilder();
+
+    for (int i = 0; i < 100; i++) {
+      longText.append("TEXT STRING");
+    }
+
+    RentalManagementLib.file_write("test6.bin", "TEXT STRING1");
+    RentalManagementLib.file_append("test6.bin", longText.toString());
+    RentalManagementLib.file_append("test6.bin", "TEXT STRING3");
+    String testString = "1-)TEXT STRING1\n2-)" + longText + "\n3-)TEXT STRING3\n";
+    assertEquals(testString, RentalManagementLib.file_read("test6.bin", 'N'));
+  }
+
   /**
    * Tests the file_edit function.
    */
@@ -236,4 +295,423 @@ public class RentalManagementLibTest {
     assertEquals(fail, RentalManagementLib.user_change_password("recoverykeyaa", "newpassword", "usertestttt.bin"));
   }
 
+  /**
+   * Tests that the record store keeps its cached records in sync with add, edit and delete.
+   */
+  @Test
+  public void testRecordStore() {
+    new File("storetest.bin").delete();
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store =
+      new RentalManagementLib.RecordStore<>("storetest.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+    assertEquals(success, store.add("TenantID:5 / CurrentRentDebt:100 / DueDate:01/01/2024"));
+    assertEquals(success, store.add("TenantID:7 / CurrentRentDebt:200 / DueDate:02/01/2024"));
+    ArrayList<RentalManagementLib.RentInfo> records = store.records();
+    assertEquals(2, records.size());
+    assertSame(records, store.records());
+    assertEquals(success, store.add("TenantID:9 / CurrentRentDebt:300 / DueDate:03/01/2024"));
+    assertEquals(success, store.edit(2, "TenantID:8 / CurrentRentDebt:250 / DueDate:02/01/2024"));
+    assertEquals(success, store.delete(1));
+    assertSame(records, store.records());
+    assertEquals(2, records.size());
+    assertEquals(8, records.get(0).tenantID);
+    assertEquals(1, records.get(0).recordNumber);
+    assertEquals(2, records.get(1).recordNumber);
+    assertEquals("1-)TenantID:8 / CurrentRentDebt:250 / DueDate:02/01/2024\n2-)TenantID:9 / CurrentRentDebt:300 / DueDate:03/01/2024\n",
+                 RentalManagementLib.file_read("storetest.bin", 'Y'));
+  }
+
+  /**
+   * Tests that the record store reloads the file when it is changed outside of the store.
+   */
+  @Test
+  public void testRecordStoreReload() {
+    new File("storereloadtest.bin").delete();
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store =
+      new RentalManagementLib.RecordStore<>("storereloadtest.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+    assertNull(store.records());
+    RentalManagementLib.file_write("storereloadtest.bin", "TenantID:5 / CurrentRentDebt:100 / DueDate:01/01/2024");
+    assertEquals(1, store.records().size());
+    RentalManagementLib.file_append("storereloadtest.bin", "TenantID:6 / CurrentRentDebt:100 / DueDate:01/01/2024");
+    assertEquals(2, store.records().size());
+    assertEquals(6, store.records().get(1).tenantID);
+  }
+
+  /**
+   * Tests that a delete only marks the line, that the other records keep consistent record numbers and that the line map of
+   * the file is reused between deletes and appends.
+   */
+  @Test
+  public void testFileDeleteTombstone() throws Exception {
+    RentalManagementLib.file_write("tombstonetest.bin", "TEXT STRING1");
+
+    for (int i = 2; i <= 8; i++) {
+      RentalManagementLib.file_append("tombstonetest.bin", "TEXT STRING" + i);
+    }
+
+    long length = new File("tombstonetest.bin").length();
+    assertEquals(success, RentalManagementLib.file_line_delete("tombstonetest.bin", 2));
+    assertEquals(length, new File("tombstonetest.bin").length());
+    RecordLineMap lineMap = RecordLineMap.current("tombstonetest.bin");
+    assertNotNull(lineMap);
+    assertEquals(success, RentalManagementLib.file_append("tombstonetest.bin", "TEXT STRING9"));
+    assertSame(lineMap, RecordLineMap.cached("tombstonetest.bin"));
+    assertEquals(8, lineMap.liveCount());
+    assertEquals(1, lineMap.deadCount());
+    assertEquals("1-)TEXT STRING1\n2-)TEXT STRING3\n3-)TEXT STRING4\n4-)TEXT STRING5\n5-)TEXT STRING6\n6-)TEXT STRING7\n7-)TEXT STRING8\n8-)TEXT STRING9\n",
+                 RentalManagementLib.file_read("tombstonetest.bin", 'Y'));
+    assertEquals(success, RentalManagementLib.file_edit("tombstonetest.bin", 8, "TEXT STRING EDIT"));
+    assertEquals("1-)TEXT STRING1\n2-)TEXT STRING3\n3-)TEXT STRING4\n4-)TEXT STRING5\n5-)TEXT STRING6\n6-)TEXT STRING7\n7-)TEXT STRING8\n8-)TEXT STRING EDIT\n",
+                 RentalManagementLib.file_read("tombstonetest.bin", 'Y'));
+    assertEquals(fail, RentalManagementLib.file_line_delete("tombstonetest.bin", 9));
+    new File("tombstonetest.bin").delete();
+  }
+
+  /**
+   * Tests that a file is compacted once its share of deleted lines passes the threshold.
+   */
+  @Test
+  public void testFileCompact() {
+    RentalManagementLib.file_write("compacttest.bin", "TEXT STRING1");
+
+    for (int i = 2; i <= 4; i++) {
+      RentalManagementLib.file_append("compacttest.bin", "TEXT STRING" + i);
+    }
+
+    assertEquals(success, RentalManagementLib.file_line_delete("compacttest.bin", 1));
+    assertEquals(success, RentalManagementLib.file_line_delete("compacttest.bin", 1));
+    String compacted = "1-)TEXT STRING3\n2-)TEXT STRING4\n";
+    assertEquals(compacted.length(), new File("compacttest.bin").length());
+    assertEquals(compacted, RentalManagementLib.file_read("compacttest.bin", 'Y'));
+    assertEquals(success, RentalManagementLib.file_append("compacttest.bin", "TEXT STRING5"));
+    assertEquals(compacted + "3-)TEXT STRING5\n", RentalManagementLib.file_read("compacttest.bin", 'Y'));
+    new File("compacttest.bin").delete();
+  }
+
+  /**
+   * Tests that the record store deletes through tombstones and stays in sync with the file.
+   */
+  @Test
+  public void testRecordStoreTombstone() {
+    new File("storetombstonetest.bin").delete();
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store =
+      new RentalManagementLib.RecordStore<>("storetombstonetest.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+
+    for (int i = 1; i <= 5; i++) {
+      assertEquals(success, store.add("TenantID:" + i + " / CurrentRentDebt:100 / DueDate:01/01/2024"));
+    }
+
+    assertEquals(success, store.delete(5));
+    assertEquals(success, store.add("TenantID:6 / CurrentRentDebt:100 / DueDate:01/01/2024"));
+    assertEquals(success, store.delete(1));
+    assertEquals(4, store.records().size());
+    store.invalidate();
+    ArrayList<RentalManagementLib.RentInfo> records = store.records();
+    assertEquals(4, records.size());
+    assertEquals(2, records.get(0).tenantID);
+    assertEquals(6, records.get(3).tenantID);
+    assertEquals(4, records.get(3).recordNumber);
+    new File("storetombstonetest.bin").delete();
+  }
+
+  /**
+   * Tests that the record parsers read every field of a line.
+   */
+  @Test
+  public void testParseRecords() {
+    RentalManagementLib.PropertyInfo property =
+      RentalManagementLib.parsePropertyInfo("12-)PropertyID:123 / PropertyAge:23 / Bedrooms:3 / Livingrooms:2 / Floors: 1 / Size:137 / Address: Main Street 5 ");
+    assertEquals(12, property.recordNumber);
+    assertEquals(123, property.propertyID);
+    assertEquals(23, property.propertyAge);
+    assertEquals(3, property.bedrooms);
+    assertEquals(2, property.livingrooms);
+    assertEquals(1, property.floors);
+    assertEquals(137, property.size);
+    assertEquals("Main Street 5", property.address);
+    RentalManagementLib.TenantInfo tenant =
+      RentalManagementLib.parseTenantInfo("3-)TenantID:7 / PropertyID:123 / Rent:-50 / Birthdate:01/02/1990 / Name:Ali / Surname:Veli");
+    assertEquals(3, tenant.recordNumber);
+    assertEquals(7, tenant.tenantID);
+    assertEquals(-50, tenant.rent);
+    assertEquals("01/02/1990", tenant.birthDate);
+    assertEquals("Veli", tenant.surname);
+    RentalManagementLib.RentInfo rent = RentalManagementLib.parseRentInfo("1-)TenantID:7 / CurrentRentDebt:100 / DueDate:01/01/2024");
+    assertEquals(100, rent.currentRentDebt);
+    assertEquals("01/01/2024", rent.dueDate);
+    RentalManagementLib.MaintenanceInfo maintenance =
+      RentalManagementLib.parseMaintenanceInfo("2-)PropertyID:5 / Cost:300 / Priority:1 / MaintenanceType:Roof / ExpectedFinishingDate:05/05/2024");
+    assertEquals(1, maintenance.priority);
+    assertEquals("Roof", maintenance.maintenanceType);
+    assertEquals("05/05/2024", maintenance.expectedFinishingDate);
+  }
+
+  /**
+   * Tests that the record parsers reject lines that are not records.
+   */
+  @Test(expected = NumberFormatException.class)
+  public void testParseRecordsFail() {
+    RentalManagementLib.parseRentInfo("1-)TenantID:x7 / CurrentRentDebt:100 / DueDate:01/01/2024");
+  }
+
+  /**
+   * Tests that a secondary index follows the adds, edits and deletes of its store.
+   */
+  @Test
+  public void testSecondaryIndex() {
+    new File("indextenanttest.bin").delete();
+    RentalManagementLib.RecordStore<RentalManagementLib.TenantInfo> store =
+      new RentalManagementLib.RecordStore<>("indextenanttest.bin", FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo);
+    SecondaryIndex<RentalManagementLib.TenantInfo> index = new SecondaryIndex<>(store, tenant -> tenant.propertyID);
+    assertEquals(success, store.add("TenantID:1 / PropertyID:10 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B"));
+    assertEquals(success, store.add("TenantID:2 / PropertyID:20 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B"));
+    assertEquals(success, store.add("TenantID:3 / PropertyID:10 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B"));
+    assertEquals(2, index.get(10).size());
+    assertEquals(3, index.get(10).get(1).tenantID);
+    assertEquals(success, store.edit(1, "TenantID:1 / PropertyID:20 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B"));
+    assertEquals(1, index.get(10).size());
+    assertEquals(1, index.get(20).get(0).tenantID);
+    assertEquals(success, store.delete(2));
+    assertEquals(1, index.get(20).size());
+    assertEquals(2, index.get(10).get(0).recordNumber);
+    store.invalidate();
+    assertEquals(1, index.get(20).size());
+    assertEquals(0, index.get(30).size());
+    new File("indextenanttest.bin").delete();
+  }
+
+  /**
+   * Tests joining tenants with their rent records.
+   */
+  @Test
+  public void testHashJoin() {
+    new File("jointenanttest.bin").delete();
+    new File("joinrenttest.bin").delete();
+    RentalManagementLib.RecordStore<RentalManagementLib.TenantInfo> tenants =
+      new RentalManagementLib.RecordStore<>("jointenanttest.bin", FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo);
+    RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> rents =
+      new RentalManagementLib.RecordStore<>("joinrenttest.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+    SecondaryIndex<RentalManagementLib.RentInfo> rentsByTenant = new SecondaryIndex<>(rents, rent -> rent.tenantID);
+    tenants.add("TenantID:1 / PropertyID:10 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B");
+    tenants.add("TenantID:2 / PropertyID:10 / Rent:100 / BirthDate:01/01/1990 / Name:A / Surname:B");
+    rents.add("TenantID:2 / CurrentRentDebt:200 / DueDate:01/01/2024");
+    rents.add("TenantID:1 / CurrentRentDebt:100 / DueDate:01/01/2024");
+    rents.add("TenantID:3 / CurrentRentDebt:300 / DueDate:01/01/2024");
+    rents.add("TenantID:2 / CurrentRentDebt:400 / DueDate:01/02/2024");
+    ArrayList<RentalManagementLib.RentInfo> joined = RentalManagementLib.hashJoin(tenants.records(), tenant -> tenant.tenantID, rentsByTenant);
+    assertEquals(3, joined.size());
+    assertEquals(1, joined.get(0).tenantID);
+    assertEquals(2, joined.get(1).tenantID);
+    assertEquals(4, joined.get(2).recordNumber);
+    assertEquals(700, RentalManagementLib.totalRentDebt(joined));
+    new File("jointenanttest.bin").delete();
+    new File("joinrenttest.bin").delete();
+  }
+
+  /**
+   * Tests the lower bound, upper bound and equal range searches.
+   */
+  @Test
+  public void testEqualRange() {
+    RentalManagementLib.QuickSorter<RentalManagementLib.RentInfo> sorter = new RentalManagementLib.QuickSorter<>();
+    ArrayList<RentalManagementLib.RentInfo> rents = new ArrayList<>();
+    int[] tenantIDs = {3, 1, 3, 7, 3, 1};
+
+    for (int i = 0; i < tenantIDs.length; i++) {
+      rents.add(new RentalManagementLib.RentInfo(i + 1, tenantIDs[i], 100, "01/01/2024"));
+    }
+
+    sorter.quickSort(rents, 0, rents.size() - 1);
+    assertEquals(2, sorter.lowerBound(rents, 3));
+    assertEquals(5, sorter.upperBound(rents, 3));
+    assertEquals(3, sorter.equalRange(rents, 3).size());
+    assertEquals(2, sorter.equalRange(rents, 1).size());
+    assertEquals(7, sorter.equalRange(rents, 7).get(0).tenantID);
+    assertTrue(sorter.equalRange(rents, 5).isEmpty());
+    assertTrue(sorter.equalRange(rents, 9).isEmpty());
+    assertTrue(sorter.equalRange(new ArrayList<>(), 1).isEmpty());
+  }
+
+  /**
+   * Tests the parallel QuickSort against a sequential sort.
+   */
+  @Test
+  public void testParallelQuickSort() {
+    RentalManagementLib.QuickSorter<RentalManagementLib.TenantInfo> sorter = new RentalManagementLib.QuickSorter<>();
+    ArrayList<RentalManagementLib.TenantInfo> tenants = new ArrayList<>();
+    Random random = new Random(3);
+
+    for (int i = 0; i < 50000; i++) {
+      tenants.add(new RentalManagementLib.TenantInfo(i + 1, random.nextInt(1000), 1, 100, "01/01/1990", "A", "B"));
+    }
+
+    ArrayList<RentalManagementLib.TenantInfo> expected = new ArrayList<>(tenants);
+    expected.sort((a, b) -> Integer.compare(a.tenantID, b.tenantID));
+    int threshold = RentalManagementLib.SortVariables.parallelThreshold;
+    RentalManagementLib.SortVariables.parallelThreshold = 1000;
+
+    try {
+      sorter.parallelQuickSort(tenants, 4);
+    } finally {
+      RentalManagementLib.SortVariables.parallelThreshold = threshold;
+    }
+
+    for (int i = 0; i < tenants.size(); i++) {
+      assertEquals(expected.get(i).tenantID, tenants.get(i).tenantID);
+    }
+
+    assertEquals(new HashSet<>(expected), new HashSet<>(tenants));
+  }
+
+  /**
+   * Tests reading the sort algorithm setting and the automatic choice of the parallel sort.
+   */
+  @Test
+  public void testSortAlgorithmSetting() {
+    assertEquals(RentalManagementLib.SortVariables.Algorithm.RADIX, RentalManagementLib.SortVariables.Algorithm.parse("Radix"));
+    assertEquals(RentalManagementLib.SortVariables.Algorithm.PARALLEL, RentalManagementLib.SortVariables.Algorithm.parse(" parallel "));
+    assertEquals(RentalManagementLib.SortVariables.Algorithm.AUTO, RentalManagementLib.SortVariables.Algorithm.parse("quicksort"));
+    ArrayList<RentalManagementLib.RentInfo> rents = new ArrayList<>();
+    Random random = new Random(7);
+
+    for (int i = 0; i < 5000; i++) {
+      rents.add(new RentalManagementLib.RentInfo(i + 1, random.nextInt(1000), 100, "01/01/2024"));
+    }
+
+    int parallelSortSize = RentalManagementLib.SortVariables.parallelSortSize;
+    RentalManagementLib.SortVariables.parallelSortSize = 1000;
+
+    try {
+      new RentalManagementLib.QuickSorter<RentalManagementLib.RentInfo>().sort(rents);
+    } finally {
+      RentalManagementLib.SortVariables.parallelSortSize = parallelSortSize;
+    }
+
+    for (int i = 1; i < rents.size(); i++) {
+      assertTrue(rents.get(i - 1).tenantID <= rents.get(i).tenantID);
+    }
+  }
+
+  /**
+   * Tests the radix sort with negative and repeated identifiers.
+   */
+  @Test
+  public void testRadixSort() {
+    RentalManagementLib.QuickSorter<RentalManagementLib.RentInfo> sorter = new RentalManagementLib.QuickSorter<>();
+    ArrayList<RentalManagementLib.RentInfo> rents = new ArrayList<>();
+    Random random = new Random(5);
+
+    for (int i = 0; i < 20000; i++) {
+      int tenantID = i % 10 == 0 ? -random.nextInt(1000) : (i % 7 == 0 ? Integer.MAX_VALUE : random.nextInt(100000));
+      rents.add(new RentalManagementLib.RentInfo(i + 1, tenantID, 100, "01/01/2024"));
+    }
+
+    ArrayList<RentalManagementLib.RentInfo> expected = new ArrayList<>(rents);
+    expected.sort((a, b) -> Integer.compare(a.tenantID, b.tenantID));
+    sorter.radixSort(rents);
+
+    for (int i = 0; i < rents.size(); i++) {
+      assertSame(expected.get(i), rents.get(i));
+    }
+  }
+
+  /**
+   * Tests the introsort on sorted, reversed, all equal and organ pipe inputs, and the heap sort fallback on its own.
+   */
+  @Test
+  public void testIntroSort() {
+    RentalManagementLib.QuickSorter<RentalManagementLib.RentInfo> sorter = new RentalManagementLib.QuickSorter<>();
+    int n = 300000;
+
+    for (int pattern = 0; pattern < 4; pattern++) {
+      ArrayList<RentalManagementLib.RentInfo> rents = new ArrayList<>(n);
+
+      for (int i = 0; i < n; i++) {
+        int tenantID = pattern == 0 ? i : (pattern == 1 ? n - i : (pattern == 2 ? 7 : Math.min(i, n - i)));
+        rents.add(new RentalManagementLib.RentInfo(i + 1, tenantID, 100, "01/01/2024"));
+      }
+
+      sorter.quickSort(rents, 0, rents.size() - 1);
+
+      for (int i = 1; i < n; i++) {
+        assertTrue(rents.get(i - 1).tenantID <= rents.get(i).tenantID);
+      }
+    }
+
+    ArrayList<RentalManagementLib.RentInfo> rents = new ArrayList<>();
+    Random random = new Random(9);
+
+    for (int i = 0; i < 1000; i++) {
+      rents.add(new RentalManagementLib.RentInfo(i + 1, random.nextInt(50), 100, "01/01/2024"));
+    }
+
+    ArrayList<RentalManagementLib.RentInfo> original = new ArrayList<>(rents);
+    sorter.heapSort(rents, 100, 899);
+
+    for (int i = 0; i < 1000; i++) {
+      if (i < 100 || i >= 900) {
+        assertSame(original.get(i), rents.get(i));
+      } else if (i > 100) {
+        assertTrue(rents.get(i - 1).tenantID <= rents.get(i).tenantID);
+      }
+    }
+  }
+
+  /**
+   * Tests that file_stream writes the same text to console as file_read, for plain files, for files it hands to file_read and
+   * for a file whose only deleted line comes after the first block.
+   */
+  @Test
+  public void testFileStream() throws Exception {
+    StringBuilder plain = new StringBuilder();
+
+    for (int i = 1; plain.length() <= 2 * RentalManagementLib.READ_BLOCK_SIZE; i++) {
+      plain.append(i).append("-)TEXT STRING").append(i).append('\n');
+    }
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream("streamtest.bin")) {
+      fileOutputStream.write(plain.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream("streamtest2.bin")) {
+      fileOutputStream.write("1-)TEXT STRING1\r\n2-)TEXT STRING2\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    RentalManagementLib.file_write("streamtest3.bin", "TEXT STRING1");
+    RentalManagementLib.file_append("streamtest3.bin", "TEXT STRING2");
+    RentalManagementLib.file_append("streamtest3.bin", "TEXT STRING3");
+    RentalManagementLib.file_line_delete("streamtest3.bin", 1);
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream("streamtest5.bin")) {
+      fileOutputStream.write(plain.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    PrintStream console = System.out;
+
+    try {
+      System.setOut(new PrintStream(new ByteArrayOutputStream()));
+      RentalManagementLib.file_line_delete("streamtest5.bin", RentalManagementLib.READ_BLOCK_SIZE / 20);
+
+      for (String fileName : new String[] {"streamtest.bin", "streamtest2.bin", "streamtest3.bin", "streamtest5.bin"}) {
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(streamed, true, "UTF-8"));
+        assertEquals(success, RentalManagementLib.file_stream(fileName));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(read, true, "UTF-8"));
+        RentalManagementLib.file_read(fileName, 'N');
+        System.out.flush();
+        assertEquals(read.toString("UTF-8"), streamed.toString("UTF-8"));
+      }
+
+      System.setOut(new PrintStream(new ByteArrayOutputStream()));
+      assertEquals(fail, RentalManagementLib.file_stream("streamtest4.bin"));
+    } finally {
+      System.setOut(console);
+    }
+
+    assertEquals(plain.length(), RentalManagementLib.file_read("streamtest.bin", 'Y').length());
+    new File("streamtest.bin").delete();
+    new File("streamtest2.bin").delete();
+    new File("streamtest3.bin").delete();
+    new File("streamtest5.bin").delete();
+  }
 }
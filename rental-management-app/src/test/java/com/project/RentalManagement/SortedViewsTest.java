@@ -0,0 +1,121 @@
+/**
+
+@file SortedViewsTest.java
+@brief This file contains the test cases for the SortedViews class.
+@details This file includes test methods to validate the cached multi-field sorts of record stores. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class SortedViewsTest
+@brief This class represents the test class for the SortedViews class.
+@details The SortedViewsTest class sorts a small rent store by one and two fields while records are added, edited and deleted.
+@author hikmethankolay
+*/
+public class SortedViewsTest {
+
+  /** Store the views sort. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.RentInfo> store;
+
+  /** Views under test. */
+  private SortedViews<RentalManagementLib.RentInfo> views;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("viewtest.bin").delete();
+    store = new RentalManagementLib.RecordStore<>("viewtest.bin", FixedWidthRecordFile.RENT, RentalManagementLib::parseRentInfo);
+    views = new SortedViews<>(store)
+    .field("TenantID", Comparator.comparingInt(rent -> rent.tenantID))
+    .field("CurrentRentDebt", Comparator.comparingInt(rent -> rent.currentRentDebt))
+    .field("DueDate", Comparator.comparingInt(rent -> RentalManagementLib.dateKey(rent.dueDate)));
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("viewtest.bin").delete();
+  }
+
+  /**
+   * @brief Returns the record numbers of records in list order.
+   *
+   * @param rents The records.
+   * @return The record numbers.
+   */
+  private static String numbers(ArrayList<RentalManagementLib.RentInfo> rents) {
+    StringBuilder numbers = new StringBuilder();
+
+    for (RentalManagementLib.RentInfo rent : rents) {
+      numbers.append(rent.recordNumber).append(' ');
+    }
+
+    return numbers.toString().trim();
+  }
+
+  /**
+   * Tests sorting by one field and by two fields, with records equal on every field kept in record order.
+   */
+  @Test
+  public void testSorted() {
+    assertNull(views.sorted(0));
+    assertEquals(0, store.add("TenantID:2 / CurrentRentDebt:300 / DueDate:01/02/2024"));
+    assertEquals(0, store.add("TenantID:1 / CurrentRentDebt:300 / DueDate:15/01/2024"));
+    assertEquals(0, store.add("TenantID:2 / CurrentRentDebt:100 / DueDate:01/01/2025"));
+    assertEquals(0, store.add("TenantID:1 / CurrentRentDebt:300 / DueDate:15/01/2024"));
+    assertEquals("2 4 1 3", numbers(views.sorted(0)));
+    assertEquals("3 2 4 1", numbers(views.sorted(1, 2)));
+    assertEquals("2 4 1 3", numbers(views.sorted(2)));
+    assertEquals("2 4 3 1", numbers(views.sorted(0, 1)));
+  }
+
+  /**
+   * Tests that a view is sorted once while the store is unchanged and again after every change.
+   */
+  @Test
+  public void testGeneration() {
+    assertEquals(0, store.add("TenantID:5 / CurrentRentDebt:300 / DueDate:01/02/2024"));
+    assertEquals(0, store.add("TenantID:3 / CurrentRentDebt:200 / DueDate:01/02/2024"));
+    ArrayList<RentalManagementLib.RentInfo> first = views.sorted(0);
+    assertSame(first, views.sorted(0));
+    assertEquals("2 1", numbers(first));
+
+    assertEquals(0, store.add("TenantID:4 / CurrentRentDebt:100 / DueDate:01/02/2024"));
+    assertEquals("2 3 1", numbers(views.sorted(0)));
+    assertEquals(0, store.edit(1, "TenantID:1 / CurrentRentDebt:300 / DueDate:01/02/2024"));
+    assertEquals("1 2 3", numbers(views.sorted(0)));
+    assertEquals(0, store.delete(2));
+    assertEquals("1 2", numbers(views.sorted(0)));
+    assertEquals(4, views.sorted(0).get(1).tenantID);
+
+    long generation = store.generation();
+    store.invalidate();
+    assertEquals("1 2", numbers(views.sorted(0)));
+    assertNotEquals(generation, store.generation());
+  }
+
+  /**
+   * Tests that fields that do not exist are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongField() {
+    views.sorted(3);
+  }
+}
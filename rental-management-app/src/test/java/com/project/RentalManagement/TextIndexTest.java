@@ -0,0 +1,101 @@
+/**
+
+@file TextIndexTest.java
+@brief This file contains the test cases for the TextIndex class.
+@details This file includes test methods to validate substring and word prefix searches on record text. It uses JUnit for unit testing.
+*/
+package com.project.RentalManagement;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class TextIndexTest
+@brief This class represents the test class for the TextIndex class.
+@details The TextIndexTest class searches tenant names in a small tenant store while records are added, edited and deleted.
+@author hikmethankolay
+*/
+public class TextIndexTest {
+
+  /** Store the searches run on. */
+  private RentalManagementLib.RecordStore<RentalManagementLib.TenantInfo> store;
+
+  /** Index under test. */
+  private TextIndex<RentalManagementLib.TenantInfo> index;
+
+  /**
+   * @brief This method is executed before each test method.
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    new File("textindextest.bin").delete();
+    store = new RentalManagementLib.RecordStore<>("textindextest.bin", FixedWidthRecordFile.TENANT, RentalManagementLib::parseTenantInfo);
+    index = new TextIndex<>(store, tenant -> tenant.name + " " + tenant.surname);
+    store.add("TenantID:1 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Alex / Surname:Smith");
+    store.add("TenantID:2 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:John / Surname:Stone");
+    store.add("TenantID:3 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Mary / Surname:Goldsmith");
+  }
+
+  /**
+   * @brief This method is executed after each test method.
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new File("textindextest.bin").delete();
+  }
+
+  /**
+   * Tests substring searches of every length.
+   */
+  @Test
+  public void testContaining() {
+    ArrayList<RentalManagementLib.TenantInfo> tenants = index.containing("SMITH");
+    assertEquals(2, tenants.size());
+    assertEquals(1, tenants.get(0).tenantID);
+    assertEquals(3, tenants.get(1).tenantID);
+    assertEquals(3, index.containing("h").size());
+    assertEquals(3, index.containing("y").get(0).tenantID);
+    assertEquals(1, index.containing("ne").size());
+    assertEquals(1, index.containing("x s").size());
+    assertEquals(0, index.containing("smithy").size());
+    assertEquals(0, index.containing("").size());
+  }
+
+  /**
+   * Tests word prefix searches.
+   */
+  @Test
+  public void testStartingWith() {
+    ArrayList<RentalManagementLib.TenantInfo> tenants = index.startingWith("sm");
+    assertEquals(1, tenants.size());
+    assertEquals(1, tenants.get(0).tenantID);
+    assertEquals(2, index.startingWith("s").size());
+  }
+
+  /**
+   * Tests that edits and deletes are reflected in the index.
+   */
+  @Test
+  public void testUpdates() {
+    assertEquals(2, index.containing("o").size());
+    assertEquals(0, store.edit(1, "TenantID:1 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Alex / Surname:Brown"));
+    assertEquals(0, store.delete(3));
+    assertEquals(0, store.add("TenantID:4 / PropertyID:1 / Rent:100 / BirthDate:01/01/1990 / Name:Ann / Surname:Smithson"));
+    ArrayList<RentalManagementLib.TenantInfo> tenants = index.containing("smith");
+    assertEquals(1, tenants.size());
+    assertEquals(4, tenants.get(0).tenantID);
+    assertEquals(3, tenants.get(0).recordNumber);
+    assertEquals(1, index.containing("brown").size());
+    store.invalidate();
+    assertEquals(1, index.containing("brown").size());
+  }
+}